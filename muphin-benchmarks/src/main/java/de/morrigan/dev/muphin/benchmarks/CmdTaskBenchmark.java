@@ -0,0 +1,42 @@
+package de.morrigan.dev.muphin.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.morrigan.dev.muphin.core.exception.MuphinFailureException;
+import de.morrigan.dev.muphin.core.task.CmdTask;
+
+/**
+ * Measures the round trip of a {@link CmdTask} that spawns a process which does nothing, waits for its exit and
+ * verifies the response.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CmdTaskBenchmark {
+
+  private final CmdTask task = SystemUtils.IS_OS_WINDOWS
+      ? new CmdTask("cmd /c", "exit 0", CmdTask.SUCCESS_EXIT)
+      : new CmdTask("sh -c", "exit", CmdTask.SUCCESS_EXIT);
+
+  @Benchmark
+  public void spawnProcess() throws MuphinFailureException {
+    this.task.execute();
+  }
+}
@@ -0,0 +1,75 @@
+package de.morrigan.dev.muphin.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.morrigan.dev.muphin.core.cmd.CmdResponse;
+import de.morrigan.dev.muphin.core.task.CmdTask;
+
+/**
+ * Measures the message verifications of the {@link CmdTask} on the output of a command with many lines. The searched
+ * messages are at the end of the output, so that the whole output has to be searched.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CmdTaskVerificationBenchmark {
+
+  private static final String[] MESSAGES = {
+      "BUILD FAILURE", "Tests run: 42", "BUILD SUCCESS"
+  };
+
+  @Param({
+      "1024", "1048576"
+  })
+  private int outputSize;
+
+  private CmdResponse response;
+
+  @Setup
+  public void createResponse() {
+    String line = "[INFO] Compiling 42 source files to /build/target/classes\n";
+    StringBuilder output = new StringBuilder(this.outputSize + 64);
+    output.append(StringUtils.repeat(line, Math.max(1, this.outputSize / line.length())));
+    output.append("[INFO] Tests run: 42, Failures: 0\n[INFO] BUILD SUCCESS\n");
+    this.response = new CmdResponse(0, output.toString(), null);
+  }
+
+  @Benchmark
+  public boolean verifyMessageContainsAny() {
+    return CmdTask.verifyMessageContainsAny(this.response, MESSAGES);
+  }
+
+  @Benchmark
+  public boolean verifyMessageContainsAll() {
+    return CmdTask.verifyMessageContainsAll(this.response, MESSAGES[1], MESSAGES[2]);
+  }
+
+  @Benchmark
+  public boolean verifyMessageNotContains() {
+    return CmdTask.verifyMessageNotContains(this.response, MESSAGES[0]);
+  }
+
+  @Benchmark
+  public boolean verifySuccess() {
+    return CmdTask.verifySuccess(this.response, MESSAGES[2]);
+  }
+}
@@ -0,0 +1,45 @@
+package de.morrigan.dev.muphin.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.morrigan.dev.muphin.core.cmd.DefaultCmdQueryBuilder;
+
+/**
+ * Measures the construction of a command with the {@link DefaultCmdQueryBuilder}.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultCmdQueryBuilderBenchmark {
+
+  @Benchmark
+  public String buildCommand() {
+    return new DefaultCmdQueryBuilder()
+        .changeDirectory("/opt/muphin/workspace")
+        .gitPull()
+        .addCustomCommand("mvn -B clean install")
+        .getCommand();
+  }
+
+  @Benchmark
+  public String buildCommandWithSeparator() {
+    return new DefaultCmdQueryBuilder()
+        .withSeparator(" ; ")
+        .changeDirectory("/opt/muphin/workspace")
+        .addCustomCommand("./start.sh")
+        .getCommand();
+  }
+}
@@ -0,0 +1,87 @@
+package de.morrigan.dev.muphin.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+/**
+ * Measures the lookups of the {@link InstanceManager} while several threads use it at the same time, like the workflows
+ * of a parallel run.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class InstanceManagerBenchmark {
+
+  public static class BenchmarkPhase extends AbstractPhase {
+
+    public BenchmarkPhase() {
+      super("Benchmark", "Benchmark Phase");
+    }
+
+    @Override
+    public boolean execute() {
+      return true;
+    }
+  }
+
+  public static class BenchmarkWorkflow extends AbstractWorkflow {
+
+    public BenchmarkWorkflow() {
+      super("Benchmark Workflow", Arrays.asList(BenchmarkPhase.class));
+    }
+  }
+
+  private InstanceManager instances;
+
+  @Setup
+  public void registerWorkflow() {
+    this.instances = InstanceManager.getInstance();
+    this.instances.clear();
+    this.instances.getWorkflow(BenchmarkWorkflow.class);
+  }
+
+  @TearDown
+  public void clearInstances() {
+    this.instances.clear();
+  }
+
+  @Benchmark
+  public AbstractPhase getPhase() {
+    return this.instances.getPhase(BenchmarkPhase.class);
+  }
+
+  @Benchmark
+  public AbstractWorkflow getWorkflow() {
+    return this.instances.getWorkflow(BenchmarkWorkflow.class);
+  }
+
+  @Benchmark
+  public List<AbstractWorkflow> getWorkflows() {
+    return this.instances.getWorkflows();
+  }
+}
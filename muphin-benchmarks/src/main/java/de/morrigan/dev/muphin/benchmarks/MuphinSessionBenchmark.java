@@ -0,0 +1,86 @@
+package de.morrigan.dev.muphin.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.SessionKey;
+
+/**
+ * Measures how fast phases and test methods can store and read data in the {@link MuphinSession}, once under a string
+ * and once under a typed {@link SessionKey}.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MuphinSessionBenchmark {
+
+  private static final String KEY = "benchmark.customer";
+  private static final SessionKey<String> TYPED_KEY = SessionKey.of("benchmark.typedCustomer", String.class);
+
+  private MuphinSession session;
+
+  @Setup
+  public void putInitialData() {
+    this.session = MuphinSession.getInstance();
+    this.session.clear();
+    this.session.putData(KEY, "Customer 4711");
+    this.session.put(TYPED_KEY, "Customer 4711");
+  }
+
+  @TearDown
+  public void clearSession() {
+    this.session.clear();
+  }
+
+  @Benchmark
+  public void putData() {
+    this.session.putData(KEY, "Customer 4711");
+  }
+
+  @Benchmark
+  public Optional<String> getData() {
+    return this.session.getData(KEY, String.class);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Optional<String> getDataContended() {
+    return this.session.getData(KEY, String.class);
+  }
+
+  @Benchmark
+  public void put() {
+    this.session.put(TYPED_KEY, "Customer 4711");
+  }
+
+  @Benchmark
+  public String get() {
+    return this.session.get(TYPED_KEY);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String getContended() {
+    return this.session.get(TYPED_KEY);
+  }
+}
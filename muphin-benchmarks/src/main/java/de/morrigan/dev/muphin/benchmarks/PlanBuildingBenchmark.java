@@ -0,0 +1,68 @@
+package de.morrigan.dev.muphin.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.examples.scaling.SyntheticSuite;
+
+/**
+ * Measures how long the {@link WorkflowRunner} needs to discover all test classes of a suite and to build its
+ * execution plan and description, depending on the number of workflows.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanBuildingBenchmark {
+
+  @Param({
+      "10", "100", "1000"
+  })
+  private int workflows;
+
+  private SyntheticSuite suite;
+
+  @Setup(Level.Trial)
+  public void generateSuite() {
+    this.suite = SyntheticSuite.generate(this.workflows, 5, 10);
+  }
+
+  @Setup(Level.Invocation)
+  public void clearInstances() {
+    // Otherwise only the first invocation would instantiate the workflows and phases
+    InstanceManager.getInstance().clear();
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteSuite() throws IOException {
+    InstanceManager.getInstance().clear();
+    this.suite.close();
+  }
+
+  @Benchmark
+  public Description discoverAndBuildPlan() {
+    return new WorkflowRunner(this.suite.getSuiteClass()).getDescription();
+  }
+}
@@ -0,0 +1,269 @@
+package de.morrigan.dev.muphin.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the progress of workflows in a local directory, so that a failed workflow can be resumed at the phase that
+ * failed instead of executing all phases again.
+ * <p>
+ * After each successful phase, a checkpoint with the number of completed phases and all serializable data of the
+ * {@link MuphinSession} is written. Each checkpoint contains a fingerprint of the byte code of the workflow, its phases
+ * and its test classes. A checkpoint whose fingerprint does not match anymore is ignored, because the phases or tests
+ * have changed since it was written.
+ * <p>
+ * <b>Format</b><br>
+ * Each workflow has its own file named after the class of the workflow. It contains the fingerprint, the number of
+ * completed phases and the serialized session data, each value on its own so that a single value that can't be
+ * serialized does not prevent the others from being stored.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class CheckpointStore {
+
+  /**
+   * The stored progress of a single workflow.
+   *
+   * @author morrigan
+   * @since 0.0.1
+   */
+  public static final class Checkpoint {
+
+    private final int completedPhases;
+    private final Map<String, Object> data;
+
+    private Checkpoint(int completedPhases, Map<String, Object> data) {
+      super();
+      this.completedPhases = completedPhases;
+      this.data = data;
+    }
+
+    /**
+     * @return the number of phase slots that were completed successfully, including the setup phase
+     * @since 0.0.1
+     */
+    public int getCompletedPhases() {
+      return this.completedPhases;
+    }
+
+    /**
+     * Puts all stored data into the given session.
+     *
+     * @param session a session to restore the data into
+     * @since 0.0.1
+     */
+    public void restore(MuphinSession session) {
+      this.data.forEach(session::putData);
+    }
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(CheckpointStore.class);
+
+  private static final String FILE_SUFFIX = ".checkpoint";
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * Creates a fingerprint of the byte code of the given classes. The fingerprint changes as soon as one of the classes
+   * is recompiled with changes or a class is added or removed.
+   *
+   * @param classes classes whose byte code is to be included
+   * @param classLoader a class loader that provides the byte code of the classes
+   * @return a hex encoded SHA-256 hash
+   * @since 0.0.1
+   */
+  public static String fingerprint(Collection<Class<?>> classes, ClassLoader classLoader) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("The Java runtime does not support SHA-256.", e);
+    }
+    TreeSet<String> classNames = new TreeSet<>();
+    classes.forEach(clazz -> classNames.add(clazz.getName()));
+    byte[] buffer = new byte[8192];
+    for (String className : classNames) {
+      digest.update(className.getBytes(StandardCharsets.UTF_8));
+      try (InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+        if (in != null) {
+          int read;
+          while ((read = in.read(buffer)) >= 0) {
+            digest.update(buffer, 0, read);
+          }
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(StringUtils.join("The byte code of ", className, " can't be read."), e);
+      }
+    }
+    StringBuilder fingerprint = new StringBuilder();
+    for (byte b : digest.digest()) {
+      fingerprint.append(String.format("%02x", b));
+    }
+    return fingerprint.toString();
+  }
+
+  private final Path directory;
+  private final ClassLoader classLoader;
+
+  /**
+   * Creates a new store.
+   *
+   * @param directory a directory in which the checkpoints are stored, it is created on the first checkpoint
+   * @param classLoader a class loader that is used to deserialize the session data
+   * @since 0.0.1
+   */
+  public CheckpointStore(Path directory, ClassLoader classLoader) {
+    super();
+    this.directory = directory;
+    this.classLoader = classLoader;
+  }
+
+  /**
+   * Loads the checkpoint of the given workflow. A checkpoint that can't be read is ignored.
+   *
+   * @param workflowClass a class of a workflow
+   * @param fingerprint the current fingerprint of the workflow
+   * @return the checkpoint or an empty optional, if there is no checkpoint or its fingerprint does not match
+   * @since 0.0.1
+   */
+  public Optional<Checkpoint> load(Class<?> workflowClass, String fingerprint) {
+    Path file = getFile(workflowClass);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+      if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(fingerprint)) {
+        LOG.info("The checkpoint {} is outdated, because the workflow, its phases or its tests have changed", file);
+        return Optional.empty();
+      }
+      int completedPhases = in.readInt();
+      Map<String, Object> data = new LinkedHashMap<>();
+      int size = in.readInt();
+      for (int i = 0; i < size; i++) {
+        String key = in.readUTF();
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        data.put(key, deserialize(value));
+      }
+      return Optional.of(new Checkpoint(completedPhases, data));
+    } catch (IOException | ClassNotFoundException | RuntimeException e) {
+      LOG.warn("The checkpoint {} can't be read and is ignored: {}", file, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes a checkpoint of the given workflow. The file is replaced atomically, so that an aborted test run never
+   * leaves a partially written checkpoint. A checkpoint that can't be written is only logged.
+   *
+   * @param workflowClass a class of a workflow
+   * @param fingerprint the current fingerprint of the workflow
+   * @param completedPhases the number of phase slots that were completed successfully
+   * @param session a session whose serializable data is stored
+   * @since 0.0.1
+   */
+  public void save(Class<?> workflowClass, String fingerprint, int completedPhases, MuphinSession session) {
+    Path file = getFile(workflowClass);
+    try {
+      Files.createDirectories(this.directory);
+      Path tempFile = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+      // A temporary file that could not be written or moved completely is deleted again
+      try {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+          out.writeInt(FORMAT_VERSION);
+          out.writeUTF(fingerprint);
+          out.writeInt(completedPhases);
+          Map<String, byte[]> data = serialize(session.copyData());
+          out.writeInt(data.size());
+          for (Map.Entry<String, byte[]> entry : data.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+          }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      LOG.warn("The checkpoint {} can't be written: {}", file, e.getMessage());
+    }
+  }
+
+  /**
+   * Deletes the checkpoint of the given workflow, e.g. because the workflow was completed successfully.
+   *
+   * @param workflowClass a class of a workflow
+   * @since 0.0.1
+   */
+  public void delete(Class<?> workflowClass) {
+    Path file = getFile(workflowClass);
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOG.warn("The checkpoint {} can't be deleted: {}", file, e.getMessage());
+    }
+  }
+
+  private Path getFile(Class<?> workflowClass) {
+    return this.directory.resolve(workflowClass.getName() + FILE_SUFFIX);
+  }
+
+  private Map<String, byte[]> serialize(Map<String, Object> data) {
+    Map<String, byte[]> serialized = new LinkedHashMap<>();
+    for (Map.Entry<String, Object> entry : data.entrySet()) {
+      if (!(entry.getValue() instanceof Serializable)) {
+        LOG.debug("The session data {} is not serializable and is not part of the checkpoint", entry.getKey());
+        continue;
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(entry.getValue());
+      } catch (IOException e) {
+        LOG.warn("The session data {} can't be serialized and is not part of the checkpoint: {}", entry.getKey(),
+            e.getMessage());
+        continue;
+      }
+      serialized.put(entry.getKey(), bytes.toByteArray());
+    }
+    return serialized;
+  }
+
+  private Object deserialize(byte[] value) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(value)) {
+      @Override
+      protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        try {
+          return Class.forName(desc.getName(), false, CheckpointStore.this.classLoader);
+        } catch (ClassNotFoundException e) {
+          return super.resolveClass(desc);
+        }
+      }
+    }) {
+      return in.readObject();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package de.morrigan.dev.muphin.core;
+
+/**
+ * Defines how long data that is stored in the {@link MuphinSession} lives and who can read it.
+ * <p>
+ * The scopes are nested: the data of a phase is only visible within the run of the phase, the data of a workflow
+ * within the run of the workflow and global data everywhere. A read in the session looks for the data in the scope of
+ * the current phase first, then in the scope of the current workflow and finally in the global data.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public enum DataScope {
+
+  /**
+   * The data is visible to all workflows and kept until the session is cleared. This is the default.
+   *
+   * @since 0.0.1
+   */
+  GLOBAL,
+
+  /**
+   * The data is only visible to the phases and test methods of the workflow that is executed by the current thread. It
+   * is released when the workflow is finished. Workflows that share their leading phases also share the data that these
+   * phases store, until their phases diverge.
+   *
+   * @since 0.0.1
+   */
+  WORKFLOW,
+
+  /**
+   * The data is only visible to the phase that is executed by the current thread and its test methods. It is released
+   * when the test methods after the phase are finished.
+   *
+   * @since 0.0.1
+   */
+  PHASE
+}
@@ -5,15 +5,21 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.StringUtils;
 
+import de.morrigan.dev.muphin.core.invoke.InvokerCache;
 import de.morrigan.dev.muphin.core.phase.AbstractPhase;
 import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
 
 /**
  * This manager holds all instances of workflows and phases so that they do not have to be created again and again, but
- * can be obtained from this manager via their class.
+ * can be obtained from this manager via their class. Each {@link MuphinContext} has its own manager.
+ * <p>
+ * An existing instance is read without any lock, only the first request of a class creates its instance with its public
+ * no-argument constructor. The sorted list of all workflows is cached until a new workflow is added or the manager is
+ * cleared.
  *
  * @author morrigan
  * @since 0.0.1
@@ -22,34 +28,70 @@ public class InstanceManager {
 
   private static final InstanceManager INSTANCE = new InstanceManager();
 
+  private static final InvokerCache INVOKERS = InvokerCache.getInstance();
+
   /**
-   * @return only instance of this manager
+   * @return the instance of this manager in the {@link MuphinContext#getDefault() default context}
    * @since 0.0.1
    */
   public static final InstanceManager getInstance() {
     return INSTANCE;
   }
 
-  private ConcurrentMap<Class<? extends AbstractWorkflow>, AbstractWorkflow> workflows;
-  private ConcurrentMap<Class<? extends AbstractPhase>, AbstractPhase> phases;
+  private static <T> T createInstance(Class<? extends T> instanceClass) {
+    try {
+      return instanceClass.cast(INVOKERS.newInstance(instanceClass));
+    } catch (Exception e) {
+      throw new IllegalArgumentException(StringUtils.join("Can't create a new instance from ", instanceClass,
+          ". Please make sure a public default constructor exists."), e);
+    }
+  }
+
+  /**
+   * The sorted workflows together with the version of the manager from which they were taken.
+   */
+  private static final class WorkflowSnapshot {
+
+    private final long version;
+    private final List<AbstractWorkflow> workflows;
+
+    private WorkflowSnapshot(long version, List<AbstractWorkflow> workflows) {
+      super();
+      this.version = version;
+      this.workflows = workflows;
+    }
+  }
+
+  private final ConcurrentMap<Class<? extends AbstractWorkflow>, AbstractWorkflow> workflows;
+  private final ConcurrentMap<Class<? extends AbstractPhase>, AbstractPhase> phases;
+
+  // Incremented after each change of the workflows, so that an outdated snapshot is never returned
+  private final AtomicLong version;
+  private volatile WorkflowSnapshot snapshot;
 
-  private InstanceManager() {
+  InstanceManager() {
     super();
     this.workflows = new ConcurrentHashMap<>();
     this.phases = new ConcurrentHashMap<>();
+    this.version = new AtomicLong();
   }
 
   /**
-   * Creates a new list of workflows sorted by name.
+   * Returns all workflows sorted by name. The list is shared by all callers until the workflows change.
    *
-   * @return a list of workflows
+   * @return an unmodifiable list of workflows
    * @since 0.0.1
    */
   public List<AbstractWorkflow> getWorkflows() {
-    List<AbstractWorkflow> listOfWorkflows = new ArrayList<>();
-    this.workflows.forEach((workflowClass, workflow) -> listOfWorkflows.add(workflow));
-    Collections.sort(listOfWorkflows, (w1, w2) -> w1.getName().compareTo(w2.getName()));
-    return listOfWorkflows;
+    WorkflowSnapshot currentSnapshot = this.snapshot;
+    long currentVersion = this.version.get();
+    if (currentSnapshot == null || currentSnapshot.version != currentVersion) {
+      List<AbstractWorkflow> listOfWorkflows = new ArrayList<>(this.workflows.values());
+      Collections.sort(listOfWorkflows, (w1, w2) -> w1.getName().compareTo(w2.getName()));
+      currentSnapshot = new WorkflowSnapshot(currentVersion, Collections.unmodifiableList(listOfWorkflows));
+      this.snapshot = currentSnapshot;
+    }
+    return currentSnapshot.workflows;
   }
 
   /**
@@ -62,17 +104,12 @@ public class InstanceManager {
    * @since 0.0.1
    */
   public AbstractWorkflow getWorkflow(Class<? extends AbstractWorkflow> workflowClass) {
-    return this.workflows.compute(workflowClass, (key, value) -> {
-      if (value == null) {
-        try {
-          value = workflowClass.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-          throw new IllegalArgumentException(StringUtils.join("Can't create a new instance from ", workflowClass,
-              ". Please make sure a default constructor exists."), e);
-        }
-      }
-      return value;
-    });
+    AbstractWorkflow workflow = this.workflows.get(workflowClass);
+    if (workflow == null) {
+      workflow = this.workflows.computeIfAbsent(workflowClass, InstanceManager::createInstance);
+      this.version.incrementAndGet();
+    }
+    return workflow;
   }
 
   /**
@@ -85,17 +122,11 @@ public class InstanceManager {
    * @since 0.0.1
    */
   public AbstractPhase getPhase(Class<? extends AbstractPhase> phaseClass) {
-    return this.phases.compute(phaseClass, (phaseKey, phase) -> {
-      if (phase == null) {
-        try {
-          phase = phaseClass.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-          throw new IllegalArgumentException(StringUtils.join("Can't create a new instance from ", phaseClass,
-              ". Please make sure a default constructor exists."), e);
-        }
-      }
-      return phase;
-    });
+    AbstractPhase phase = this.phases.get(phaseClass);
+    if (phase == null) {
+      phase = this.phases.computeIfAbsent(phaseClass, InstanceManager::createInstance);
+    }
+    return phase;
   }
 
   /**
@@ -106,5 +137,6 @@ public class InstanceManager {
   public void clear() {
     this.workflows.clear();
     this.phases.clear();
+    this.version.incrementAndGet();
   }
-}
\ No newline at end of file
+}
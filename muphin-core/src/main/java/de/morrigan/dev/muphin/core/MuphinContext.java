@@ -0,0 +1,130 @@
+package de.morrigan.dev.muphin.core;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+/**
+ * Owns everything that belongs to a logical test run: the {@link InstanceManager} with the instances of all workflows
+ * and phases and the {@link MuphinSession} with the cross-test data and the current workflow and phase.
+ * <p>
+ * The {@link #getDefault() default context} consists of the singletons {@link InstanceManager#getInstance()} and
+ * {@link MuphinSession#getInstance()} and is used by every {@link WorkflowRunner} that is created by JUnit. A long-lived
+ * process that runs several independent suites at the same time creates a new context for each of them, so that their
+ * workflows, phases and data don't get mixed up. While a runner executes its workflows, its context is the
+ * {@link #current() current} context of all threads involved, so that phases and test methods reach their own session.
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * new WorkflowRunner(MyTestSuite.class, MuphinContext.create()).run(notifier);
+ *
+ * // within a phase or test method
+ * MuphinContext.current().getSession().putData("customer", customer);
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class MuphinContext {
+
+  private static final MuphinContext DEFAULT = new MuphinContext(InstanceManager.getInstance(),
+      MuphinSession.getInstance());
+
+  private static final ThreadLocal<MuphinContext> CURRENT = new ThreadLocal<>();
+
+  /**
+   * @return the context that consists of the singletons of the instance manager and the session
+   * @since 0.0.1
+   */
+  public static MuphinContext getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Creates a new context with its own instance manager and session, which is isolated from all other contexts.
+   *
+   * @return a new context
+   * @since 0.0.1
+   */
+  public static MuphinContext create() {
+    return new MuphinContext(new InstanceManager(), new MuphinSession());
+  }
+
+  /**
+   * @return the context of the runner that uses the current thread, the default context if no runner uses it
+   * @since 0.0.1
+   */
+  public static MuphinContext current() {
+    MuphinContext context = CURRENT.get();
+    return context == null ? DEFAULT : context;
+  }
+
+  /**
+   * Sets the context of the runner that uses the current thread.
+   *
+   * @param context a context, {@code null} to remove the context of the current thread
+   * @return the previous context of the current thread, {@code null} if it had none
+   * @since 0.0.1
+   */
+  static MuphinContext setCurrent(MuphinContext context) {
+    MuphinContext previous = CURRENT.get();
+    if (context == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(context);
+    }
+    return previous;
+  }
+
+  private final InstanceManager instances;
+  private final MuphinSession session;
+
+  private MuphinContext(InstanceManager instances, MuphinSession session) {
+    super();
+    this.instances = instances;
+    this.session = session;
+  }
+
+  /**
+   * @return the manager of the workflow and phase instances of this context
+   * @since 0.0.1
+   */
+  public InstanceManager getInstances() {
+    return this.instances;
+  }
+
+  /**
+   * @return the session of this context
+   * @since 0.0.1
+   */
+  public MuphinSession getSession() {
+    return this.session;
+  }
+
+  /**
+   * @return the workflow that is currently executed in this context
+   * @since 0.0.1
+   */
+  public AbstractWorkflow getCurrentWorkflow() {
+    return this.session.getCurrentWorkflow();
+  }
+
+  /**
+   * @return the phase that is currently executed in this context
+   * @since 0.0.1
+   */
+  public AbstractPhase getCurrentPhase() {
+    return this.session.getCurrentPhase();
+  }
+
+  /**
+   * Clears all instances and all data of this context.
+   *
+   * @since 0.0.1
+   */
+  public void clear() {
+    this.instances.clear();
+    this.session.clear();
+  }
+}
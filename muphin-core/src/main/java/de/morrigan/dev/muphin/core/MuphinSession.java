@@ -1,9 +1,17 @@
 package de.morrigan.dev.muphin.core;
 
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.helpers.MessageFormatter;
 
 import de.morrigan.dev.muphin.core.phase.AbstractPhase;
@@ -12,7 +20,17 @@ import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
 /**
  * Serves as a data container that remains available throughout the entire runtime and in which cross-test data can be
  * stored. It also contains the current workflow and the current phase that are being executed. In addition, any other
- * data can be added and retrieved.
+ * data can be added and retrieved. Each {@link MuphinContext} has its own session, the session of the runner that is
+ * currently executing is returned by {@code MuphinContext.current().getSession()}.
+ * <p>
+ * Data can be stored under a string or a {@link SessionKey}. Typed keys are the faster way, because their data is kept
+ * in an array slot of the key that is read without any lock, hashing or type check.
+ * <p>
+ * Data is stored globally unless a {@link DataScope} is given. Data of the scope {@link DataScope#WORKFLOW} or
+ * {@link DataScope#PHASE} belongs to the workflow or phase that is executed by the current thread, is not visible to
+ * workflows that are executed in parallel and is released when the workflow or phase is finished. A read looks for the
+ * data in the current phase, then in the current workflow and finally in the global data. Snapshots and checkpoints
+ * only contain the global data.
  *
  * @author morrigan
  * @since 0.0.1
@@ -22,21 +40,35 @@ public class MuphinSession {
   private static final MuphinSession INSTANCE = new MuphinSession();
 
   /**
-   * @return only instance of this session
+   * @return the instance of this session in the {@link MuphinContext#getDefault() default context}
+   * @since 0.0.1
    */
   public static final MuphinSession getInstance() {
     return INSTANCE;
   }
 
   private Map<String, Object> dataCache;
+  private List<Path> workspaces;
+
+  // The data of all registered session keys by their index
+  private final SlotTable slots;
+
+  // The innermost partition of the workflow or phase that is executed by a thread
+  private final ThreadLocal<SessionPartition> partitions = new ThreadLocal<>();
+
+  // Reads skip the partitions until data is stored in a scope for the first time
+  private volatile boolean scopedData;
 
   // use your own variables so that the user does not accidentally and randomly overwrite this internal information
-  private AbstractWorkflow currentWorkflow;
-  private AbstractPhase currentPhase;
+  // they are only used by threads that don't execute a workflow, e.g. after the run
+  private volatile AbstractWorkflow currentWorkflow;
+  private volatile AbstractPhase currentPhase;
 
-  private MuphinSession() {
+  MuphinSession() {
     super();
     this.dataCache = new ConcurrentHashMap<>();
+    this.workspaces = new CopyOnWriteArrayList<>();
+    this.slots = new SlotTable();
   }
 
   /**
@@ -44,10 +76,75 @@ public class MuphinSession {
    *
    * @param key a key that uniquely identifies this data
    * @param data data to be stored
+   * @throws IllegalArgumentException if the key is the name of a {@link SessionKey} whose type does not match the data
    * @since 0.0.1
    */
   public void putData(String key, Object data) {
-    this.dataCache.put(key, data);
+    SessionKey<?> sessionKey = SessionKey.forName(key);
+    if (sessionKey == null) {
+      this.dataCache.put(key, data);
+    } else if (sessionKey.getType().isInstance(data)) {
+      this.slots.set(sessionKey.getIndex(), data);
+    } else {
+      throw new IllegalArgumentException(typeMismatch(key, sessionKey.getType()));
+    }
+  }
+
+  /**
+   * Adds data under a unique key to the given scope of the session.
+   *
+   * @param scope the scope in which the data is stored
+   * @param key a key that uniquely identifies this data
+   * @param data data to be stored
+   * @throws IllegalArgumentException if the key is the name of a {@link SessionKey} whose type does not match the data
+   * @throws IllegalStateException if the current thread executes no workflow or phase of the scope
+   * @since 0.0.1
+   */
+  public void putData(DataScope scope, String key, Object data) {
+    if (scope == DataScope.GLOBAL) {
+      putData(key, data);
+      return;
+    }
+    SessionKey<?> sessionKey = SessionKey.forName(key);
+    if (sessionKey != null && !sessionKey.getType().isInstance(data)) {
+      throw new IllegalArgumentException(typeMismatch(key, sessionKey.getType()));
+    }
+    SessionPartition partition = getPartition(scope);
+    if (sessionKey == null) {
+      partition.put(key, Objects.requireNonNull(data));
+    } else {
+      partition.put(sessionKey, Objects.requireNonNull(data));
+    }
+  }
+
+  /**
+   * Adds data under a typed key to the session.
+   *
+   * @param <T> a type of your data
+   * @param key a key that uniquely identifies this data
+   * @param data data to be stored, {@code null} removes the data
+   * @since 0.0.1
+   */
+  public <T> void put(SessionKey<T> key, T data) {
+    this.slots.set(key.getIndex(), data);
+  }
+
+  /**
+   * Adds data under a typed key to the given scope of the session.
+   *
+   * @param <T> a type of your data
+   * @param scope the scope in which the data is stored
+   * @param key a key that uniquely identifies this data
+   * @param data data to be stored, {@code null} removes the data
+   * @throws IllegalStateException if the current thread executes no workflow or phase of the scope
+   * @since 0.0.1
+   */
+  public <T> void put(DataScope scope, SessionKey<T> key, T data) {
+    if (scope == DataScope.GLOBAL) {
+      put(key, data);
+    } else {
+      getPartition(scope).put(key, data);
+    }
   }
 
   /**
@@ -57,54 +154,244 @@ public class MuphinSession {
    * @since 0.0.1
    */
   public void remove(String key) {
+    SessionKey<?> sessionKey = SessionKey.forName(key);
+    if (sessionKey != null) {
+      this.slots.set(sessionKey.getIndex(), null);
+    }
     this.dataCache.remove(key);
   }
 
   /**
-   * Clears all data in this session.
+   * Removes data that is stored under the given key from the given scope of the session.
+   *
+   * @param scope the scope in which the data is stored
+   * @param key a key that uniquely identifies the data
+   * @throws IllegalStateException if the current thread executes no workflow or phase of the scope
+   * @since 0.0.1
+   */
+  public void remove(DataScope scope, String key) {
+    if (scope == DataScope.GLOBAL) {
+      remove(key);
+    } else {
+      SessionKey<?> sessionKey = SessionKey.forName(key);
+      SessionPartition partition = getPartition(scope);
+      if (sessionKey != null) {
+        partition.put(sessionKey, null);
+      }
+      partition.put(key, null);
+    }
+  }
+
+  /**
+   * Removes data that is stored under the given typed key from the session.
+   *
+   * @param key a key that uniquely identifies the data
+   * @since 0.0.1
+   */
+  public void remove(SessionKey<?> key) {
+    this.slots.set(key.getIndex(), null);
+  }
+
+  /**
+   * Registers a directory in which the phases of the workflows create or change files. The content of all registered
+   * directories belongs to the state of a workflow, so that it can be saved and restored together with the data of this
+   * session, e.g. by a {@link SessionSnapshot}.
+   *
+   * @param directory a directory that belongs to the state of the workflows
+   * @since 0.0.1
+   */
+  public void registerWorkspace(Path directory) {
+    Path normalized = directory.toAbsolutePath().normalize();
+    if (!this.workspaces.contains(normalized)) {
+      this.workspaces.add(normalized);
+    }
+  }
+
+  /**
+   * @return all registered workspace directories
+   * @since 0.0.1
+   */
+  public List<Path> getWorkspaces() {
+    return Collections.unmodifiableList(this.workspaces);
+  }
+
+  /**
+   * Clears all data and workspace registrations in this session.
    *
    * @since 0.0.1
    */
   public void clear() {
+    this.slots.clear();
     this.dataCache.clear();
+    this.workspaces.clear();
     this.currentWorkflow = null;
     this.currentPhase = null;
   }
 
   /**
    * Returns data with the given type in a generic way to the given key. The type is used to check whether the data in
-   * the session actually has the expected type. If this is not the case, an {@code IllegalArgumentException} is thrown.
+   * the session actually has the expected type, so the data may also be an instance of a subtype. If this is not the
+   * case, an {@code IllegalArgumentException} is thrown.
    *
    * @param <T> a type of your data
    * @param key a key that uniquely identifies the data
    * @param type a type to verify the type of the data
    * @return the data that is stored for the key
+   * @throws IllegalArgumentException if the data is not an instance of the type
    * @since 0.0.1
    */
-  @SuppressWarnings("unchecked")
   public <T> Optional<T> getData(String key, Class<T> type) {
-    Object data = this.dataCache.get(key);
+    SessionKey<?> sessionKey = SessionKey.forName(key);
+    SessionPartition partition = this.scopedData ? this.partitions.get() : null;
+    Object data = null;
+    if (partition != null) {
+      data = sessionKey == null ? partition.lookup(key) : partition.lookup(sessionKey);
+    }
+    if (data == null && sessionKey != null) {
+      data = this.slots.get(sessionKey.getIndex());
+    }
+    if (data == null) {
+      // Data that was stored before the key was registered is still found under its name
+      data = this.dataCache.get(key);
+    }
     if (data != null) {
-      if (data.getClass().isAssignableFrom(type)) {
-        return Optional.of((T) data);
+      if (type.isInstance(data)) {
+        return Optional.of(type.cast(data));
       } else {
-        String msg = MessageFormatter
-            .arrayFormat("Type of data with the key {} does not match with the expected type {}",
-                new Object[] {
-                    key, type
-                }).getMessage();
-        throw new IllegalArgumentException(msg);
+        throw new IllegalArgumentException(typeMismatch(key, type));
       }
     }
     return Optional.empty();
   }
 
   /**
-   * @return the current workflow
+   * Returns data to the given typed key.
+   *
+   * @param <T> a type of your data
+   * @param key a key that uniquely identifies the data
+   * @return the data that is stored for the key, {@code null} if no data is stored
+   * @since 0.0.1
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(SessionKey<T> key) {
+    if (this.scopedData) {
+      SessionPartition partition = this.partitions.get();
+      Object data = partition == null ? null : partition.lookup(key);
+      if (data != null) {
+        return (T) data;
+      }
+    }
+    // Only data of the type of the key can be stored in its slot
+    return (T) this.slots.get(key.getIndex());
+  }
+
+  private SessionPartition getPartition(DataScope scope) {
+    SessionPartition partition = this.partitions.get();
+    SessionPartition scoped = partition == null ? null : partition.find(scope);
+    if (scoped == null) {
+      throw new IllegalStateException(StringUtils.join("The current thread executes no ",
+          scope.name().toLowerCase(Locale.ROOT), ", so no data can be stored in its scope."));
+    }
+    this.scopedData = true;
+    return scoped;
+  }
+
+  private static String typeMismatch(String key, Class<?> type) {
+    return MessageFormatter.arrayFormat("Type of data with the key {} does not match with the expected type {}",
+        new Object[] {
+            key, type
+        }).getMessage();
+  }
+
+  /**
+   * @return a copy of all data in this session, including the data of typed keys under their names
+   * @since 0.0.1
+   */
+  Map<String, Object> copyData() {
+    Map<String, Object> data = new HashMap<>(this.dataCache);
+    for (int i = 0; i < this.slots.length(); i++) {
+      Object slot = this.slots.get(i);
+      SessionKey<?> sessionKey = slot == null ? null : SessionKey.forIndex(i);
+      if (sessionKey != null) {
+        data.put(sessionKey.getName(), slot);
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Replaces all data in this session with the given data.
+   *
+   * @param data data that was copied before with {@link #copyData()}
+   * @since 0.0.1
+   */
+  void restoreData(Map<String, Object> data) {
+    this.slots.clear();
+    this.dataCache.clear();
+    data.forEach(this::putData);
+  }
+
+  /**
+   * Starts a new partition for a workflow or phase that is executed by the current thread. The partition is enclosed by
+   * the partition that the current thread had before.
+   * <p>
+   * This method has package-default visibility and is designed for internal usage by the {@link WorkflowRunner}.
+   *
+   * @param scope the scope of the partition, either {@link DataScope#WORKFLOW} or {@link DataScope#PHASE}
+   * @param workflow the workflow that is executed
+   * @param phase the phase that is executed, {@code null} for a partition of a workflow
+   * @return the new partition, which must be ended with {@link #leave(SessionPartition)}
+   * @since 0.0.1
+   */
+  SessionPartition enter(DataScope scope, AbstractWorkflow workflow, AbstractPhase phase) {
+    SessionPartition partition = new SessionPartition(this.partitions.get(), scope, workflow, phase);
+    this.partitions.set(partition);
+    return partition;
+  }
+
+  /**
+   * Ends a partition, releases its data and makes its enclosing partition the partition of the current thread.
+   *
+   * @param partition a partition that was started with {@link #enter(DataScope, AbstractWorkflow, AbstractPhase)}
+   * @since 0.0.1
+   */
+  void leave(SessionPartition partition) {
+    partition.release();
+    setPartition(partition.getParent());
+  }
+
+  /**
+   * @return the innermost partition of the current thread, {@code null} if the thread executes no workflow
+   * @since 0.0.1
+   */
+  SessionPartition getPartition() {
+    return this.partitions.get();
+  }
+
+  /**
+   * Sets the partition of the current thread, e.g. to continue a workflow on another thread.
+   *
+   * @param partition a partition, {@code null} to remove the partition of the current thread
+   * @return the previous partition of the current thread, {@code null} if it had none
+   * @since 0.0.1
+   */
+  SessionPartition setPartition(SessionPartition partition) {
+    SessionPartition previous = this.partitions.get();
+    if (partition == null) {
+      this.partitions.remove();
+    } else {
+      this.partitions.set(partition);
+    }
+    return previous;
+  }
+
+  /**
+   * @return the workflow that is executed by the current thread, the last started workflow if the thread executes none
    * @since 0.0.1
    */
   public AbstractWorkflow getCurrentWorkflow() {
-    return this.currentWorkflow;
+    SessionPartition partition = this.partitions.get();
+    return partition == null ? this.currentWorkflow : partition.getWorkflow();
   }
 
   /**
@@ -121,11 +408,16 @@ public class MuphinSession {
   }
 
   /**
-   * @return the current phase
+   * @return the phase that is executed by the current thread, the last started phase if the thread executes no workflow
    * @since 0.0.1
    */
   public AbstractPhase getCurrentPhase() {
-    return this.currentPhase;
+    SessionPartition partition = this.partitions.get();
+    if (partition == null) {
+      return this.currentPhase;
+    }
+    SessionPartition phasePartition = partition.find(DataScope.PHASE);
+    return phasePartition == null ? null : phasePartition.getPhase();
   }
 
   /**
@@ -0,0 +1,287 @@
+package de.morrigan.dev.muphin.core;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.annotation.WorkflowSuite;
+import de.morrigan.dev.muphin.core.execution.ExecutorBackend;
+import de.morrigan.dev.muphin.core.metrics.MetricsListener;
+
+/**
+ * The configuration of a single test run of the {@link WorkflowRunner}.
+ * <p>
+ * The configuration is taken from the {@link WorkflowSuite} annotation of the test suite. Each value can be overridden
+ * with a system property, so that a build server can change it without changing the code. Without any configuration,
+ * all workflows are run one after the other. The {@link WorkflowSuite} describes each option in detail.
+ * <ul>
+ * <li>{@value #PARALLELISM_PROPERTY}: the number of workflows that are run at the same time</li>
+ * <li>{@value #EXECUTOR_PROPERTY}: the {@link ExecutorBackend} on which workflows are run in parallel (e.g. virtual)</li>
+ * <li>{@value #HOOK_PARALLELISM_PROPERTY}: the number of concurrent test methods that are run at the same time</li>
+ * <li>{@value #PHASE_PARALLELISM_PROPERTY}: the number of independent phases that are executed at the same time</li>
+ * <li>{@value #SHARE_PREFIXES_PROPERTY}: whether workflows with the same leading phases execute them only once, ignored
+ * with a checkpoint directory</li>
+ * <li>{@value #CHECKPOINT_DIRECTORY_PROPERTY}: a directory in which the progress of the workflows is stored</li>
+ * <li>{@value #RESUME_PROPERTY}: whether workflows are resumed at the phase that failed in the last run</li>
+ * <li>{@value #TEAR_DOWN_ON_FAILURE_PROPERTY}: whether the tear down phase is executed after a phase failed</li>
+ * <li>{@value #METRICS_LISTENERS_PROPERTY}: comma separated class names of {@link MetricsListener metrics listeners}</li>
+ * </ul>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class RunConfiguration {
+
+  /** System property to override the number of workflows that are run at the same time */
+  public static final String PARALLELISM_PROPERTY = "muphin.parallelism";
+
+  /** System property to override the backend on which workflows are run in parallel */
+  public static final String EXECUTOR_PROPERTY = "muphin.executor";
+
+  /** System property to override the number of concurrent test methods that are run at the same time */
+  public static final String HOOK_PARALLELISM_PROPERTY = "muphin.hookParallelism";
+
+  /** System property to override the number of independent phases that are executed at the same time */
+  public static final String PHASE_PARALLELISM_PROPERTY = "muphin.phaseParallelism";
+
+  /** System property to override whether workflows with the same leading phases execute them only once */
+  public static final String SHARE_PREFIXES_PROPERTY = "muphin.sharePrefixes";
+
+  /** System property to override the directory in which the progress of the workflows is stored */
+  public static final String CHECKPOINT_DIRECTORY_PROPERTY = "muphin.checkpointDirectory";
+
+  /** System property to resume all workflows at the phase that failed in the last run */
+  public static final String RESUME_PROPERTY = "muphin.resume";
+
+  /** System property to override whether the tear down phase of a workflow is executed after a phase failed */
+  public static final String TEAR_DOWN_ON_FAILURE_PROPERTY = "muphin.tearDownOnFailure";
+
+  /** System property to override the listeners that receive the measurements of a run */
+  public static final String METRICS_LISTENERS_PROPERTY = "muphin.metricsListeners";
+
+  private static final Logger LOG = LoggerFactory.getLogger(RunConfiguration.class);
+
+  /**
+   * Creates the configuration for the given test class.
+   *
+   * @param testClass a test class that is run by the {@link WorkflowRunner}
+   * @return a configuration
+   * @throws IllegalArgumentException if a system property has an invalid value
+   * @since 0.0.1
+   */
+  public static RunConfiguration of(Class<?> testClass) {
+    WorkflowSuite suite = testClass.getAnnotation(WorkflowSuite.class);
+    ExecutorBackend executor = getExecutorProperty(suite == null ? ExecutorBackend.PLATFORM : suite.executor());
+    if (!executor.isAvailable()) {
+      LOG.warn("The executor backend {} is not supported by this Java runtime, {} is used instead.", executor,
+          ExecutorBackend.PLATFORM);
+      executor = ExecutorBackend.PLATFORM;
+    }
+    int parallelism = getIntProperty(PARALLELISM_PROPERTY, suite == null ? 1 : suite.parallelism());
+    int hookParallelism = getIntProperty(HOOK_PARALLELISM_PROPERTY, suite == null ? 0 : suite.hookParallelism());
+    int phaseParallelism = getIntProperty(PHASE_PARALLELISM_PROPERTY, suite == null ? 0 : suite.phaseParallelism());
+    boolean sharePrefixes = getBooleanProperty(SHARE_PREFIXES_PROPERTY, suite != null && suite.sharePrefixes());
+    String checkpointDirectory = System.getProperty(CHECKPOINT_DIRECTORY_PROPERTY,
+        suite == null ? "" : suite.checkpointDirectory());
+    if (sharePrefixes && StringUtils.isNotBlank(checkpointDirectory)) {
+      LOG.warn("Workflows with checkpoints can't share their leading phases, {} is ignored.", SHARE_PREFIXES_PROPERTY);
+      sharePrefixes = false;
+    }
+    boolean resume = getBooleanProperty(RESUME_PROPERTY, false);
+    if (resume && StringUtils.isBlank(checkpointDirectory)) {
+      throw new IllegalArgumentException(StringUtils.join("The system property ", RESUME_PROPERTY,
+          " requires a checkpoint directory, please set the system property ", CHECKPOINT_DIRECTORY_PROPERTY, "."));
+    }
+    boolean tearDownOnFailure = getBooleanProperty(TEAR_DOWN_ON_FAILURE_PROPERTY,
+        suite == null || suite.tearDownOnFailure());
+    List<Class<? extends MetricsListener>> metricsListeners = getMetricsListenersProperty(
+        suite == null ? Collections.<Class<? extends MetricsListener>> emptyList()
+            : Arrays.asList(suite.metricsListeners()),
+        testClass.getClassLoader());
+    return new RunConfiguration(resolve(parallelism, executor), resolve(hookParallelism, executor),
+        resolve(phaseParallelism, executor), executor, sharePrefixes,
+        StringUtils.isBlank(checkpointDirectory) ? null : Paths.get(checkpointDirectory.trim()), resume,
+        tearDownOnFailure, metricsListeners);
+  }
+
+  private static int resolve(int parallelism, ExecutorBackend executor) {
+    if (parallelism > 0) {
+      return parallelism;
+    }
+    return executor == ExecutorBackend.VIRTUAL ? Integer.MAX_VALUE : Runtime.getRuntime().availableProcessors();
+  }
+
+  private static ExecutorBackend getExecutorProperty(ExecutorBackend defaultValue) {
+    String value = System.getProperty(EXECUTOR_PROPERTY);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    try {
+      return ExecutorBackend.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(StringUtils.join("The system property ", EXECUTOR_PROPERTY, " must be one of ",
+          Arrays.toString(ExecutorBackend.values()), ", but was '", value, "'."), e);
+    }
+  }
+
+  private static int getIntProperty(String name, int defaultValue) {
+    String value = System.getProperty(name);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(StringUtils.join("The system property ", name, " must be a number, but was '",
+          value, "'."), e);
+    }
+  }
+
+  private static boolean getBooleanProperty(String name, boolean defaultValue) {
+    String value = System.getProperty(name);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    if ("true".equalsIgnoreCase(value.trim())) {
+      return true;
+    } else if ("false".equalsIgnoreCase(value.trim())) {
+      return false;
+    }
+    throw new IllegalArgumentException(StringUtils.join("The system property ", name,
+        " must be true or false, but was '", value, "'."));
+  }
+
+  private static List<Class<? extends MetricsListener>> getMetricsListenersProperty(
+      List<Class<? extends MetricsListener>> defaultValue, ClassLoader classLoader) {
+    String value = System.getProperty(METRICS_LISTENERS_PROPERTY);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    List<Class<? extends MetricsListener>> listeners = new ArrayList<>();
+    for (String className : StringUtils.split(value, ',')) {
+      try {
+        listeners.add(Class.forName(className.trim(), false, classLoader).asSubclass(MetricsListener.class));
+      } catch (ClassNotFoundException | ClassCastException e) {
+        throw new IllegalArgumentException(StringUtils.join("The system property ", METRICS_LISTENERS_PROPERTY,
+            " must only contain classes that implement ", MetricsListener.class.getName(), ", but contained '",
+            className.trim(), "'."), e);
+      }
+    }
+    return listeners;
+  }
+
+  private final int parallelism;
+  private final int hookParallelism;
+  private final int phaseParallelism;
+  private final ExecutorBackend executor;
+  private final boolean sharePrefixes;
+  private final Path checkpointDirectory;
+  private final boolean resume;
+  private final boolean tearDownOnFailure;
+  private final List<Class<? extends MetricsListener>> metricsListeners;
+
+  private RunConfiguration(int parallelism, int hookParallelism, int phaseParallelism, ExecutorBackend executor,
+      boolean sharePrefixes, Path checkpointDirectory, boolean resume, boolean tearDownOnFailure,
+      List<Class<? extends MetricsListener>> metricsListeners) {
+    super();
+    this.parallelism = parallelism;
+    this.hookParallelism = hookParallelism;
+    this.phaseParallelism = phaseParallelism;
+    this.executor = executor;
+    this.sharePrefixes = sharePrefixes;
+    this.checkpointDirectory = checkpointDirectory;
+    this.resume = resume;
+    this.tearDownOnFailure = tearDownOnFailure;
+    this.metricsListeners = Collections.unmodifiableList(metricsListeners);
+  }
+
+  /**
+   * @return the number of workflows that are run at the same time, at least 1
+   * @since 0.0.1
+   */
+  public int getParallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * @return the number of concurrent test methods that are run at the same time, at least 1
+   * @since 0.0.1
+   */
+  public int getHookParallelism() {
+    return this.hookParallelism;
+  }
+
+  /**
+   * @return the number of independent phases that are executed at the same time, at least 1
+   * @since 0.0.1
+   */
+  public int getPhaseParallelism() {
+    return this.phaseParallelism;
+  }
+
+  /**
+   * @return the backend on which workflows are run in parallel, always available in the current Java runtime
+   * @since 0.0.1
+   */
+  public ExecutorBackend getExecutor() {
+    return this.executor;
+  }
+
+  /**
+   * @return {@code true} if workflows with the same leading phases execute them only once
+   * @since 0.0.1
+   */
+  public boolean isSharePrefixes() {
+    return this.sharePrefixes;
+  }
+
+  /**
+   * @return the directory in which the progress of the workflows is stored, empty if checkpoints are disabled
+   * @since 0.0.1
+   */
+  public Optional<Path> getCheckpointDirectory() {
+    return Optional.ofNullable(this.checkpointDirectory);
+  }
+
+  /**
+   * @return {@code true} if workflows are resumed at the phase that failed in the last run
+   * @since 0.0.1
+   */
+  public boolean isResume() {
+    return this.resume;
+  }
+
+  /**
+   * @return {@code true} if the tear down phase of a workflow is executed even after one of its phases failed
+   * @since 0.0.1
+   */
+  public boolean isTearDownOnFailure() {
+    return this.tearDownOnFailure;
+  }
+
+  /**
+   * @return the listeners that receive the measurements of the run in addition to the summary table
+   * @since 0.0.1
+   */
+  public List<Class<? extends MetricsListener>> getMetricsListeners() {
+    return this.metricsListeners;
+  }
+
+  @Override
+  public String toString() {
+    return StringUtils.join("RunConfiguration [parallelism=", this.parallelism, ", hookParallelism=",
+        this.hookParallelism, ", phaseParallelism=", this.phaseParallelism, ", executor=", this.executor,
+        ", sharePrefixes=", this.sharePrefixes, ", checkpointDirectory=", this.checkpointDirectory, ", resume=",
+        this.resume, ", tearDownOnFailure=", this.tearDownOnFailure, ", metricsListeners=", this.metricsListeners,
+        "]");
+  }
+}
@@ -0,0 +1,164 @@
+package de.morrigan.dev.muphin.core;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A typed key of data in the {@link MuphinSession}.
+ * <p>
+ * Each name is registered only once and gets its own slot in the storage of every session, so that typed data can be
+ * read and written without hashing the name, checking the type or wrapping the data. The key of a name is always the
+ * same instance with the same type, as long as the type is not loaded again by another class loader. Data that is
+ * stored with the string based methods of the session under the name of a registered key is stored in the same slot.
+ * Keys should be constants, so that they are registered before any data is stored under their names.
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * public static final SessionKey&lt;Customer&gt; CUSTOMER = SessionKey.of("customer", Customer.class);
+ *
+ * session.put(CUSTOMER, customer);
+ * Customer customer = session.get(CUSTOMER);
+ * </pre>
+ *
+ * @param <T> the type of the data
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class SessionKey<T> {
+
+  // the keys are held weakly, so that the registry does not hold the class loaders of their types
+  private static final ConcurrentMap<String, KeyReference> KEYS = new ConcurrentHashMap<>();
+  private static final List<KeyReference> KEYS_BY_INDEX = new CopyOnWriteArrayList<>();
+
+  /**
+   * Returns the key of the given name. If the name is not yet registered, a new key with the next free slot is created.
+   * If the name is registered with a type of the same name from another class loader, e.g. because the test classes
+   * were loaded again, the name is registered again with a new slot.
+   *
+   * @param <T> the type of the data
+   * @param name a name that uniquely identifies the data
+   * @param type the type of the data, primitive types are replaced by their wrapper types
+   * @return the only key of the name
+   * @throws IllegalArgumentException if the name is blank or was already registered with another type
+   * @since 0.0.1
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> SessionKey<T> of(String name, Class<T> type) {
+    if (StringUtils.isBlank(name)) {
+      throw new IllegalArgumentException("The name of a session key must not be blank.");
+    }
+    Class<T> wrappedType = (Class<T>) ClassUtils.primitiveToWrapper(type);
+    SessionKey<?> key = forName(name);
+    if (key == null || isReloaded(key.type, wrappedType)) {
+      key = register(name, wrappedType);
+    }
+    if (key.type != wrappedType) {
+      throw new IllegalArgumentException(StringUtils.join("The session key '", name, "' is already registered with the ",
+          key.type, ", it can't be used with the ", type, "."));
+    }
+    return (SessionKey<T>) key;
+  }
+
+  private static synchronized SessionKey<?> register(String name, Class<?> type) {
+    KeyReference reference = KEYS.get(name);
+    SessionKey<?> key = reference == null ? null : reference.get();
+    if (key == null && reference != null && reference.typeName.equals(type.getName())) {
+      // a collected key gets its slot back, so that its data is still found by a new key of the same type
+      key = new SessionKey<>(name, type, reference.index);
+      reference = new KeyReference(key);
+      KEYS_BY_INDEX.set(key.index, reference);
+      KEYS.put(name, reference);
+    } else if (key == null || isReloaded(key.type, type)) {
+      key = new SessionKey<>(name, type, KEYS_BY_INDEX.size());
+      reference = new KeyReference(key);
+      KEYS_BY_INDEX.add(reference);
+      KEYS.put(name, reference);
+    }
+    return key;
+  }
+
+  private static boolean isReloaded(Class<?> registeredType, Class<?> type) {
+    return registeredType != type && registeredType.getName().equals(type.getName())
+        && registeredType.getClassLoader() != type.getClassLoader();
+  }
+
+  /**
+   * @param name a name of data in the session
+   * @return the key of the name, {@code null} if the name is not registered
+   * @since 0.0.1
+   */
+  static SessionKey<?> forName(String name) {
+    KeyReference reference = KEYS.get(name);
+    return reference == null ? null : reference.get();
+  }
+
+  /**
+   * @param index a slot in the storage of a session
+   * @return the key of the slot, {@code null} if the key is no longer used
+   * @since 0.0.1
+   */
+  static SessionKey<?> forIndex(int index) {
+    return KEYS_BY_INDEX.get(index).get();
+  }
+
+  private final String name;
+  private final Class<T> type;
+  private final int index;
+
+  private SessionKey(String name, Class<T> type, int index) {
+    super();
+    this.name = name;
+    this.type = type;
+    this.index = index;
+  }
+
+  /**
+   * @return a name that uniquely identifies the data
+   * @since 0.0.1
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * @return the type of the data
+   * @since 0.0.1
+   */
+  public Class<T> getType() {
+    return this.type;
+  }
+
+  /**
+   * @return the slot of the data in the storage of a session
+   * @since 0.0.1
+   */
+  int getIndex() {
+    return this.index;
+  }
+
+  @Override
+  public String toString() {
+    return StringUtils.join("SessionKey [name=", this.name, ", type=", this.type.getName(), ", index=", this.index, "]");
+  }
+
+  // a weak reference that remembers the slot of its key after the key was collected
+  private static final class KeyReference extends WeakReference<SessionKey<?>> {
+
+    private final String typeName;
+    private final int index;
+
+    KeyReference(SessionKey<?> key) {
+      super(key);
+      this.typeName = key.type.getName();
+      this.index = key.index;
+    }
+  }
+}
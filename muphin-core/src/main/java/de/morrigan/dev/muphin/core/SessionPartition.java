@@ -0,0 +1,159 @@
+package de.morrigan.dev.muphin.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+/**
+ * The data of a workflow or phase that is executed by the {@link WorkflowRunner}. A partition knows its enclosing
+ * partition, so that data that is not found in a phase is looked up in its workflow.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+final class SessionPartition {
+
+  private final SessionPartition parent;
+  private final DataScope scope;
+  private final AbstractWorkflow workflow;
+  private final AbstractPhase phase;
+  private final ConcurrentMap<String, Object> data;
+  private final SlotTable slots;
+
+  /**
+   * Creates a new empty partition.
+   *
+   * @param parent the enclosing partition, {@code null} if the partition is enclosed by the global data only
+   * @param scope the scope of the data, either {@link DataScope#WORKFLOW} or {@link DataScope#PHASE}
+   * @param workflow the workflow that is executed within the partition
+   * @param phase the phase that is executed within the partition, {@code null} for a partition of a workflow
+   * @since 0.0.1
+   */
+  SessionPartition(SessionPartition parent, DataScope scope, AbstractWorkflow workflow, AbstractPhase phase) {
+    this(parent, scope, workflow, phase, new ConcurrentHashMap<>(), new SlotTable());
+  }
+
+  private SessionPartition(SessionPartition parent, DataScope scope, AbstractWorkflow workflow, AbstractPhase phase,
+      ConcurrentMap<String, Object> data, SlotTable slots) {
+    super();
+    this.parent = parent;
+    this.scope = scope;
+    this.workflow = workflow;
+    this.phase = phase;
+    this.data = data;
+    this.slots = slots;
+  }
+
+  /**
+   * Returns a view of this partition for another workflow. The view shares the data with this partition and is used
+   * when a phase is executed once for several workflows.
+   *
+   * @param otherWorkflow the workflow of the view
+   * @return a partition with the same data
+   * @since 0.0.1
+   */
+  SessionPartition withWorkflow(AbstractWorkflow otherWorkflow) {
+    return new SessionPartition(this.parent, this.scope, otherWorkflow, this.phase, this.data, this.slots);
+  }
+
+  /**
+   * @param dataScope a scope of data
+   * @return the innermost partition with the scope, {@code null} if there is none
+   * @since 0.0.1
+   */
+  SessionPartition find(DataScope dataScope) {
+    SessionPartition partition = this;
+    while (partition != null && partition.scope != dataScope) {
+      partition = partition.parent;
+    }
+    return partition;
+  }
+
+  /**
+   * @param key a key of data
+   * @return the data of the innermost partition that contains the key, {@code null} if no partition contains it
+   * @since 0.0.1
+   */
+  Object lookup(String key) {
+    for (SessionPartition partition = this; partition != null; partition = partition.parent) {
+      Object value = partition.data.get(key);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param key a typed key of data
+   * @return the data of the innermost partition that contains the key, {@code null} if no partition contains it
+   * @since 0.0.1
+   */
+  Object lookup(SessionKey<?> key) {
+    for (SessionPartition partition = this; partition != null; partition = partition.parent) {
+      Object value = partition.slots.get(key.getIndex());
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param key a key of data
+   * @param value data to store in this partition, {@code null} removes the data
+   * @since 0.0.1
+   */
+  void put(String key, Object value) {
+    if (value == null) {
+      this.data.remove(key);
+    } else {
+      this.data.put(key, value);
+    }
+  }
+
+  /**
+   * @param key a typed key of data
+   * @param value data to store in this partition, {@code null} removes the data
+   * @since 0.0.1
+   */
+  void put(SessionKey<?> key, Object value) {
+    this.slots.set(key.getIndex(), value);
+  }
+
+  /**
+   * Releases all data of this partition.
+   *
+   * @since 0.0.1
+   */
+  void release() {
+    this.data.clear();
+    this.slots.clear();
+  }
+
+  /**
+   * @return the enclosing partition, {@code null} if the partition is enclosed by the global data only
+   * @since 0.0.1
+   */
+  SessionPartition getParent() {
+    return this.parent;
+  }
+
+  /**
+   * @return the workflow that is executed within this partition
+   * @since 0.0.1
+   */
+  AbstractWorkflow getWorkflow() {
+    return this.workflow;
+  }
+
+  /**
+   * @return the phase that is executed within this partition, {@code null} for a partition of a workflow
+   * @since 0.0.1
+   */
+  AbstractPhase getPhase() {
+    return this.phase;
+  }
+}
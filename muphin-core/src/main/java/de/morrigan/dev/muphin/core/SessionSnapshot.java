@@ -0,0 +1,149 @@
+package de.morrigan.dev.muphin.core;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A saved state of the {@link MuphinSession}, which consists of the data of the session and the content of all its
+ * registered workspace directories.
+ * <p>
+ * The state can be restored any number of times, so that several workflows can continue from the same state one after
+ * another. The content of the workspaces is copied into temporary directories, which are deleted when the snapshot is
+ * closed. The data of the session is only copied shallowly, so data objects that are changed afterwards are not
+ * restored.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class SessionSnapshot implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SessionSnapshot.class);
+
+  /**
+   * Saves the current state of the given session.
+   *
+   * @param session a session whose state is to be saved
+   * @return a snapshot of the session
+   * @throws IllegalStateException if a workspace can't be copied
+   * @since 0.0.1
+   */
+  public static SessionSnapshot take(MuphinSession session) {
+    SessionSnapshot snapshot = new SessionSnapshot(session);
+    try {
+      for (Path workspace : session.getWorkspaces()) {
+        Path copy = Files.createTempDirectory("muphin-snapshot-");
+        snapshot.workspaceCopies.add(copy);
+        if (Files.isDirectory(workspace)) {
+          copyDirectory(workspace, copy);
+        }
+      }
+    } catch (IOException e) {
+      snapshot.close();
+      throw new IllegalStateException("The workspaces of the session can't be saved.", e);
+    }
+    return snapshot;
+  }
+
+  private static void copyDirectory(Path source, Path target) throws IOException {
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.COPY_ATTRIBUTES);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private static void deleteContent(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+        if (e != null) {
+          throw e;
+        }
+        if (!dir.equals(directory)) {
+          Files.delete(dir);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private final MuphinSession session;
+  private final Map<String, Object> data;
+  private final List<Path> workspaces;
+  private final List<Path> workspaceCopies = new ArrayList<>();
+
+  private SessionSnapshot(MuphinSession session) {
+    super();
+    this.session = session;
+    this.data = session.copyData();
+    this.workspaces = new ArrayList<>(session.getWorkspaces());
+  }
+
+  /**
+   * Restores the saved state. All data of the session and the content of all saved workspaces are replaced.
+   *
+   * @throws IllegalStateException if a workspace can't be restored
+   * @since 0.0.1
+   */
+  public void restore() {
+    this.session.restoreData(this.data);
+    for (int i = 0; i < this.workspaces.size(); i++) {
+      Path workspace = this.workspaces.get(i);
+      try {
+        deleteContent(workspace);
+        Files.createDirectories(workspace);
+        copyDirectory(this.workspaceCopies.get(i), workspace);
+      } catch (IOException e) {
+        throw new IllegalStateException(StringUtils.join("The workspace ", workspace, " can't be restored."), e);
+      }
+    }
+  }
+
+  /**
+   * Deletes the saved content of all workspaces.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() {
+    for (Path copy : this.workspaceCopies) {
+      try {
+        deleteContent(copy);
+        Files.deleteIfExists(copy);
+      } catch (IOException e) {
+        LOG.warn("The snapshot directory {} can't be deleted", copy, e);
+      }
+    }
+    this.workspaceCopies.clear();
+  }
+}
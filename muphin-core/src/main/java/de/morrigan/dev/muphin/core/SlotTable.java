@@ -0,0 +1,75 @@
+package de.morrigan.dev.muphin.core;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The data of all registered {@link SessionKey session keys} by their index. A slot is read without any lock, hashing
+ * or type check. The table grows when data is stored in a slot that is beyond its end.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+final class SlotTable {
+
+  // replaced by a larger array under the lock of this table
+  private volatile AtomicReferenceArray<Object> slots;
+
+  /**
+   * Creates a new empty table.
+   *
+   * @since 0.0.1
+   */
+  SlotTable() {
+    super();
+    this.slots = new AtomicReferenceArray<>(0);
+  }
+
+  /**
+   * @param index the index of a session key
+   * @return the data in the slot, {@code null} if no data is stored
+   * @since 0.0.1
+   */
+  Object get(int index) {
+    AtomicReferenceArray<Object> currentSlots = this.slots;
+    return index < currentSlots.length() ? currentSlots.get(index) : null;
+  }
+
+  /**
+   * @param index the index of a session key
+   * @param data data to store in the slot, {@code null} removes the data
+   * @since 0.0.1
+   */
+  synchronized void set(int index, Object data) {
+    AtomicReferenceArray<Object> currentSlots = this.slots;
+    if (index >= currentSlots.length()) {
+      if (data == null) {
+        return;
+      }
+      AtomicReferenceArray<Object> largerSlots = new AtomicReferenceArray<>(Math.max(index + 1,
+          currentSlots.length() * 2));
+      for (int i = 0; i < currentSlots.length(); i++) {
+        largerSlots.set(i, currentSlots.get(i));
+      }
+      this.slots = largerSlots;
+      currentSlots = largerSlots;
+    }
+    currentSlots.set(index, data);
+  }
+
+  /**
+   * @return the number of slots, which is at least the highest index of the stored data plus one
+   * @since 0.0.1
+   */
+  int length() {
+    return this.slots.length();
+  }
+
+  /**
+   * Removes the data of all slots.
+   *
+   * @since 0.0.1
+   */
+  synchronized void clear() {
+    this.slots = new AtomicReferenceArray<>(this.slots.length());
+  }
+}
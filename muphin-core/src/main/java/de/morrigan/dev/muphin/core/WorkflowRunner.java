@@ -1,48 +1,70 @@
 package de.morrigan.dev.muphin.core;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Ignore;
 import org.junit.internal.AssumptionViolatedException;
-import org.junit.internal.MethodSorter;
 import org.junit.internal.runners.model.EachTestNotifier;
 import org.junit.internal.runners.model.ReflectiveCallable;
 import org.junit.internal.runners.statements.Fail;
-import org.junit.internal.runners.statements.InvokeMethod;
 import org.junit.runner.Description;
 import org.junit.runner.Runner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.Filterable;
 import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Suite;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
-import org.reflections.Reflections;
-import org.reflections.ReflectionsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.InstanceScope;
+import de.morrigan.dev.muphin.core.annotation.Scoped;
+import de.morrigan.dev.muphin.core.annotation.TestInstance;
+import de.morrigan.dev.muphin.core.annotation.WorkflowSuite;
 import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+import de.morrigan.dev.muphin.core.exception.MuphinFailureException;
+import de.morrigan.dev.muphin.core.execution.BoundedExecutor;
+import de.morrigan.dev.muphin.core.execution.ExecutorBackend;
+import de.morrigan.dev.muphin.core.execution.SharedPhases;
+import de.morrigan.dev.muphin.core.index.ClasspathScanner;
+import de.morrigan.dev.muphin.core.index.DiscoveryCache;
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+import de.morrigan.dev.muphin.core.invoke.InvokeMethodHandle;
+import de.morrigan.dev.muphin.core.invoke.InvokerCache;
+import de.morrigan.dev.muphin.core.invoke.ThreadInstances;
+import de.morrigan.dev.muphin.core.invoke.WorkflowFixtures;
+import de.morrigan.dev.muphin.core.jfr.FlightRecorderEvents;
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.Metrics;
+import de.morrigan.dev.muphin.core.metrics.MetricsListener;
+import de.morrigan.dev.muphin.core.metrics.MetricsSummary;
 import de.morrigan.dev.muphin.core.phase.AbstractPhase;
-import de.morrigan.dev.muphin.core.phase.NoPhase;
-import de.morrigan.dev.muphin.core.phase.SetupPhase;
-import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.muphin.core.plan.ExecutionPlan;
+import de.morrigan.dev.muphin.core.plan.ExecutionPlanBuilder;
+import de.morrigan.dev.muphin.core.plan.HookPlan;
+import de.morrigan.dev.muphin.core.plan.PhasePlan;
+import de.morrigan.dev.muphin.core.plan.PhaseTrie;
+import de.morrigan.dev.muphin.core.plan.WorkflowPlan;
 import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
 
 /**
@@ -64,7 +86,8 @@ import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
  * <p>
  * <b>Filtered variant</b><br>
  * Use the runner on a test class, to run only this test class or a single test method from this test class. In this
- * variant, the complete workflow of the test class is run through, but only the filtered test methods are called.
+ * variant, the workflow of the test class is run through up to the phase of the last filtered test method, but only
+ * the filtered test methods are called.
  *
  * <pre>
  * &#64;RunWith(WorkflowRunner.class)
@@ -78,41 +101,189 @@ import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
  *   }
  * }
  * </pre>
+ * <p>
+ * <b>Configuration</b><br>
+ * A {@link WorkflowSuite} annotation on the suite configures the search for test classes, parallel workflows and
+ * phases, shared prefixes, checkpoints and metrics, see {@link RunConfiguration}. A runner with a
+ * {@link MuphinContext} of its own can run at the same time as other runners in the same JVM.
  *
  * @author morrigan
  * @since 0.0.1
  */
 public class WorkflowRunner extends Runner implements Filterable {
 
-  private interface Callback {
-    default void workflow(AbstractWorkflow workflow) {}
+  /**
+   * The result of a single phase slot of a workflow.
+   */
+  private enum PhaseResult {
+
+    /** The action of the phase and all its test methods were successful */
+    SUCCESSFUL,
+
+    /** The action of the phase was successful, but at least one of its test methods failed */
+    TESTS_FAILED,
+
+    /** The action of the phase failed, so that all further phases of the workflow are skipped */
+    FAILED,
+
+    /** The phase and its test methods were not run, because a previous phase failed */
+    SKIPPED,
+
+    /** The phase was not run, because none of the selected test methods requires it */
+    NOT_REQUIRED
+  }
+
+  /**
+   * Holds everything that is shared between the workflows of a single run.
+   */
+  private static final class RunContext implements AutoCloseable {
+
+    private final MuphinSession session;
+    private final RunNotifier notifier;
+    private final BoundedExecutor hookExecutor;
+    private final BoundedExecutor phaseExecutor;
+    private final SharedPhases sharedPhases = new SharedPhases();
+    private final CheckpointStore checkpoints;
+    private final boolean resume;
+    private final boolean tearDownOnFailure;
+    private final MetricsSummary summary = new MetricsSummary();
+    private final Metrics metrics;
+    private final ThreadInstances threadInstances = new ThreadInstances();
+
+    private RunContext(ExecutionPlan executionPlan, RunConfiguration configuration, MuphinSession session,
+        RunNotifier notifier, ClassLoader classLoader) {
+      this.session = session;
+      this.notifier = notifier;
+      this.checkpoints = configuration.getCheckpointDirectory()
+          .map(directory -> new CheckpointStore(directory, classLoader))
+          .orElse(null);
+      this.resume = configuration.isResume();
+      this.tearDownOnFailure = configuration.isTearDownOnFailure();
+      List<MetricsListener> listeners = new ArrayList<>();
+      listeners.add(this.summary);
+      for (Class<? extends MetricsListener> listenerClass : configuration.getMetricsListeners()) {
+        listeners.add(createMetricsListener(listenerClass));
+      }
+      this.metrics = new Metrics(listeners);
+      this.hookExecutor = executionPlan.hasConcurrentHooks()
+          ? createExecutor(configuration, configuration.getHookParallelism(), "muphin-hook-")
+          : null;
+      this.phaseExecutor = executionPlan.isSequential()
+          ? null
+          : createExecutor(configuration, configuration.getPhaseParallelism(), "muphin-phase-");
+    }
+
+    private static MetricsListener createMetricsListener(Class<? extends MetricsListener> listenerClass) {
+      try {
+        return (MetricsListener) INVOKERS.newInstance(listenerClass);
+      } catch (Exception e) {
+        throw new IllegalArgumentException(StringUtils.join("The metrics listener ", listenerClass.getName(),
+            " can't be created."), e);
+      }
+    }
 
-    default void phase(AbstractPhase phase) {}
+    private static BoundedExecutor createExecutor(RunConfiguration configuration, int parallelism,
+        String threadNamePrefix) {
+      if (parallelism <= 1) {
+        return null;
+      }
+      LOG.info("Use {} {} threads for {}", parallelism, configuration.getExecutor(), threadNamePrefix);
+      return new BoundedExecutor(configuration.getExecutor(), parallelism, threadNamePrefix);
+    }
 
-    default void runBeforePhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {}
+    // Also called if the run is aborted by an exception, so that the listeners can always finish their output
+    @Override
+    public void close() {
+      this.threadInstances.close();
+      if (this.hookExecutor != null) {
+        this.hookExecutor.close();
+      }
+      if (this.phaseExecutor != null) {
+        this.phaseExecutor.close();
+      }
+      this.metrics.runFinished();
+    }
+  }
 
-    default void runPhase(AbstractWorkflow workflow, AbstractPhase phase) {}
+  /**
+   * Holds the state of a workflow whose leading phases are shared with other workflows.
+   */
+  private static final class SharingWorkflow {
+
+    private final WorkflowFixtures fixtures = new WorkflowFixtures();
+    private String name;
+    private Measurement measurement;
+    private Object event;
+
+    // Starts when the first phase of the workflow is executed
+    private void start(WorkflowPlan workflowPlan, RunContext context) {
+      this.name = workflowPlan.getWorkflow().getName();
+      this.measurement = context.metrics.start(Measurement.Type.WORKFLOW, this.name);
+      this.event = FlightRecorderEvents.beginWorkflow();
+    }
 
-    default void runAfterPhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {}
+    // Finishes after the last phase of the workflow, or for all workflows if the run is aborted
+    private void finish(RunContext context) {
+      this.fixtures.close();
+      if (this.measurement != null) {
+        FlightRecorderEvents.commitWorkflow(this.event, this.name);
+        context.metrics.stop(this.measurement);
+        this.measurement = null;
+        this.event = null;
+      }
+    }
   }
 
   private static final Logger LOG = LoggerFactory.getLogger(WorkflowRunner.class);
 
-  private static final InstanceManager INSTANCES = InstanceManager.getInstance();
+  private static final InvokerCache INVOKERS = InvokerCache.getInstance();
+
+  private static final ClassValue<InstanceScope> SCOPES = new ClassValue<InstanceScope>() {
+
+    @Override
+    protected InstanceScope computeValue(Class<?> type) {
+      Scoped scoped = type.getAnnotation(Scoped.class);
+      return scoped == null ? InstanceScope.SINGLETON : scoped.value();
+    }
+  };
 
   private final Lock childrenLock = new ReentrantLock();
   private TestClass testClass;
-  private int testClassesAmount;
+  private final MuphinContext muphinContext;
 
-  // Guarded by childrenLock
-  private Map<String, Map<String, List<FrameworkMethod>>> filteredChildren;
+  // Only written under childrenLock, read without the lock through the volatile field (see getPlan)
+  private volatile ExecutionPlan plan;
 
   private final ConcurrentMap<FrameworkMethod, Description> methodDescriptions = new ConcurrentHashMap<>();
 
+  // The shared test instances of the workflow that is currently run by a thread
+  private final ThreadLocal<WorkflowFixtures> currentFixtures = new ThreadLocal<>();
+
+  // The result of the test method that is currently run by a thread, set to false by a failure
+  private final ThreadLocal<AtomicBoolean> currentHookResult = new ThreadLocal<>();
+
+  /**
+   * Creates a runner that uses the {@link MuphinContext#getDefault() default context}.
+   *
+   * @param testClass a test suite or a test class of a workflow
+   * @since 0.0.1
+   */
   public WorkflowRunner(Class<?> testClass) {
+    this(testClass, MuphinContext.getDefault());
+  }
+
+  /**
+   * Creates a runner whose workflows, phases and session data are held in the given context.
+   *
+   * @param testClass a test suite or a test class of a workflow
+   * @param muphinContext a context that is only used by this runner, e.g. a {@link MuphinContext#create() new one}
+   * @since 0.0.1
+   */
+  public WorkflowRunner(Class<?> testClass, MuphinContext muphinContext) {
     super();
 
     this.testClass = new TestClass(testClass);
+    this.muphinContext = muphinContext;
   }
 
   /**
@@ -122,46 +293,21 @@ public class WorkflowRunner extends Runner implements Filterable {
     return this.testClass;
   }
 
+  /**
+   * @return the context in which this runner holds its workflows, phases and session data
+   * @since 0.0.1
+   */
+  public MuphinContext getMuphinContext() {
+    return this.muphinContext;
+  }
+
   /**
    * @return a {@link Description} showing the tests to be run by the receiver
    * @since 0.0.1
    */
   @Override
   public Description getDescription() {
-    Class<?> clazz = getTestClass().getJavaClass();
-    Description description;
-    description = Description.createSuiteDescription(clazz, this.testClass.getAnnotations());
-
-    iterateThroughChildren(getFilteredChildren(), new Callback() {
-      private Description workflowDescription;
-      private Description phaseDescription;
-
-      @Override
-      public void workflow(AbstractWorkflow workflow) {
-        this.workflowDescription = Description.createTestDescription(workflow.getClass(),
-            workflow.getClass().getSimpleName());
-        description.addChild(this.workflowDescription);
-      }
-
-      @Override
-      public void phase(AbstractPhase phase) {
-        this.phaseDescription = Description.createTestDescription(phase.getClass(),
-            phase.getClass().getSimpleName());
-        this.workflowDescription.addChild(this.phaseDescription);
-      }
-
-      @Override
-      public void runBeforePhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-        this.phaseDescription.addChild(describeChild(method));
-      }
-
-      @Override
-      public void runAfterPhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-        this.phaseDescription.addChild(describeChild(method));
-      }
-    });
-
-    return description;
+    return getPlan().getDescription();
   }
 
   /**
@@ -173,42 +319,33 @@ public class WorkflowRunner extends Runner implements Filterable {
   @Override
   public void run(RunNotifier notifier) {
     printMuphin();
-    Map<String, Map<String, List<FrameworkMethod>>> children = getFilteredChildren();
-    LOG.info("{} workflow{} in {} test class{} found.", children.size(), children.size() > 1 ? "s" : "",
-        this.testClassesAmount, this.testClassesAmount > 1 ? "es" : "");
-    MuphinSession session = MuphinSession.getInstance();
-    iterateThroughChildren(children, new Callback() {
-
-      @Override
-      public void workflow(AbstractWorkflow workflow) {
-        session.setCurrentWorkflow(workflow);
-        printWorkflowHeader(workflow);
-      }
-
-      @Override
-      public void phase(AbstractPhase phase) {
-        session.setCurrentPhase(phase);
-        printPhaseHeader(phase);
-      }
-
-      @Override
-      public void runPhase(AbstractWorkflow workflow, AbstractPhase phase) {
-        LOG.info("Execute all actions of the current phase");
-        phase.execute();
-      }
-
-      @Override
-      public void runBeforePhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-        LOG.info("Run before test: {}", method);
-        runChild(method, notifier);
-      }
-
-      @Override
-      public void runAfterPhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-        LOG.info("Run after test: {}", method);
-        runChild(method, notifier);
+    ExecutionPlan executionPlan = getPlan();
+    int workflowCount = executionPlan.getBoundWorkflowCount();
+    int testClassesAmount = executionPlan.getTestClassesAmount();
+    LOG.info("{} workflow{} in {} test class{} found.", workflowCount, workflowCount > 1 ? "s" : "",
+        testClassesAmount, testClassesAmount > 1 ? "es" : "");
+    MuphinSession session = this.muphinContext.getSession();
+    RunConfiguration configuration = RunConfiguration.of(this.testClass.getJavaClass());
+    int parallelism = Math.min(configuration.getParallelism(), executionPlan.getWorkflowCount());
+    MuphinContext previousContext = MuphinContext.setCurrent(this.muphinContext);
+    try (RunContext context = new RunContext(executionPlan, configuration, session, notifier,
+        getClassLoader())) {
+      if (configuration.isSharePrefixes()) {
+        if (parallelism > 1) {
+          LOG.warn("Workflows that share their leading phases are run one after another, the parallelism {} is ignored",
+              parallelism);
+        }
+        runPrefixTree(executionPlan, context);
+      } else if (parallelism > 1) {
+        runWorkflowsInParallel(executionPlan, configuration.getExecutor(), parallelism, context);
+      } else {
+        for (int w = 0; w < executionPlan.getWorkflowCount(); w++) {
+          runWorkflow(executionPlan.getWorkflow(w), context);
+        }
       }
-    });
+    } finally {
+      MuphinContext.setCurrent(previousContext);
+    }
     session.setCurrentWorkflow(null);
     session.setCurrentPhase(null);
   }
@@ -224,35 +361,7 @@ public class WorkflowRunner extends Runner implements Filterable {
   public void filter(Filter filter) throws NoTestsRemainException {
     this.childrenLock.lock();
     try {
-      Map<String, Map<String, List<FrameworkMethod>>> children = getFilteredChildren();
-      iterateThroughChildren(children, new Callback() {
-
-        @Override
-        public void runBeforePhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-          filter(filter, method, iter);
-        }
-
-        @Override
-        public void runAfterPhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-          filter(filter, method, iter);
-        }
-
-        private void filter(Filter filter, FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-          if (shouldRun(filter, method)) {
-            try {
-              filter.apply(method);
-            } catch (NoTestsRemainException e) {
-              iter.remove();
-            }
-          } else {
-            iter.remove();
-          }
-        }
-      });
-      this.filteredChildren = Collections.unmodifiableMap(children);
-      if (getFrameworkMethods(this.filteredChildren).isEmpty()) {
-        throw new NoTestsRemainException();
-      }
+      this.plan = getPlan().filter(filter);
     } finally {
       this.childrenLock.unlock();
     }
@@ -300,24 +409,19 @@ public class WorkflowRunner extends Runner implements Filterable {
   }
 
   /**
-   * Runs a test method.
+   * Runs a test method. Every test method of a workflow is run through this method, so a subclass can override it to
+   * wrap the execution of each test method.
    *
    * @param method a test method to execute
    * @param notifier a notifier of this test run
    * @since 0.0.1
    */
   protected void runChild(final FrameworkMethod method, RunNotifier notifier) {
-    Description description = describeChild(method);
-    if (isIgnored(method)) {
-      notifier.fireTestIgnored(description);
-    } else {
-      Statement statement = new Statement() {
-        @Override
-        public void evaluate() throws Throwable {
-          methodBlock(method).evaluate();
-        }
-      };
-      runLeaf(statement, description, notifier);
+    if (!runChild(method, describeChild(method), notifier)) {
+      AtomicBoolean hookResult = this.currentHookResult.get();
+      if (hookResult != null) {
+        hookResult.set(false);
+      }
     }
   }
 
@@ -329,7 +433,7 @@ public class WorkflowRunner extends Runner implements Filterable {
    * @since 0.0.1
    */
   protected Object createTest(FrameworkMethod method) throws Exception {
-    return method.getDeclaringClass().getConstructor().newInstance();
+    return INVOKERS.newInstance(method.getDeclaringClass());
   }
 
   protected Statement methodBlock(final FrameworkMethod method) {
@@ -338,7 +442,7 @@ public class WorkflowRunner extends Runner implements Filterable {
       test = new ReflectiveCallable() {
         @Override
         protected Object runReflectiveCall() throws Throwable {
-          return createTest(method);
+          return getTest(method);
         }
       }.run();
     } catch (Throwable e) {
@@ -356,7 +460,7 @@ public class WorkflowRunner extends Runner implements Filterable {
    * @since 0.0.1
    */
   protected Statement methodInvoker(FrameworkMethod method, Object test) {
-    return new InvokeMethod(method, test);
+    return new InvokeMethodHandle(INVOKERS.getMethod(method.getMethod()), test);
   }
 
   /**
@@ -369,161 +473,551 @@ public class WorkflowRunner extends Runner implements Filterable {
     return method.getAnnotation(Ignore.class) != null;
   }
 
-  private List<FrameworkMethod> getFrameworkMethods(Map<String, Map<String, List<FrameworkMethod>>> children) {
-    List<FrameworkMethod> frameworkMethods = new ArrayList<>();
-    iterateThroughChildren(children, new Callback() {
-
-      @Override
-      public void runBeforePhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-        frameworkMethods.add(method);
+  private void runWorkflowsInParallel(ExecutionPlan executionPlan, ExecutorBackend backend, int parallelism,
+      RunContext context) {
+    LOG.info("Run {} workflows on {} {} threads in parallel", executionPlan.getWorkflowCount(), parallelism, backend);
+    try (BoundedExecutor executor = new BoundedExecutor(backend, parallelism, "muphin-workflow-")) {
+      List<Future<?>> futures = new ArrayList<>(executionPlan.getWorkflowCount());
+      for (int w = 0; w < executionPlan.getWorkflowCount(); w++) {
+        WorkflowPlan workflowPlan = executionPlan.getWorkflow(w);
+        futures.add(executor.submit(() -> runWorkflow(workflowPlan, context)));
       }
+      BoundedExecutor.awaitAll(futures);
+    }
+  }
 
-      @Override
-      public void runAfterPhase(FrameworkMethod method, Iterator<FrameworkMethod> iter) {
-        frameworkMethods.add(method);
+  private void runPrefixTree(ExecutionPlan executionPlan, RunContext context) {
+    List<WorkflowPlan> sharingWorkflows = new ArrayList<>();
+    for (int w = 0; w < executionPlan.getWorkflowCount(); w++) {
+      WorkflowPlan workflowPlan = executionPlan.getWorkflow(w);
+      if (workflowPlan.isTestClassesBound() && workflowPlan.isSequential()) {
+        sharingWorkflows.add(workflowPlan);
+      } else {
+        runWorkflow(workflowPlan, context);
       }
-    });
-    return frameworkMethods;
+    }
+    PhaseTrie trie = PhaseTrie.of(sharingWorkflows);
+    LOG.info("Run {} workflows with {} instead of {} phase executions", sharingWorkflows.size(), trie.getNodeCount(),
+        trie.getPhaseSlotCount());
+    Map<WorkflowPlan, SharingWorkflow> workflows = new HashMap<>();
+    sharingWorkflows.forEach(workflowPlan -> workflows.put(workflowPlan, new SharingWorkflow()));
+    try {
+      runBranches(trie.getRoots(), false, workflows, context);
+    } finally {
+      workflows.values().forEach(workflow -> workflow.finish(context));
+    }
   }
 
-  private void iterateThroughChildren(Map<String, Map<String, List<FrameworkMethod>>> children, Callback callback) {
+  private void runBranches(List<PhaseTrie.Node> nodes, boolean failed, Map<WorkflowPlan, SharingWorkflow> workflows,
+      RunContext context) {
+    if (nodes.size() <= 1 || failed) {
+      nodes.forEach(node -> runNode(node, failed, workflows, context));
+      return;
+    }
     /*
-     * Reduces complexity for several methods that iterates through the filteredChildren. This methods only have to
-     * implement the needed callback methods.
+     * The workflows diverge at this point. Each branch has to start with the state that was reached so far, so the
+     * state is saved once and restored before each further branch.
      */
-    for (AbstractWorkflow workflow : INSTANCES.getWorkflows()) {
-      callback.workflow(workflow);
-      List<AbstractPhase> phases = getPhases(workflow);
-      for (AbstractPhase phase : phases) {
-        callback.phase(phase);
-        Map<String, List<FrameworkMethod>> workflowChildren = children.get(workflow.getName());
-        if (workflowChildren != null) {
-          for (Iterator<FrameworkMethod> iter = getIterator(workflowChildren, beforePhaseKey(phase)); iter.hasNext();) {
-            FrameworkMethod testMethod = iter.next();
-            callback.runBeforePhase(testMethod, iter);
-          }
-          callback.runPhase(workflow, phase);
-          for (Iterator<FrameworkMethod> iter = getIterator(workflowChildren, afterPhaseKey(phase)); iter.hasNext();) {
-            FrameworkMethod testMethod = iter.next();
-            callback.runAfterPhase(testMethod, iter);
-          }
+    try (SessionSnapshot snapshot = SessionSnapshot.take(context.session)) {
+      for (int i = 0; i < nodes.size(); i++) {
+        if (i > 0) {
+          snapshot.restore();
         }
+        runNode(nodes.get(i), false, workflows, context);
       }
     }
   }
 
-  private Iterator<FrameworkMethod> getIterator(Map<String, List<FrameworkMethod>> childrenOfWorkflow, String key) {
-    List<FrameworkMethod> methods = childrenOfWorkflow.get(key);
-    if (methods == null) {
-      methods = new ArrayList<>();
+  private void runNode(PhaseTrie.Node node, boolean failed, Map<WorkflowPlan, SharingWorkflow> workflows,
+      RunContext context) {
+    if (node.getDepth() == 0) {
+      for (WorkflowPlan workflowPlan : node.getWorkflows()) {
+        printWorkflowHeader(workflowPlan.getWorkflow());
+        workflows.get(workflowPlan).start(workflowPlan, context);
+      }
+    }
+    AbstractPhase phase = node.getPhase();
+    boolean nodeFailed = failed;
+    // The workflow data of a node is visible to all nodes below it, like the state of its phases
+    WorkflowPlan firstWorkflow = node.getWorkflows().get(0);
+    SessionPartition nodePartition = context.session.enter(DataScope.WORKFLOW, firstWorkflow.getWorkflow(), null);
+    try {
+      if (node.getWorkflows().stream().noneMatch(workflowPlan -> workflowPlan.isPhaseRequired(node.getDepth()))) {
+        LOG.info("Skip the phase '{}', because no selected test requires it", phase.getName());
+      } else if (failed && !(node.getChildren().isEmpty() && context.tearDownOnFailure)) {
+        node.getWorkflows().forEach(workflowPlan -> skipPhase(workflowPlan.getPhase(node.getDepth()), context));
+      } else {
+        // The action is executed once for all workflows of the node, so it uses the scoped instances of the first one
+        WorkflowFixtures fixtures = workflows.get(firstWorkflow).fixtures;
+        phase = getScopedInstance(phase, fixtures, context);
+        AbstractWorkflow workflow = getScopedInstance(firstWorkflow.getWorkflow(), fixtures, context);
+        context.session.setCurrentPhase(phase);
+        SessionPartition phasePartition = context.session.enter(DataScope.PHASE, workflow, phase);
+        try {
+          printPhaseHeader(phase);
+          runNodeHooks(node, true, workflows, phasePartition, context);
+          LOG.info("Execute all actions of the current phase for {} workflow(s)", node.getWorkflows().size());
+          context.session.setCurrentWorkflow(workflow);
+          MuphinFailureException failure = executePhase(workflow, phase, context);
+          if (failure == null) {
+            runNodeHooks(node, false, workflows, phasePartition, context);
+          } else {
+            nodeFailed = true;
+            for (WorkflowPlan workflowPlan : node.getWorkflows()) {
+              reportPhaseFailure(workflowPlan.getPhase(node.getDepth()), failure, context);
+            }
+          }
+        } finally {
+          context.session.leave(phasePartition);
+        }
+      }
+      for (WorkflowPlan workflowPlan : node.getWorkflows()) {
+        if (workflowPlan.getPhaseCount() == node.getDepth() + 1) {
+          workflows.get(workflowPlan).finish(context);
+        }
+      }
+      runBranches(node.getChildren(), nodeFailed, workflows, context);
+    } finally {
+      context.session.leave(nodePartition);
     }
-    return methods.iterator();
   }
 
-  private Map<String, Map<String, List<FrameworkMethod>>> getFilteredChildren() {
-    if (this.filteredChildren == null) {
-      this.childrenLock.lock();
+  private void runNodeHooks(PhaseTrie.Node node, boolean before, Map<WorkflowPlan, SharingWorkflow> workflows,
+      SessionPartition phasePartition, RunContext context) {
+    for (WorkflowPlan workflowPlan : node.getWorkflows()) {
+      WorkflowFixtures fixtures = workflows.get(workflowPlan).fixtures;
+      AbstractWorkflow workflow = getScopedInstance(workflowPlan.getWorkflow(), fixtures, context);
+      context.session.setCurrentWorkflow(workflow);
+      this.currentFixtures.set(fixtures);
+      // The test methods of each workflow see their own workflow, but share the data of the phase
+      SessionPartition previousPartition = context.session.setPartition(phasePartition.withWorkflow(workflow));
       try {
-        this.filteredChildren = Collections.unmodifiableMap(new HashMap<>(getChildren()));
+        runHooks(workflow, workflowPlan.getPhase(node.getDepth()), before, context);
       } finally {
-        this.childrenLock.unlock();
+        context.session.setPartition(previousPartition);
+        this.currentFixtures.remove();
       }
     }
-    return this.filteredChildren;
   }
 
-  private Map<String, Map<String, List<FrameworkMethod>>> getChildren() {
-    return scanForPhases(scanForWorkflowTestClasses());
+  private void runWorkflow(WorkflowPlan workflowPlan, RunContext context) {
+    WorkflowFixtures fixtures = new WorkflowFixtures();
+    AbstractWorkflow workflow = getScopedInstance(workflowPlan.getWorkflow(), fixtures, context);
+    context.session.setCurrentWorkflow(workflow);
+    printWorkflowHeader(workflow);
+    Measurement measurement = context.metrics.start(Measurement.Type.WORKFLOW, workflow.getName());
+    Object event = FlightRecorderEvents.beginWorkflow();
+    this.currentFixtures.set(fixtures);
+    MuphinContext previousContext = MuphinContext.setCurrent(this.muphinContext);
+    SessionPartition partition = context.session.enter(DataScope.WORKFLOW, workflow, null);
+    try {
+      if (context.checkpoints != null && workflowPlan.isTestClassesBound() && workflowPlan.isSequential()) {
+        runWithCheckpoints(workflowPlan, context);
+      } else if (workflowPlan.isSequential() || context.phaseExecutor == null) {
+        boolean failed = false;
+        for (int p = 0; p < workflowPlan.getPhaseCount(); p++) {
+          failed |= runOrSkipPhase(workflowPlan, p, failed, context) == PhaseResult.FAILED;
+        }
+      } else {
+        runPhaseGraph(workflowPlan, fixtures, context);
+      }
+    } finally {
+      context.session.leave(partition);
+      MuphinContext.setCurrent(previousContext);
+      this.currentFixtures.remove();
+      fixtures.close();
+      FlightRecorderEvents.commitWorkflow(event, workflow.getName());
+      context.metrics.stop(measurement);
+    }
   }
 
-  private Set<Class<?>> scanForWorkflowTestClasses() {
-    Set<Class<?>> workflowTestClasses = new HashSet<>();
-    WorkflowTest annotation = this.testClass.getJavaClass().getAnnotation(WorkflowTest.class);
-    if (annotation == null) {
-      Reflections refUtil = new Reflections("");
-      try {
-        workflowTestClasses.addAll(refUtil.getTypesAnnotatedWith(WorkflowTest.class));
-      } catch (ReflectionsException e) {
-        throw new IllegalStateException("An error occurs while scanning classpath for test classes", e);
+  private void runWithCheckpoints(WorkflowPlan workflowPlan, RunContext context) {
+    /*
+     * A checkpoint is written after each phase whose action and test methods were successful. After the first failure,
+     * no further checkpoints are written, so that a resumed run starts again at the failed phase.
+     */
+    Class<? extends AbstractWorkflow> workflowClass = workflowPlan.getWorkflow().getClass();
+    String fingerprint = CheckpointStore.fingerprint(getFingerprintClasses(workflowPlan), getClassLoader());
+    int firstPhase = 0;
+    if (context.resume) {
+      Optional<CheckpointStore.Checkpoint> checkpoint = context.checkpoints.load(workflowClass, fingerprint);
+      if (checkpoint.isPresent()) {
+        firstPhase = Math.min(checkpoint.get().getCompletedPhases(), workflowPlan.getPhaseCount());
+        checkpoint.get().restore(context.session);
+        LOG.info("Resume the workflow at phase {} of {}, skip all completed phases and their tests", firstPhase + 1,
+            workflowPlan.getPhaseCount());
       }
-    } else {
-      workflowTestClasses.add(this.testClass.getJavaClass());
     }
-    this.testClassesAmount = workflowTestClasses.size();
-    return workflowTestClasses;
+    for (int p = 0; p < firstPhase; p++) {
+      fireHooksIgnored(workflowPlan.getPhase(p), true, context.notifier);
+      fireHooksIgnored(workflowPlan.getPhase(p), false, context.notifier);
+    }
+    boolean successful = true;
+    boolean failed = false;
+    for (int p = firstPhase; p < workflowPlan.getPhaseCount(); p++) {
+      PhaseResult result = runOrSkipPhase(workflowPlan, p, failed, context);
+      failed |= result == PhaseResult.FAILED;
+      successful &= result == PhaseResult.SUCCESSFUL;
+      if (successful) {
+        context.checkpoints.save(workflowClass, fingerprint, p + 1, context.session);
+      }
+    }
+    if (successful) {
+      context.checkpoints.delete(workflowClass);
+    }
   }
 
-  private Map<String, Map<String, List<FrameworkMethod>>> scanForPhases(Set<Class<?>> workflowTestClasses) {
-    Map<String, Map<String, List<FrameworkMethod>>> children = new HashMap<>();
+  // All test classes of the workflow are used, so that a filtered run still matches the checkpoint of a full run
+  private Set<Class<?>> getFingerprintClasses(WorkflowPlan workflowPlan) {
+    Set<Class<?>> classes = new HashSet<>(workflowPlan.getTestClasses());
+    classes.add(workflowPlan.getWorkflow().getClass());
+    for (int p = 0; p < workflowPlan.getPhaseCount(); p++) {
+      classes.add(workflowPlan.getPhase(p).getPhase().getClass());
+    }
+    return classes;
+  }
 
-    /* Each test method is assigned to a workflow and a phase. Therefore, all workflow test classes must be searched
-     * first. Then the @Phase annotation can be used to collect the test methods belonging to this workflow and assign
-     * them to their phase.
-     * A distinction must be made between test methods that are executed before a phase and test methods that are
-     * executed after a phase.
+  private void runPhaseGraph(WorkflowPlan workflowPlan, WorkflowFixtures fixtures, RunContext context) {
+    /*
+     * Each phase slot is started as soon as all its prerequisites are finished. If a phase fails, all phases that
+     * depend on it are skipped, like all further phases of a sequential run.
      */
-    for (Class<?> workflowTestClass : workflowTestClasses) {
-      WorkflowTest annotation = workflowTestClass.getAnnotation(WorkflowTest.class);
-      AbstractWorkflow workflow = INSTANCES.getWorkflow(annotation.value());
-      children.compute(workflow.getName(), (key, value) -> {
-        if (value == null) {
-          value = new HashMap<>();
+    SessionPartition workflowPartition = context.session.getPartition();
+    List<CompletableFuture<PhaseResult>> phases = new ArrayList<>(workflowPlan.getPhaseCount());
+    for (int p = 0; p < workflowPlan.getPhaseCount(); p++) {
+      List<CompletableFuture<PhaseResult>> prerequisites = new ArrayList<>(workflowPlan.getPrerequisiteCount(p));
+      for (int i = 0; i < workflowPlan.getPrerequisiteCount(p); i++) {
+        prerequisites.add(phases.get(workflowPlan.getPrerequisite(p, i)));
+      }
+      int slot = p;
+      CompletableFuture<Void> ready = CompletableFuture.allOf(prerequisites.toArray(new CompletableFuture<?>[0]));
+      phases.add(ready.thenApplyAsync(ignored -> {
+        boolean failed = false;
+        for (CompletableFuture<PhaseResult> prerequisite : prerequisites) {
+          PhaseResult result = prerequisite.join();
+          failed |= result == PhaseResult.FAILED || result == PhaseResult.SKIPPED;
         }
+        this.currentFixtures.set(fixtures);
+        MuphinContext previousContext = MuphinContext.setCurrent(this.muphinContext);
+        SessionPartition previousPartition = context.session.setPartition(workflowPartition);
+        try {
+          return runOrSkipPhase(workflowPlan, slot, failed, context);
+        } finally {
+          context.session.setPartition(previousPartition);
+          MuphinContext.setCurrent(previousContext);
+          this.currentFixtures.remove();
+        }
+      }, context.phaseExecutor::submit));
+    }
+    BoundedExecutor.awaitAll(phases);
+  }
 
-        Method[] methods = MethodSorter.getDeclaredMethods(workflowTestClass);
-        for (Method method : methods) {
-          Phase phaseAnnotation = method.getAnnotation(Phase.class);
-          if (phaseAnnotation != null) {
-            computePhases(value, method, phaseAnnotation, true);
-            computePhases(value, method, phaseAnnotation, false);
+  private PhaseResult runOrSkipPhase(WorkflowPlan workflowPlan, int slot, boolean failed, RunContext context) {
+    if (!workflowPlan.isPhaseRequired(slot)) {
+      LOG.info("Skip the phase '{}', because no selected test requires it",
+          workflowPlan.getPhase(slot).getPhase().getName());
+      return PhaseResult.NOT_REQUIRED;
+    }
+    boolean tearDown = slot == workflowPlan.getPhaseCount() - 1;
+    if (failed && !(tearDown && context.tearDownOnFailure)) {
+      skipPhase(workflowPlan.getPhase(slot), context);
+      return PhaseResult.SKIPPED;
+    }
+    return runPhase(workflowPlan, workflowPlan.getPhase(slot), context);
+  }
+
+  private PhaseResult runPhase(WorkflowPlan workflowPlan, PhasePlan phasePlan, RunContext context) {
+    WorkflowFixtures fixtures = this.currentFixtures.get();
+    AbstractPhase phase = getScopedInstance(phasePlan.getPhase(), fixtures, context);
+    context.session.setCurrentPhase(phase);
+    printPhaseHeader(phase);
+    if (!workflowPlan.isTestClassesBound()) {
+      return PhaseResult.SUCCESSFUL;
+    }
+    AbstractWorkflow workflow = getScopedInstance(workflowPlan.getWorkflow(), fixtures, context);
+    SessionPartition partition = context.session.enter(DataScope.PHASE, workflow, phase);
+    try {
+      boolean testsSuccessful = runHooks(workflow, phasePlan, true, context);
+      LOG.info("Execute all actions of the current phase");
+      MuphinFailureException failure = executePhase(workflow, phase, context);
+      if (failure != null) {
+        reportPhaseFailure(phasePlan, failure, context);
+        return PhaseResult.FAILED;
+      }
+      testsSuccessful &= runHooks(workflow, phasePlan, false, context);
+      return testsSuccessful ? PhaseResult.SUCCESSFUL : PhaseResult.TESTS_FAILED;
+    } finally {
+      context.session.leave(partition);
+    }
+  }
+
+  private MuphinFailureException executePhase(AbstractWorkflow workflow, AbstractPhase phase, RunContext context) {
+    Measurement measurement = context.metrics.start(Measurement.Type.PHASE, phase.getName());
+    Object event = FlightRecorderEvents.beginPhase();
+    boolean successful = false;
+    Metrics previousMetrics = Metrics.setCurrent(context.metrics);
+    try {
+      successful = context.sharedPhases.execute(phase);
+      if (successful) {
+        return null;
+      }
+      return new MuphinFailureException("The phase {} reported a failure", phase.getName());
+    } catch (Throwable e) {
+      return new MuphinFailureException(e, "The phase {} failed: {}", phase.getName(), e.getMessage());
+    } finally {
+      Metrics.setCurrent(previousMetrics);
+      FlightRecorderEvents.commitPhase(event, workflow.getName(), phase, successful);
+      context.metrics.stop(measurement);
+    }
+  }
+
+  private void reportPhaseFailure(PhasePlan phasePlan, MuphinFailureException failure, RunContext context) {
+    LOG.error("{}, skip all further phases of the workflow", failure.getMessage());
+    context.notifier.fireTestFailure(new Failure(phasePlan.getDescription(), failure));
+    fireHooksIgnored(phasePlan, false, context.notifier);
+  }
+
+  private void skipPhase(PhasePlan phasePlan, RunContext context) {
+    LOG.info("Skip the phase '{}' and its tests, because a previous phase failed", phasePlan.getPhase().getName());
+    fireHooksIgnored(phasePlan, true, context.notifier);
+    fireHooksIgnored(phasePlan, false, context.notifier);
+  }
+
+  private void fireHooksIgnored(PhasePlan phasePlan, boolean before, RunNotifier notifier) {
+    int hookCount = before ? phasePlan.getBeforeHookCount() : phasePlan.getAfterHookCount();
+    for (int h = 0; h < hookCount; h++) {
+      notifier.fireTestIgnored((before ? phasePlan.getBeforeHook(h) : phasePlan.getAfterHook(h)).getDescription());
+    }
+  }
+
+  private boolean runHooks(AbstractWorkflow workflow, PhasePlan phasePlan, boolean before, RunContext context) {
+    /*
+     * Consecutive concurrent test methods are submitted to the hook executor. They are awaited before the next test
+     * method that is not concurrent and before the phase continues.
+     */
+    AtomicBoolean successful = new AtomicBoolean(true);
+    List<Future<?>> concurrentHooks = null;
+    int hookCount = before ? phasePlan.getBeforeHookCount() : phasePlan.getAfterHookCount();
+    for (int h = 0; h < hookCount; h++) {
+      HookPlan hook = before ? phasePlan.getBeforeHook(h) : phasePlan.getAfterHook(h);
+      LOG.info("Run {} test{}: {}", before ? "before" : "after", hook.isConcurrent() ? " concurrently" : "",
+          hook.getMethod());
+      if (context.hookExecutor != null && hook.isConcurrent()) {
+        if (concurrentHooks == null) {
+          concurrentHooks = new ArrayList<>();
+        }
+        WorkflowFixtures fixtures = this.currentFixtures.get();
+        SessionPartition partition = context.session.getPartition();
+        concurrentHooks.add(context.hookExecutor.submit(() -> {
+          if (!runHook(workflow, phasePlan, hook, before, fixtures, partition, context)) {
+            successful.set(false);
           }
+        }));
+      } else {
+        awaitHooks(concurrentHooks);
+        if (!runHook(workflow, phasePlan, hook, before, context)) {
+          successful.set(false);
+        }
+      }
+    }
+    awaitHooks(concurrentHooks);
+    return successful.get();
+  }
+
+  private void awaitHooks(List<Future<?>> concurrentHooks) {
+    if (concurrentHooks != null) {
+      BoundedExecutor.awaitAll(concurrentHooks);
+      concurrentHooks.clear();
+    }
+  }
+
+  private boolean runHook(AbstractWorkflow workflow, PhasePlan phasePlan, HookPlan hook, boolean before,
+      WorkflowFixtures fixtures, SessionPartition partition, RunContext context) {
+    this.currentFixtures.set(fixtures);
+    MuphinContext previousContext = MuphinContext.setCurrent(this.muphinContext);
+    SessionPartition previousPartition = context.session.setPartition(partition);
+    try {
+      return runHook(workflow, phasePlan, hook, before, context);
+    } finally {
+      context.session.setPartition(previousPartition);
+      MuphinContext.setCurrent(previousContext);
+      this.currentFixtures.remove();
+    }
+  }
+
+  private boolean runHook(AbstractWorkflow workflow, PhasePlan phasePlan, HookPlan hook, boolean before,
+      RunContext context) {
+    Measurement measurement = context.metrics.start(Measurement.Type.HOOK, hook.getDescription().getDisplayName());
+    Object event = FlightRecorderEvents.beginHook();
+    boolean successful = false;
+    AtomicBoolean hookResult = new AtomicBoolean(true);
+    this.currentHookResult.set(hookResult);
+    try {
+      runChild(hook.getMethod(), context.notifier);
+      successful = hookResult.get();
+      return successful;
+    } finally {
+      this.currentHookResult.remove();
+      FlightRecorderEvents.commitHook(event, workflow.getName(), phasePlan.getPhase().getName(),
+          hook.getDescription().getDisplayName(), before, successful);
+      context.metrics.stop(measurement);
+    }
+  }
+
+  private boolean runChild(final FrameworkMethod method, Description description, RunNotifier notifier) {
+    if (isIgnored(method)) {
+      notifier.fireTestIgnored(description);
+      return true;
+    }
+    AtomicBoolean successful = new AtomicBoolean(true);
+    Statement statement = new Statement() {
+      @Override
+      public void evaluate() throws Throwable {
+        try {
+          methodBlock(method).evaluate();
+        } catch (AssumptionViolatedException e) {
+          throw e;
+        } catch (Throwable e) {
+          successful.set(false);
+          throw e;
         }
+      }
+    };
+    runLeaf(statement, description, notifier);
+    return successful.get();
+  }
+
+  private Object getTest(FrameworkMethod method) throws Exception {
+    Class<?> declaringClass = method.getDeclaringClass();
+    WorkflowTest annotation = declaringClass.getAnnotation(WorkflowTest.class);
+    WorkflowFixtures fixtures = this.currentFixtures.get();
+    if (fixtures == null || annotation == null || annotation.instance() != TestInstance.PER_WORKFLOW) {
+      return createTest(method);
+    }
+    return fixtures.get(declaringClass, () -> createTest(method));
+  }
 
-        return value;
-      });
+  // Returns the singleton of the plan or the instance of its class in the scope of its Scoped annotation
+  @SuppressWarnings("unchecked")
+  private <T> T getScopedInstance(T singleton, WorkflowFixtures fixtures, RunContext context) {
+    Class<?> instanceClass = singleton.getClass();
+    InstanceScope scope = SCOPES.get(instanceClass);
+    if (scope == InstanceScope.SINGLETON) {
+      return singleton;
+    }
+    try {
+      if (scope == InstanceScope.PER_THREAD) {
+        return (T) context.threadInstances.get(instanceClass, () -> INVOKERS.newInstance(instanceClass));
+      }
+      return (T) fixtures.get(instanceClass, () -> INVOKERS.newInstance(instanceClass));
+    } catch (Exception e) {
+      throw new IllegalArgumentException(StringUtils.join("Can't create a new instance from ", instanceClass,
+          " in the scope ", scope, ". Please make sure a public default constructor exists."), e);
     }
-    LOG.trace("All test methods on the classpath grouped by workflow and phases: {}", children);
-    return children;
   }
 
-  private void computePhases(Map<String, List<FrameworkMethod>> value, Method method,
-      Phase annotation, boolean before) {
-    Class<? extends AbstractPhase> phaseClass = before ? annotation.beforePhase() : annotation.afterPhase();
-    AbstractPhase phase = INSTANCES.getPhase(phaseClass);
-    if (!ignorePhase(phase)) {
-      String phaseKey = before ? beforePhaseKey(phase) : afterPhaseKey(phase);
-      value.compute(phaseKey, (key, methodsOfPhase) -> {
-        if (methodsOfPhase == null) {
-          methodsOfPhase = new ArrayList<>();
+  private ExecutionPlan getPlan() {
+    if (this.plan == null) {
+      this.childrenLock.lock();
+      try {
+        if (this.plan == null) {
+          this.plan = buildPlan();
         }
-        methodsOfPhase.add(new FrameworkMethod(method));
-        return methodsOfPhase;
-      });
+      } finally {
+        this.childrenLock.unlock();
+      }
     }
+    return this.plan;
   }
 
-  private boolean ignorePhase(AbstractPhase phaseClass) {
-    return phaseClass instanceof NoPhase;
+  private ExecutionPlan buildPlan() {
+    ExecutionPlanBuilder builder = new ExecutionPlanBuilder(this.muphinContext.getInstances(), this::describeChild);
+    scanForWorkflowTestClasses().forEach(builder::addTestClass);
+    Class<?> javaClass = this.testClass.getJavaClass();
+    WorkflowTest annotation = javaClass.getAnnotation(WorkflowTest.class);
+    if (annotation != null && RunConfiguration.of(javaClass).getCheckpointDirectory().isPresent()) {
+      bindOtherTestClasses(builder, annotation.value());
+    }
+    return builder.build(Description.createSuiteDescription(this.testClass.getJavaClass(),
+        this.testClass.getAnnotations()));
   }
 
-  private List<AbstractPhase> getPhases(AbstractWorkflow workflow) {
-    List<AbstractPhase> phases = new ArrayList<>();
-    phases.add(INSTANCES.getPhase(SetupPhase.class));
-    phases.addAll(workflow.getPhases());
-    phases.add(INSTANCES.getPhase(TearDownPhase.class));
-    return phases;
+  private void bindOtherTestClasses(ExecutionPlanBuilder builder, Class<?> workflowClass) {
+    /*
+     * The checkpoint of a single test class has to match the one of a suite with all test classes of the workflow. The
+     * other test classes are only taken from the compiled index and only the ones of the same workflow are loaded, so
+     * that the start of a single test class stays fast.
+     */
+    Optional<WorkflowIndex> index = WorkflowIndex.load(getClassLoader());
+    if (!index.isPresent()) {
+      LOG.debug("No workflow index {} found, only the test class {} is part of the checkpoints",
+          WorkflowIndex.RESOURCE, this.testClass.getName());
+      return;
+    }
+    for (String className : index.get().getClassNames()) {
+      if (ClasspathScanner.readWorkflowClassName(getClassLoader(), className)
+          .filter(workflowClass.getName()::equals)
+          .isPresent()) {
+        builder.bindTestClass(loadClass(className));
+      }
+    }
   }
 
-  private boolean shouldRun(Filter filter, FrameworkMethod each) {
-    return filter.shouldRun(describeChild(each));
+  private Map<Class<?>, Set<String>> scanForWorkflowTestClasses() {
+    Map<Class<?>, Set<String>> workflowTestClasses = new LinkedHashMap<>();
+    Class<?> javaClass = this.testClass.getJavaClass();
+    WorkflowTest annotation = javaClass.getAnnotation(WorkflowTest.class);
+    if (annotation == null) {
+      WorkflowIndex index = loadWorkflowIndex();
+      for (String className : index.getClassNames()) {
+        if (isInSuitePackages(className)) {
+          workflowTestClasses.put(loadClass(className), index.getMethodNames(className));
+        }
+      }
+    } else {
+      workflowTestClasses.put(javaClass, new HashSet<>(WorkflowIndex.phaseMethodNames(javaClass)));
+    }
+    return workflowTestClasses;
+  }
+
+  private WorkflowIndex loadWorkflowIndex() {
+    return createClasspathScanner().discover(ClasspathScanner.getClassPath(getClassLoader()));
+  }
+
+  private ClasspathScanner createClasspathScanner() {
+    WorkflowSuite suite = this.testClass.getJavaClass().getAnnotation(WorkflowSuite.class);
+    if (suite == null) {
+      return new ClasspathScanner(DiscoveryCache.fromSystemProperties());
+    }
+    return new ClasspathScanner(DiscoveryCache.fromSystemProperties(), Arrays.asList(suite.packages()),
+        Arrays.asList(suite.excludeJars()));
   }
 
-  private String beforePhaseKey(AbstractPhase phase) {
-    return StringUtils.join("before ", phase.getName());
+  private boolean isInSuitePackages(String className) {
+    WorkflowSuite suite = this.testClass.getJavaClass().getAnnotation(WorkflowSuite.class);
+    if (suite == null || suite.packages().length == 0) {
+      return true;
+    }
+    for (String packageName : suite.packages()) {
+      if (className.startsWith(StringUtils.appendIfMissing(packageName, "."))) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  private String afterPhaseKey(AbstractPhase phase) {
-    return StringUtils.join("after ", phase.getName());
+  private ClassLoader getClassLoader() {
+    ClassLoader classLoader = this.testClass.getJavaClass().getClassLoader();
+    return classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+  }
+
+  private Class<?> loadClass(String className) {
+    try {
+      return Class.forName(className, false, getClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(StringUtils.join("The test class ", className,
+          " can't be loaded. Please recompile your tests."), e);
+    }
   }
 
   private void printMuphin() {
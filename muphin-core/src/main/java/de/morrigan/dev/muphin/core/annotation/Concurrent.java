@@ -0,0 +1,39 @@
+package de.morrigan.dev.muphin.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+
+/**
+ * Use this annotation to mark test methods that can be run at the same time as other test methods of the same phase.
+ * <p>
+ * The {@link WorkflowRunner} runs all consecutive concurrent test methods before or after a phase in parallel and waits
+ * for all of them before it continues with the next test method or phase. Each test method is still reported on its
+ * own. Only mark test methods that are independent of each other, e.g. read-only checks against a database or files.
+ * Use the annotation on a test class to mark all its test methods.
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;Concurrent
+ * &#64;Phase(afterPhase = MyCustomPhase.class)
+ * public void testMyWorkflowAfterMyCustomPhase() {
+ *   // implement your read-only checks here ...
+ * }
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Target({
+    ElementType.TYPE, ElementType.METHOD
+})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Concurrent {
+
+}
@@ -0,0 +1,38 @@
+package de.morrigan.dev.muphin.core.annotation;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+
+/**
+ * Defines how long an instance of a phase or workflow that is used by the {@link WorkflowRunner} lives.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public enum InstanceScope {
+
+  /**
+   * One instance of the class is held by the {@link InstanceManager} and used by all workflows and threads. This is the
+   * default.
+   *
+   * @since 0.0.1
+   */
+  SINGLETON,
+
+  /**
+   * A new instance of the class is created for each run of a workflow and is used by all its phases and test methods.
+   * If the instance implements {@link AutoCloseable}, it is closed after the {@link TearDownPhase}.
+   *
+   * @since 0.0.1
+   */
+  PER_WORKFLOW_RUN,
+
+  /**
+   * One instance of the class is created for each thread of a test run. If the instance implements
+   * {@link AutoCloseable}, it is closed when the test run is finished.
+   *
+   * @since 0.0.1
+   */
+  PER_THREAD
+}
@@ -0,0 +1,43 @@
+package de.morrigan.dev.muphin.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+/**
+ * Use this annotation to define the {@link InstanceScope} of an {@link AbstractPhase} or {@link AbstractWorkflow}.
+ * Without this annotation, a single instance is shared by all workflows.
+ * <p>
+ * A phase that holds state between its action and the test methods of a workflow should be scoped to the run of the
+ * workflow, so that workflows that are run in parallel don't change the state of each other. The
+ * {@link WorkflowRunner} executes the scoped instance and returns it as the current phase of the session. The instances
+ * are created with the public no-argument constructor of the class.
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * &#64;Scoped(InstanceScope.PER_WORKFLOW_RUN)
+ * public class CreateOrderPhase extends AbstractPhase {
+ *   // implement your phase here ...
+ * }
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scoped {
+
+  /**
+   * @return the scope of the instances of the annotated class
+   * @since 0.0.1
+   */
+  InstanceScope value();
+}
@@ -0,0 +1,38 @@
+package de.morrigan.dev.muphin.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+/**
+ * Use this annotation to mark phases whose action only has to be executed once per run, even if several workflows
+ * contain them.
+ * <p>
+ * The {@link WorkflowRunner} executes a shareable phase for the first workflow that reaches it. All other workflows
+ * reuse its result, or wait for it if the phase is still executing. Phases are distinguished by their
+ * {@link AbstractPhase#getShareKey() share key}, so a phase whose action depends on changing inputs can return a key
+ * derived from these inputs. Only mark phases that are idempotent, e.g. loading master data that all workflows need.
+ * The test methods before and after the phase are still run for each workflow.
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * &#64;Shareable
+ * public class LoadMasterDataPhase extends AbstractPhase {
+ *   // implement your phase here ...
+ * }
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Shareable {
+
+}
@@ -0,0 +1,28 @@
+package de.morrigan.dev.muphin.core.annotation;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+
+/**
+ * Defines how often the {@link WorkflowRunner} creates an instance of a test class.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public enum TestInstance {
+
+  /**
+   * A new instance of the test class is created for each test method. This is the default.
+   *
+   * @since 0.0.1
+   */
+  PER_METHOD,
+
+  /**
+   * One instance of the test class is created for each run of its workflow and is used for all test methods of this
+   * test class. If the instance implements {@link AutoCloseable}, it is closed after the {@link TearDownPhase}.
+   *
+   * @since 0.0.1
+   */
+  PER_WORKFLOW
+}
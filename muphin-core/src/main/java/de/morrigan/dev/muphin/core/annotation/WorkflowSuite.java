@@ -0,0 +1,144 @@
+package de.morrigan.dev.muphin.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.runner.notification.RunNotifier;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.RunConfiguration;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.execution.ExecutorBackend;
+import de.morrigan.dev.muphin.core.index.DiscoveryCache;
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+import de.morrigan.dev.muphin.core.jfr.FlightRecorderEvents;
+import de.morrigan.dev.muphin.core.metrics.MetricsListener;
+import de.morrigan.dev.muphin.core.metrics.MetricsSummary;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.muphin.core.workflow.PhaseGraph;
+
+/**
+ * Use this annotation to configure a test suite that is run by the {@link WorkflowRunner}.
+ * <p>
+ * The test classes are taken from the {@link WorkflowIndex} that is written at compile time. Only classpath entries
+ * without an index are scanned for them, and the results of this scan are kept in a {@link DiscoveryCache}, so that
+ * only changed classpath entries have to be scanned again. The parameter {@code packages} restricts the search for
+ * test classes with a {@link WorkflowTest} annotation to the given packages and their sub packages. The parameter
+ * {@code excludeJars} excludes jar files from the search whose file names match one of the given glob patterns.
+ * <p>
+ * The parameter {@code parallelism} defines how many workflows are run at the same time. Each workflow runs all its
+ * phases and test methods in the usual order on its own thread, so only workflows that are independent of each other
+ * should be run in parallel. A value of {@code 0} uses one thread per available processor. The parameter
+ * {@code executor} selects the kind of threads. With {@link ExecutorBackend#VIRTUAL}, each workflow and all its test
+ * methods run on their own virtual thread and a parallelism of {@code 0} runs all workflows at the same time. The
+ * {@link RunNotifier} of JUnit synchronizes all listeners that are not marked as thread safe, so that the events of the
+ * test methods are still reported correctly.
+ * <p>
+ * The parameter {@code hookParallelism} defines how many test methods with a {@link Concurrent} annotation are run at
+ * the same time. The default {@code 0} uses one thread per available processor, or no limit with virtual threads. In
+ * the same way, the parameter {@code phaseParallelism} defines how many independent phases of a workflow with a
+ * {@link PhaseGraph} are executed at the same time.
+ * <p>
+ * With the parameter {@code sharePrefixes}, workflows that start with the same phases execute these phases only once.
+ * At the phase where the workflows diverge, the data and the registered workspaces of the {@link MuphinSession} are
+ * saved and restored for each branch. All other state, e.g. in a database, is not restored, so only enable it if the
+ * phases keep their state in the session and its workspaces. Workflows are then always run one after another.
+ * <p>
+ * The parameter {@code checkpointDirectory} enables checkpoints. After each successful phase, the progress of a
+ * workflow and the serializable data of the {@link MuphinSession} are stored in this directory. A run with the system
+ * property {@value RunConfiguration#RESUME_PROPERTY} then continues each workflow at the phase that failed. Workflows
+ * with checkpoints don't share their leading phases, so {@code sharePrefixes} is ignored.
+ * <p>
+ * If a phase fails, all further phases of its workflow are skipped, while all other workflows keep going. The parameter
+ * {@code tearDownOnFailure} defines whether the {@link TearDownPhase} is still executed to clean up, which is the
+ * default.
+ * <p>
+ * The wall time, CPU time and allocated bytes of each workflow, phase action and test method are passed to the
+ * listeners of the parameter {@code metricsListeners} and logged as a {@link MetricsSummary} table when all workflows
+ * are finished. The same units are emitted as {@link FlightRecorderEvents} to a running Java Flight Recorder recording.
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * &#64;RunWith(WorkflowRunner.class)
+ * &#64;WorkflowSuite(packages = "de.example.workflows", excludeJars = {
+ *     "junit-*.jar", "log4j-*.jar"
+ * })
+ * public class MyTestSuite {
+ *
+ * }
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Target({
+    ElementType.TYPE
+})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WorkflowSuite {
+
+  /**
+   * @return packages in which test classes are searched, all packages are searched if none is given
+   * @since 0.0.1
+   */
+  String[] packages() default {};
+
+  /**
+   * @return glob patterns of jar file names that are excluded from the search for test classes
+   * @since 0.0.1
+   */
+  String[] excludeJars() default {};
+
+  /**
+   * @return the number of workflows that are run at the same time, {@code 0} for one per available processor
+   * @since 0.0.1
+   */
+  int parallelism() default 1;
+
+  /**
+   * @return the kind of threads on which workflows are run in parallel
+   * @since 0.0.1
+   */
+  ExecutorBackend executor() default ExecutorBackend.PLATFORM;
+
+  /**
+   * @return the number of concurrent test methods that are run at the same time, {@code 0} for the default
+   * @since 0.0.1
+   */
+  int hookParallelism() default 0;
+
+  /**
+   * @return the number of independent phases that are executed at the same time, {@code 0} for the default
+   * @since 0.0.1
+   */
+  int phaseParallelism() default 0;
+
+  /**
+   * @return {@code true} if workflows with the same leading phases execute them only once
+   * @since 0.0.1
+   */
+  boolean sharePrefixes() default false;
+
+  /**
+   * @return a directory in which the progress of the workflows is stored, checkpoints are disabled if empty
+   * @since 0.0.1
+   */
+  String checkpointDirectory() default "";
+
+  /**
+   * @return {@code true} if the tear down phase of a workflow is executed even after one of its phases failed
+   * @since 0.0.1
+   */
+  boolean tearDownOnFailure() default true;
+
+  /**
+   * @return listeners that receive the measurements of all workflows, phases and test methods in addition to the
+   *         summary table
+   * @since 0.0.1
+   */
+  Class<? extends MetricsListener>[] metricsListeners() default {};
+}
@@ -15,6 +15,9 @@ import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
  * will collect all test classes that belongs to a workflow. Specify with the {@code workflow} parameter the workflow
  * for a test class.
  * <p>
+ * By default, a new instance of the test class is created for each test method. Use the {@code instance} parameter to
+ * share one instance between all test methods of the test class during a run of the workflow.
+ * <p>
  *
  * <pre>
  * &#64;WorkflowTest(MyCustomWorkflow.class)
@@ -37,4 +40,10 @@ public @interface WorkflowTest {
    * @since 0.0.1
    */
   Class<? extends AbstractWorkflow> value();
+
+  /**
+   * @return how often an instance of this test class is created
+   * @since 0.0.1
+   */
+  TestInstance instance() default TestInstance.PER_METHOD;
 }
@@ -0,0 +1,100 @@
+package de.morrigan.dev.muphin.core.execution;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An executor of an {@link ExecutorBackend} that runs at most a given number of tasks at the same time. A pool of
+ * platform threads is limited by its size, a virtual thread per task executor is limited by a semaphore.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class BoundedExecutor implements AutoCloseable {
+
+  /**
+   * Waits until all given tasks are finished, even if one of them fails. Only then the first failure is thrown, like it
+   * would be thrown by a sequential run of the tasks.
+   *
+   * @param futures the futures of all tasks to wait for
+   * @throws IllegalStateException if the current thread is interrupted while waiting or a task throws a checked
+   *           exception
+   * @since 0.0.1
+   */
+  public static void awaitAll(List<? extends Future<?>> futures) {
+    Throwable failure = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        throw new IllegalStateException("Waiting for the tasks was interrupted.", e);
+      }
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new IllegalStateException("A task failed unexpectedly.", failure);
+    }
+  }
+
+  private final ExecutorService executor;
+  private final Semaphore permits;
+
+  /**
+   * Creates a new executor.
+   *
+   * @param backend a backend that provides the threads
+   * @param parallelism the maximum number of tasks that are run at the same time
+   * @param threadNamePrefix a prefix of the names of all threads of this executor
+   * @since 0.0.1
+   */
+  public BoundedExecutor(ExecutorBackend backend, int parallelism, String threadNamePrefix) {
+    super();
+    this.executor = backend.newExecutor(parallelism, threadNamePrefix);
+    this.permits = new Semaphore(parallelism);
+  }
+
+  /**
+   * Submits a task that is run as soon as a permit is available.
+   *
+   * @param task a task to run
+   * @return a future of the task
+   * @since 0.0.1
+   */
+  public Future<?> submit(Runnable task) {
+    return this.executor.submit(() -> {
+      try {
+        this.permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("The task was interrupted before it could be started.", e);
+      }
+      try {
+        task.run();
+      } finally {
+        this.permits.release();
+      }
+    });
+  }
+
+  /**
+   * Stops all running tasks.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() {
+    this.executor.shutdownNow();
+  }
+}
@@ -0,0 +1,118 @@
+package de.morrigan.dev.muphin.core.execution;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+
+/**
+ * Defines on which kind of threads the {@link WorkflowRunner} runs workflows in parallel.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public enum ExecutorBackend {
+
+  /**
+   * A fixed pool of platform threads whose size is the configured parallelism. This is the default.
+   *
+   * @since 0.0.1
+   */
+  PLATFORM {
+
+    @Override
+    public boolean isAvailable() {
+      return true;
+    }
+
+    @Override
+    public ExecutorService newExecutor(int parallelism, String threadNamePrefix) {
+      return Executors.newFixedThreadPool(parallelism, new NamedThreadFactory(threadNamePrefix));
+    }
+  },
+
+  /**
+   * A new virtual thread for each task. Virtual threads are cheap, so that thousands of workflows that mostly wait for
+   * external processes or databases can be run at the same time. They are only available on Java 21 or newer.
+   *
+   * @since 0.0.1
+   */
+  VIRTUAL {
+
+    @Override
+    public boolean isAvailable() {
+      return VirtualThreads.NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    public ExecutorService newExecutor(int parallelism, String threadNamePrefix) {
+      if (!isAvailable()) {
+        throw new IllegalStateException("Virtual threads are not supported by this Java runtime.");
+      }
+      return VirtualThreads.newExecutor(threadNamePrefix);
+    }
+  };
+
+  /**
+   * The virtual thread API is resolved once via reflection, so that this framework can still be compiled and run on
+   * Java 8.
+   */
+  private static final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+    private static final Method NAME = findMethod(findClass("java.lang.Thread$Builder"), "name", String.class,
+        long.class);
+    private static final Method FACTORY = findMethod(findClass("java.lang.Thread$Builder"), "factory");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = OF_VIRTUAL == null || NAME == null || FACTORY == null
+        ? null
+        : findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private static ExecutorService newExecutor(String threadNamePrefix) {
+      try {
+        Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix, 1L);
+        return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, FACTORY.invoke(builder));
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        throw new IllegalStateException("Can't create an executor with virtual threads.", e);
+      }
+    }
+
+    private static Class<?> findClass(String className) {
+      try {
+        return Class.forName(className);
+      } catch (ClassNotFoundException e) {
+        return null;
+      }
+    }
+
+    private static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+      if (clazz == null) {
+        return null;
+      }
+      try {
+        return clazz.getMethod(name, parameterTypes);
+      } catch (NoSuchMethodException e) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * @return {@code true} if this backend can be used with the current Java runtime
+   * @since 0.0.1
+   */
+  public abstract boolean isAvailable();
+
+  /**
+   * Creates a new executor of this backend.
+   *
+   * @param parallelism the number of tasks that are run at the same time, only used by a pool of platform threads
+   * @param threadNamePrefix a prefix of the names of all threads of this executor
+   * @return a new executor that has to be shut down by the caller
+   * @throws IllegalStateException if this backend is not available
+   * @since 0.0.1
+   */
+  public abstract ExecutorService newExecutor(int parallelism, String threadNamePrefix);
+}
@@ -0,0 +1,35 @@
+package de.morrigan.dev.muphin.core.execution;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads whose names consist of a prefix and a consecutive number, so that they can be recognized in
+ * log files and thread dumps.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class NamedThreadFactory implements ThreadFactory {
+
+  private final String prefix;
+  private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+  /**
+   * Creates a new factory.
+   *
+   * @param prefix a prefix of all thread names (e.g. muphin-workflow-)
+   * @since 0.0.1
+   */
+  public NamedThreadFactory(String prefix) {
+    super();
+    this.prefix = prefix;
+  }
+
+  @Override
+  public Thread newThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, this.prefix + this.threadNumber.getAndIncrement());
+    thread.setDaemon(true);
+    return thread;
+  }
+}
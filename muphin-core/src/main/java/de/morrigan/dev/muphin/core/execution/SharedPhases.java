@@ -0,0 +1,88 @@
+package de.morrigan.dev.muphin.core.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.annotation.Shareable;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+/**
+ * Holds the results of all {@link Shareable} phases during a single run.
+ * <p>
+ * The first request of a shareable phase executes it, all further requests with the same
+ * {@link AbstractPhase#getShareKey() share key} get the same result. Requests that arrive while the phase is executing
+ * wait for this execution instead of starting another one. If the phase fails, all requests get the same failure.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class SharedPhases {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SharedPhases.class);
+
+  private final ConcurrentMap<Object, CompletableFuture<Boolean>> results = new ConcurrentHashMap<>();
+
+  /**
+   * Executes the given phase. A phase that is not marked as {@link Shareable} is executed on each call.
+   *
+   * @param phase a phase to execute
+   * @return the result of {@link AbstractPhase#execute()}
+   * @throws IllegalStateException if the current thread is interrupted while waiting for the shared execution
+   * @since 0.0.1
+   */
+  public boolean execute(AbstractPhase phase) {
+    if (!isShareable(phase)) {
+      return phase.execute();
+    }
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    CompletableFuture<Boolean> existingResult = this.results.putIfAbsent(phase.getShareKey(), result);
+    if (existingResult == null) {
+      try {
+        result.complete(phase.execute());
+      } catch (RuntimeException | Error e) {
+        result.completeExceptionally(e);
+        throw e;
+      }
+      return result.join();
+    }
+    LOG.info("Reuse the result of the shared phase {}", phase.getName());
+    return await(existingResult);
+  }
+
+  /**
+   * @return the number of shared phases that were requested
+   * @since 0.0.1
+   */
+  public int size() {
+    return this.results.size();
+  }
+
+  /**
+   * @param phase any phase
+   * @return {@code true} if the phase is marked as {@link Shareable}, otherwise {@code false}
+   * @since 0.0.1
+   */
+  public static boolean isShareable(AbstractPhase phase) {
+    return phase.getClass().isAnnotationPresent(Shareable.class);
+  }
+
+  private boolean await(CompletableFuture<Boolean> result) {
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw (Error) cause;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Waiting for the shared phase was interrupted.", e);
+    }
+  }
+}
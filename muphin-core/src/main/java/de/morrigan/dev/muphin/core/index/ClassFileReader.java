@@ -0,0 +1,239 @@
+package de.morrigan.dev.muphin.core.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+/**
+ * Reads the annotations of a class file at the bytecode level without loading the class.
+ * <p>
+ * Only the parts of the class file format that are needed to find the {@link WorkflowTest} annotation of a class, its
+ * workflow and the {@link Phase} annotations of its methods are interpreted, everything else is skipped. Because of
+ * this, neither the class nor any class it references is loaded or initialized.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+final class ClassFileReader {
+
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private static final String WORKFLOW_TEST_DESCRIPTOR = descriptor(WorkflowTest.class);
+  private static final String PHASE_DESCRIPTOR = descriptor(Phase.class);
+  private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+  private static final String VALUE_ELEMENT = "value";
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_FLOAT = 4;
+  private static final int CONSTANT_LONG = 5;
+  private static final int CONSTANT_DOUBLE = 6;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_STRING = 8;
+  private static final int CONSTANT_FIELDREF = 9;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_INTERFACE_METHODREF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+  private static final int CONSTANT_METHOD_HANDLE = 15;
+  private static final int CONSTANT_METHOD_TYPE = 16;
+  private static final int CONSTANT_DYNAMIC = 17;
+  private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+  private static final int CONSTANT_MODULE = 19;
+  private static final int CONSTANT_PACKAGE = 20;
+
+  /**
+   * Reads the given class file and adds the class to the index, if it has a {@link WorkflowTest} annotation.
+   *
+   * @param classFile the bytes of a class file
+   * @param index an index to which the class is added
+   * @return {@code true} if the class was added to the index
+   * @throws IOException if the class file is invalid
+   * @since 0.0.1
+   */
+  static boolean read(byte[] classFile, WorkflowIndex index) throws IOException {
+    return new ClassFileReader(classFile).readInto(index);
+  }
+
+  /**
+   * Reads the workflow of a test class from the given class file.
+   *
+   * @param classFile the bytes of a class file
+   * @return the binary name of the workflow class of the {@link WorkflowTest} annotation or an empty optional, if the
+   *         class has no such annotation
+   * @throws IOException if the class file is invalid
+   * @since 0.0.1
+   */
+  static Optional<String> readWorkflowClassName(byte[] classFile) throws IOException {
+    ClassFileReader reader = new ClassFileReader(classFile);
+    if (!reader.readInto(new WorkflowIndex())) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(reader.workflowClassName);
+  }
+
+  private static String descriptor(Class<?> annotation) {
+    return "L" + annotation.getName().replace('.', '/') + ";";
+  }
+
+  private final DataInputStream in;
+  private String[] utf8Constants;
+  private int[] classConstants;
+  private String workflowClassName;
+
+  private ClassFileReader(byte[] classFile) {
+    super();
+    this.in = new DataInputStream(new ByteArrayInputStream(classFile));
+  }
+
+  private boolean readInto(WorkflowIndex index) throws IOException {
+    if (this.in.readInt() != MAGIC) {
+      throw new IOException("Not a class file");
+    }
+    this.in.skipBytes(4); // minor and major version
+    if (!readConstantPool()) {
+      // the annotation type does not occur in the constant pool, so the class can't be annotated with it
+      return false;
+    }
+    this.in.skipBytes(2); // access flags
+    String className = this.utf8Constants[this.classConstants[this.in.readUnsignedShort()]].replace('/', '.');
+    this.in.skipBytes(2); // super class
+    this.in.skipBytes(2 * this.in.readUnsignedShort()); // interfaces
+
+    int fieldsCount = this.in.readUnsignedShort();
+    for (int i = 0; i < fieldsCount; i++) {
+      this.in.skipBytes(6); // access flags, name and descriptor
+      readAnnotations(this.in.readUnsignedShort());
+    }
+
+    List<String> phaseMethods = new ArrayList<>();
+    int methodsCount = this.in.readUnsignedShort();
+    for (int i = 0; i < methodsCount; i++) {
+      this.in.skipBytes(2); // access flags
+      String methodName = this.utf8Constants[this.in.readUnsignedShort()];
+      this.in.skipBytes(2); // descriptor
+      if (readAnnotations(this.in.readUnsignedShort()).contains(PHASE_DESCRIPTOR)) {
+        phaseMethods.add(methodName);
+      }
+    }
+
+    if (readAnnotations(this.in.readUnsignedShort()).contains(WORKFLOW_TEST_DESCRIPTOR)) {
+      index.add(className, phaseMethods);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean readConstantPool() throws IOException {
+    int count = this.in.readUnsignedShort();
+    this.utf8Constants = new String[count];
+    this.classConstants = new int[count];
+    boolean workflowTestFound = false;
+    for (int i = 1; i < count; i++) {
+      int tag = this.in.readUnsignedByte();
+      switch (tag) {
+        case CONSTANT_UTF8:
+          this.utf8Constants[i] = this.in.readUTF();
+          workflowTestFound |= WORKFLOW_TEST_DESCRIPTOR.equals(this.utf8Constants[i]);
+          break;
+        case CONSTANT_CLASS:
+          this.classConstants[i] = this.in.readUnsignedShort();
+          break;
+        case CONSTANT_STRING:
+        case CONSTANT_METHOD_TYPE:
+        case CONSTANT_MODULE:
+        case CONSTANT_PACKAGE:
+          this.in.skipBytes(2);
+          break;
+        case CONSTANT_METHOD_HANDLE:
+          this.in.skipBytes(3);
+          break;
+        case CONSTANT_INTEGER:
+        case CONSTANT_FLOAT:
+        case CONSTANT_FIELDREF:
+        case CONSTANT_METHODREF:
+        case CONSTANT_INTERFACE_METHODREF:
+        case CONSTANT_NAME_AND_TYPE:
+        case CONSTANT_DYNAMIC:
+        case CONSTANT_INVOKE_DYNAMIC:
+          this.in.skipBytes(4);
+          break;
+        case CONSTANT_LONG:
+        case CONSTANT_DOUBLE:
+          this.in.skipBytes(8);
+          i++; // takes two entries of the constant pool
+          break;
+        default:
+          throw new IOException("Unknown constant pool tag " + tag);
+      }
+    }
+    return workflowTestFound;
+  }
+
+  /**
+   * Reads the given number of attributes and returns the type descriptors of all runtime visible annotations.
+   */
+  private List<String> readAnnotations(int attributesCount) throws IOException {
+    List<String> annotationTypes = new ArrayList<>();
+    for (int i = 0; i < attributesCount; i++) {
+      String attributeName = this.utf8Constants[this.in.readUnsignedShort()];
+      int length = this.in.readInt();
+      if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+        int annotationsCount = this.in.readUnsignedShort();
+        for (int j = 0; j < annotationsCount; j++) {
+          annotationTypes.add(readAnnotation());
+        }
+      } else {
+        this.in.skipBytes(length);
+      }
+    }
+    return annotationTypes;
+  }
+
+  private String readAnnotation() throws IOException {
+    String type = this.utf8Constants[this.in.readUnsignedShort()];
+    int pairsCount = this.in.readUnsignedShort();
+    for (int i = 0; i < pairsCount; i++) {
+      String elementName = this.utf8Constants[this.in.readUnsignedShort()];
+      int tag = this.in.readUnsignedByte();
+      if (tag == 'c' && WORKFLOW_TEST_DESCRIPTOR.equals(type) && VALUE_ELEMENT.equals(elementName)) {
+        // a class is stored by its descriptor, e.g. Lde/example/MyWorkflow;
+        String descriptor = this.utf8Constants[this.in.readUnsignedShort()];
+        this.workflowClassName = descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+      } else {
+        skipElementValue(tag);
+      }
+    }
+    return type;
+  }
+
+  private void skipElementValue() throws IOException {
+    skipElementValue(this.in.readUnsignedByte());
+  }
+
+  private void skipElementValue(int tag) throws IOException {
+    switch (tag) {
+      case 'e':
+        this.in.skipBytes(4);
+        break;
+      case '@':
+        readAnnotation();
+        break;
+      case '[':
+        int valuesCount = this.in.readUnsignedShort();
+        for (int i = 0; i < valuesCount; i++) {
+          skipElementValue();
+        }
+        break;
+      default:
+        // constant values and classes
+        this.in.skipBytes(2);
+        break;
+    }
+  }
+}
@@ -0,0 +1,388 @@
+package de.morrigan.dev.muphin.core.index;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+/**
+ * Scans the entries of a classpath for test classes with a {@link WorkflowTest} annotation.
+ * <p>
+ * The class files are read at the bytecode level, so that no class is loaded or initialized during the scan. The
+ * classpath entries are scanned in parallel and the scan can be restricted to some packages. Jar files can be excluded
+ * from the scan by glob patterns of their file names.
+ * <p>
+ * Each classpath entry is scanned separately and its result is stored in a {@link DiscoveryCache} together with a
+ * fingerprint of the entry. A jar file is identified by its size and its last modification time, a directory by a hash
+ * over the paths, sizes and modification times of all its files. Only entries whose fingerprint has changed since the
+ * last run are scanned again.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public class ClasspathScanner {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClasspathScanner.class);
+
+  private static final String CLASS_FILE_SUFFIX = ".class";
+
+  /**
+   * @return all existing entries of the classpath of this JVM
+   * @since 0.0.1
+   */
+  public static List<Path> getJavaClassPath() {
+    List<Path> classpathEntries = new ArrayList<>();
+    for (String entry : StringUtils.split(System.getProperty("java.class.path", ""), File.pathSeparator)) {
+      Path path = Paths.get(entry).toAbsolutePath().normalize();
+      if (Files.exists(path)) {
+        classpathEntries.add(path);
+      }
+    }
+    return classpathEntries;
+  }
+
+  /**
+   * Returns the classpath entries from which the given class loader and its parents load classes. The entries of a
+   * {@link URLClassLoader} are taken from its URLs. The classpath of this JVM is only used for the system class loader
+   * and for class loaders whose entries are unknown. The JDK classes are never part of the result.
+   *
+   * @param classLoader a class loader that loads the test classes, e.g. a child or an isolated class loader
+   * @return all existing entries of the classpath of the class loader
+   * @since 0.0.1
+   */
+  public static List<Path> getClassPath(ClassLoader classLoader) {
+    Set<Path> classpathEntries = new LinkedHashSet<>();
+    ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+    for (ClassLoader loader = classLoader; loader != null
+        && loader != systemClassLoader.getParent(); loader = loader.getParent()) {
+      if (loader != systemClassLoader && loader instanceof URLClassLoader) {
+        for (URL url : ((URLClassLoader) loader).getURLs()) {
+          toPath(url).ifPresent(classpathEntries::add);
+        }
+      } else {
+        classpathEntries.addAll(getJavaClassPath());
+      }
+    }
+    return new ArrayList<>(classpathEntries);
+  }
+
+  /**
+   * Reads the workflow of a test class from its class file without loading the class.
+   *
+   * @param classLoader a class loader that finds the class file
+   * @param className a binary name of a test class
+   * @return the binary name of the workflow class of its {@link WorkflowTest} annotation or an empty optional, if the
+   *         class file can't be read or the class has no such annotation
+   * @since 0.0.1
+   */
+  public static Optional<String> readWorkflowClassName(ClassLoader classLoader, String className) {
+    String classFile = StringUtils.join(className.replace('.', '/'), CLASS_FILE_SUFFIX);
+    try (InputStream in = classLoader.getResourceAsStream(classFile)) {
+      if (in == null) {
+        LOG.debug("The class file {} can't be found", classFile);
+        return Optional.empty();
+      }
+      return ClassFileReader.readWorkflowClassName(toByteArray(in));
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("The class file {} can't be read: {}", classFile, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<Path> toPath(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      LOG.debug("The classpath entry {} is not a file and is not scanned", url);
+      return Optional.empty();
+    }
+    try {
+      Path path = Paths.get(url.toURI()).toAbsolutePath().normalize();
+      return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      LOG.debug("The classpath entry {} can't be converted to a path: {}", url, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private final DiscoveryCache cache;
+  private final List<String> packagePaths;
+  private final List<PathMatcher> excludedJars;
+  private final String scope;
+
+  /**
+   * Creates a new scanner that uses the given cache and scans all packages of all classpath entries.
+   *
+   * @param cache a cache for the results of already scanned classpath entries
+   * @since 0.0.1
+   */
+  public ClasspathScanner(DiscoveryCache cache) {
+    this(cache, Collections.emptyList(), Collections.emptyList());
+  }
+
+  /**
+   * Creates a new scanner that uses the given cache and scans only the given packages.
+   *
+   * @param cache a cache for the results of already scanned classpath entries
+   * @param packages packages that are scanned including their sub packages, all packages are scanned if none is given
+   * @param excludeJars glob patterns of jar file names that are not scanned
+   * @since 0.0.1
+   */
+  public ClasspathScanner(DiscoveryCache cache, Collection<String> packages, Collection<String> excludeJars) {
+    super();
+    this.cache = cache;
+    this.packagePaths = new ArrayList<>();
+    for (String packageName : packages) {
+      this.packagePaths.add(StringUtils.appendIfMissing(packageName.replace('.', '/'), "/"));
+    }
+    this.excludedJars = new ArrayList<>();
+    for (String pattern : excludeJars) {
+      this.excludedJars.add(FileSystems.getDefault().getPathMatcher(StringUtils.join("glob:", pattern)));
+    }
+    // a cached result is only valid for the same packages
+    this.scope = String.join(",", this.packagePaths);
+  }
+
+  /**
+   * Finds the test classes of the given classpath entries. The test classes of an entry with a compiled
+   * {@link WorkflowIndex} are taken from its index, all other entries are {@link #scan(List) scanned}, e.g. jar files
+   * that were built without the {@link WorkflowIndexProcessor}.
+   *
+   * @param classpathEntries a collection of jar files and directories
+   * @return an index of all test classes that were found
+   * @throws IllegalStateException if an index can't be read or a classpath entry can't be scanned
+   * @since 0.0.1
+   */
+  public WorkflowIndex discover(List<Path> classpathEntries) {
+    WorkflowIndex index = new WorkflowIndex();
+    List<Path> unindexedEntries = new ArrayList<>();
+    for (Path classpathEntry : classpathEntries) {
+      Optional<WorkflowIndex> compiledIndex = WorkflowIndex.load(classpathEntry);
+      if (compiledIndex.isPresent()) {
+        index.addAll(compiledIndex.get());
+      } else {
+        unindexedEntries.add(classpathEntry);
+      }
+    }
+    LOG.debug("{} of {} classpath entries have a workflow index {}", classpathEntries.size() - unindexedEntries.size(),
+        classpathEntries.size(), WorkflowIndex.RESOURCE);
+    if (!unindexedEntries.isEmpty()) {
+      index.addAll(scan(unindexedEntries));
+    }
+    return index;
+  }
+
+  /**
+   * Scans the given classpath entries for test classes. Unchanged entries are taken from the cache, all other entries
+   * are scanned in parallel and afterwards stored in the cache.
+   *
+   * @param classpathEntries a collection of jar files and directories
+   * @return an index of all test classes that were found
+   * @throws IllegalStateException if a classpath entry can't be scanned
+   * @since 0.0.1
+   */
+  public WorkflowIndex scan(List<Path> classpathEntries) {
+    AtomicInteger scannedEntries = new AtomicInteger();
+    List<Path> includedEntries = classpathEntries.stream()
+        .filter(this::isIncluded)
+        .collect(Collectors.toList());
+    List<WorkflowIndex> entryIndexes = includedEntries.parallelStream()
+        .map(classpathEntry -> {
+          String entryName = classpathEntry.toString();
+          String fingerprint = StringUtils.join(fingerprint(classpathEntry), "|", this.scope);
+          Optional<WorkflowIndex> cachedIndex = this.cache.get(entryName, fingerprint);
+          if (cachedIndex.isPresent()) {
+            return cachedIndex.get();
+          }
+          WorkflowIndex entryIndex = scanEntry(classpathEntry);
+          this.cache.put(entryName, fingerprint, entryIndex);
+          scannedEntries.incrementAndGet();
+          return entryIndex;
+        })
+        .collect(Collectors.toList());
+
+    WorkflowIndex index = new WorkflowIndex();
+    entryIndexes.forEach(index::addAll);
+    Set<String> entryNames = new HashSet<>();
+    includedEntries.forEach(classpathEntry -> entryNames.add(classpathEntry.toString()));
+    this.cache.retainAll(entryNames);
+    this.cache.save();
+    LOG.debug("{} of {} classpath entries scanned, all others were taken from the discovery cache", scannedEntries,
+        includedEntries.size());
+    return index;
+  }
+
+  /**
+   * Scans a single classpath entry for test classes.
+   *
+   * @param classpathEntry a jar file or a directory
+   * @return an index of all test classes in the classpath entry
+   * @throws IllegalStateException if the classpath entry can't be scanned
+   * @since 0.0.1
+   */
+  protected WorkflowIndex scanEntry(Path classpathEntry) {
+    WorkflowIndex index = new WorkflowIndex();
+    try {
+      if (Files.isDirectory(classpathEntry)) {
+        scanDirectory(classpathEntry, index);
+      } else {
+        scanJar(classpathEntry, index);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          StringUtils.join("An error occurs while scanning the classpath entry ", classpathEntry, " for test classes"), e);
+    }
+    return index;
+  }
+
+  /**
+   * Creates a fingerprint that changes as soon as the content of the classpath entry changes.
+   *
+   * @param classpathEntry a jar file or a directory
+   * @return a fingerprint of the classpath entry
+   * @since 0.0.1
+   */
+  protected String fingerprint(Path classpathEntry) {
+    try {
+      if (Files.isDirectory(classpathEntry)) {
+        return StringUtils.join("d", directoryHash(classpathEntry));
+      }
+      BasicFileAttributes attributes = Files.readAttributes(classpathEntry, BasicFileAttributes.class);
+      return StringUtils.join("f", attributes.size(), "-", attributes.lastModifiedTime().toMillis());
+    } catch (IOException e) {
+      LOG.debug("Can't create a fingerprint of the classpath entry {}: {}", classpathEntry, e.getMessage());
+      return "unknown";
+    }
+  }
+
+  private boolean isIncluded(Path classpathEntry) {
+    Path fileName = classpathEntry.getFileName();
+    return fileName == null || Files.isDirectory(classpathEntry)
+        || this.excludedJars.stream().noneMatch(matcher -> matcher.matches(fileName));
+  }
+
+  private boolean isIncludedClassFile(String path) {
+    if (!path.endsWith(CLASS_FILE_SUFFIX) || path.startsWith("META-INF/") || path.endsWith("module-info.class")
+        || path.endsWith("package-info.class")) {
+      return false;
+    }
+    return this.packagePaths.isEmpty() || this.packagePaths.stream().anyMatch(path::startsWith);
+  }
+
+  private void scanDirectory(Path directory, WorkflowIndex index) throws IOException {
+    List<Path> roots = new ArrayList<>();
+    if (this.packagePaths.isEmpty()) {
+      roots.add(directory);
+    } else {
+      this.packagePaths.forEach(packagePath -> roots.add(directory.resolve(packagePath)));
+    }
+    for (Path root : roots) {
+      if (Files.isDirectory(root)) {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+            String path = directory.relativize(file).toString().replace(File.separatorChar, '/');
+            if (isIncludedClassFile(path)) {
+              readClassFile(path, Files.readAllBytes(file), index);
+            }
+            return FileVisitResult.CONTINUE;
+          }
+        });
+      }
+    }
+  }
+
+  private void scanJar(Path jar, WorkflowIndex index) throws IOException {
+    try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        if (!entry.isDirectory() && isIncludedClassFile(entry.getName())) {
+          try (InputStream in = zipFile.getInputStream(entry)) {
+            readClassFile(entry.getName(), toByteArray(in), index);
+          }
+        }
+      }
+    } catch (ZipException e) {
+      LOG.debug("The classpath entry {} is not a jar file: {}", jar, e.getMessage());
+    }
+  }
+
+  private static byte[] toByteArray(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  private void readClassFile(String path, byte[] classFile, WorkflowIndex index) {
+    try {
+      ClassFileReader.read(classFile, index);
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("The class file {} can't be read: {}", path, e.getMessage());
+    }
+  }
+
+  private String directoryHash(Path directory) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("MD5 is a required algorithm of every Java platform", e);
+    }
+    List<String> files = new ArrayList<>();
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+        files.add(StringUtils.join(directory.relativize(file), ":", attributes.size(), ":",
+            attributes.lastModifiedTime().toMillis()));
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    // the order in which the file system returns the files is not defined
+    Collections.sort(files);
+    for (String file : files) {
+      digest.update(file.getBytes(StandardCharsets.UTF_8));
+    }
+    StringBuilder hash = new StringBuilder();
+    for (byte b : digest.digest()) {
+      hash.append(String.format("%02x", b));
+    }
+    return hash.toString();
+  }
+}
@@ -0,0 +1,188 @@
+package de.morrigan.dev.muphin.core.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of the test classes that were found in the single entries of a classpath.
+ * <p>
+ * Each classpath entry is stored together with a fingerprint of its content and a {@link WorkflowIndex} of the test
+ * classes that it contains. As long as the fingerprint of an entry does not change, the entry does not have to be
+ * scanned again. The location of the cache file can be changed with the system property {@value #CACHE_FILE_PROPERTY}.
+ * An empty value disables the cache.
+ * <p>
+ * <b>Format</b><br>
+ * Each classpath entry starts with a line that contains the fingerprint and the path of the entry. It is followed by the
+ * lines of its {@link WorkflowIndex}.
+ *
+ * <pre>
+ * &#64; f1234-1600000000000 /home/user/.m2/repository/de/example/example-tests.jar
+ * de.example.MyWorkflowTest=testBeforeSetupPhase,testAfterMyCustomPhase
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public class DiscoveryCache {
+
+  /** System property to change the location of the cache file */
+  public static final String CACHE_FILE_PROPERTY = "muphin.discoveryCache";
+
+  /** Default location of the cache file relative to the working directory */
+  public static final String DEFAULT_CACHE_FILE = "target/muphin/discovery.cache";
+
+  private static final Logger LOG = LoggerFactory.getLogger(DiscoveryCache.class);
+
+  private static final String ENTRY_PREFIX = "@ ";
+
+  /**
+   * Loads the cache from the file that is configured with the system property {@value #CACHE_FILE_PROPERTY}.
+   *
+   * @return a cache, that is empty if the file does not exist yet or if the cache is disabled
+   * @since 0.0.1
+   */
+  public static DiscoveryCache fromSystemProperties() {
+    String cacheFile = System.getProperty(CACHE_FILE_PROPERTY, DEFAULT_CACHE_FILE);
+    return StringUtils.isBlank(cacheFile) ? new DiscoveryCache(null) : load(Paths.get(cacheFile));
+  }
+
+  /**
+   * Loads the cache from the given file. A file that can't be read is ignored and results in an empty cache.
+   *
+   * @param cacheFile a file in which the cache is stored
+   * @return a cache, that is empty if the file does not exist yet
+   * @since 0.0.1
+   */
+  public static DiscoveryCache load(Path cacheFile) {
+    DiscoveryCache cache = new DiscoveryCache(cacheFile);
+    if (Files.isRegularFile(cacheFile)) {
+      try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+        cache.read(reader);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("The discovery cache {} can't be read and will be rebuilt: {}", cacheFile, e.getMessage());
+        cache.entries.clear();
+      }
+    }
+    return cache;
+  }
+
+  private static final class Entry {
+    private final String fingerprint;
+    private final WorkflowIndex index;
+
+    private Entry(String fingerprint, WorkflowIndex index) {
+      this.fingerprint = fingerprint;
+      this.index = index;
+    }
+  }
+
+  private final Path cacheFile;
+  private final Map<String, Entry> entries;
+  private boolean modified;
+
+  private DiscoveryCache(Path cacheFile) {
+    super();
+    this.cacheFile = cacheFile;
+    this.entries = new LinkedHashMap<>();
+  }
+
+  /**
+   * Returns the cached index of a classpath entry, if the entry did not change since it was cached.
+   *
+   * @param classpathEntry a path of a classpath entry
+   * @param fingerprint the current fingerprint of the classpath entry
+   * @return the cached index or an empty optional, if the entry is not cached or has changed
+   * @since 0.0.1
+   */
+  public synchronized Optional<WorkflowIndex> get(String classpathEntry, String fingerprint) {
+    Entry entry = this.entries.get(classpathEntry);
+    return entry != null && entry.fingerprint.equals(fingerprint) ? Optional.of(entry.index) : Optional.empty();
+  }
+
+  /**
+   * Stores the index of a classpath entry together with its fingerprint.
+   *
+   * @param classpathEntry a path of a classpath entry
+   * @param fingerprint the current fingerprint of the classpath entry
+   * @param index test classes of the classpath entry
+   * @since 0.0.1
+   */
+  public synchronized void put(String classpathEntry, String fingerprint, WorkflowIndex index) {
+    this.entries.put(classpathEntry, new Entry(fingerprint, index));
+    this.modified = true;
+  }
+
+  /**
+   * Removes all cached classpath entries that are not part of the given entries anymore.
+   *
+   * @param classpathEntries paths of all current classpath entries
+   * @since 0.0.1
+   */
+  public synchronized void retainAll(Set<String> classpathEntries) {
+    this.modified |= this.entries.keySet().retainAll(classpathEntries);
+  }
+
+  /**
+   * Writes the cache to its file, if it was modified. The file is replaced atomically, so that concurrent test runs
+   * never read a partially written cache. A cache that can't be written is only logged.
+   *
+   * @since 0.0.1
+   */
+  public synchronized void save() {
+    if (!this.modified || this.cacheFile == null) {
+      return;
+    }
+    try {
+      Path directory = this.cacheFile.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path tempFile = Files.createTempFile(directory, this.cacheFile.getFileName().toString(), ".tmp");
+      try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+        write(writer);
+      }
+      Files.move(tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      this.modified = false;
+    } catch (IOException e) {
+      LOG.warn("The discovery cache {} can't be written: {}", this.cacheFile, e.getMessage());
+    }
+  }
+
+  private void read(BufferedReader reader) throws IOException {
+    WorkflowIndex index = null;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.startsWith(ENTRY_PREFIX)) {
+        String[] fingerprintAndPath = line.substring(ENTRY_PREFIX.length()).split(" ", 2);
+        index = new WorkflowIndex();
+        this.entries.put(fingerprintAndPath[1], new Entry(fingerprintAndPath[0], index));
+      } else if (index != null) {
+        index.readLine(line);
+      }
+    }
+  }
+
+  private void write(Writer writer) throws IOException {
+    writer.write("# muphin discovery cache\n");
+    for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+      writer.write(ENTRY_PREFIX);
+      writer.write(entry.getValue().fingerprint);
+      writer.write(' ');
+      writer.write(entry.getKey());
+      writer.write('\n');
+      entry.getValue().index.writeEntries(writer);
+    }
+  }
+}
@@ -0,0 +1,265 @@
+package de.morrigan.dev.muphin.core.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.junit.internal.MethodSorter;
+
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+/**
+ * An index of all test classes with a {@link WorkflowTest} annotation and the names of their methods with a
+ * {@link Phase} annotation.
+ * <p>
+ * The index is written at compile time by the {@link WorkflowIndexProcessor} to the resource {@value #RESOURCE}. At
+ * runtime the index resources of the classpath entries are merged, so that the test classes can be found without
+ * scanning these entries. Only the entries without an index resource, e.g. jar files that were built without the
+ * processor, have to be scanned.
+ * <p>
+ * <b>Format</b><br>
+ * Each line contains the binary name of a test class followed by the comma separated names of its phase methods.
+ * Empty lines and lines starting with {@code #} are ignored.
+ *
+ * <pre>
+ * de.example.MyWorkflowTest=testBeforeSetupPhase,testAfterMyCustomPhase
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public class WorkflowIndex {
+
+  /** Location of the index resource within a jar or an output directory */
+  public static final String RESOURCE = "META-INF/muphin/workflow-tests.idx";
+
+  private static final String COMMENT = "#";
+  private static final String CLASS_SEPARATOR = "=";
+  private static final String METHOD_SEPARATOR = ",";
+
+  /**
+   * Loads and merges all index resources that are visible to the given class loader.
+   *
+   * @param classLoader a class loader that is used to find the index resources
+   * @return the merged index or an empty optional, if no index resource exists
+   * @throws IllegalStateException if an index resource can't be read
+   * @since 0.0.1
+   */
+  public static Optional<WorkflowIndex> load(ClassLoader classLoader) {
+    WorkflowIndex index = new WorkflowIndex();
+    boolean found = false;
+    try {
+      Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+      while (resources.hasMoreElements()) {
+        URL resource = resources.nextElement();
+        try (InputStream in = resource.openStream()) {
+          index.read(in);
+        }
+        found = true;
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Can't read the workflow index " + RESOURCE, e);
+    }
+    return found ? Optional.of(index) : Optional.empty();
+  }
+
+  /**
+   * Loads the index resource of a single classpath entry.
+   *
+   * @param classpathEntry a jar file or a directory
+   * @return the index of the classpath entry or an empty optional, if the entry contains no index resource
+   * @throws IllegalStateException if the index resource can't be read
+   * @since 0.0.1
+   */
+  public static Optional<WorkflowIndex> load(Path classpathEntry) {
+    WorkflowIndex index = new WorkflowIndex();
+    try {
+      if (Files.isDirectory(classpathEntry)) {
+        Path resource = classpathEntry.resolve(RESOURCE);
+        if (!Files.isRegularFile(resource)) {
+          return Optional.empty();
+        }
+        try (InputStream in = Files.newInputStream(resource)) {
+          index.read(in);
+        }
+      } else {
+        try (ZipFile zipFile = new ZipFile(classpathEntry.toFile())) {
+          ZipEntry resource = zipFile.getEntry(RESOURCE);
+          if (resource == null) {
+            return Optional.empty();
+          }
+          try (InputStream in = zipFile.getInputStream(resource)) {
+            index.read(in);
+          }
+        }
+      }
+    } catch (ZipException e) {
+      // not a jar file, so it can't contain an index either
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new IllegalStateException(StringUtils.join("Can't read the workflow index ", RESOURCE, " of ",
+          classpathEntry), e);
+    }
+    return Optional.of(index);
+  }
+
+  /**
+   * Creates an index entry for a test class from its phase methods.
+   *
+   * @param workflowTestClass a test class with a {@link WorkflowTest} annotation
+   * @return the names of all methods of the test class that have a {@link Phase} annotation
+   * @since 0.0.1
+   */
+  public static List<String> phaseMethodNames(Class<?> workflowTestClass) {
+    List<String> methodNames = new ArrayList<>();
+    for (Method method : MethodSorter.getDeclaredMethods(workflowTestClass)) {
+      if (method.isAnnotationPresent(Phase.class)) {
+        methodNames.add(method.getName());
+      }
+    }
+    return methodNames;
+  }
+
+  private final Map<String, Set<String>> entries;
+
+  /**
+   * Creates a new empty index.
+   *
+   * @since 0.0.1
+   */
+  public WorkflowIndex() {
+    super();
+    this.entries = new LinkedHashMap<>();
+  }
+
+  /**
+   * Adds a test class and the names of its phase methods to this index. If the test class already exists in this index,
+   * the method names are merged.
+   *
+   * @param className a binary name of a test class
+   * @param methodNames names of all methods that have a {@link Phase} annotation
+   * @since 0.0.1
+   */
+  public void add(String className, Iterable<String> methodNames) {
+    Set<String> methods = this.entries.computeIfAbsent(className, key -> new LinkedHashSet<>());
+    methodNames.forEach(methods::add);
+  }
+
+  /**
+   * Adds all entries of the given index to this index.
+   *
+   * @param index another index
+   * @since 0.0.1
+   */
+  public void addAll(WorkflowIndex index) {
+    index.entries.forEach(this::add);
+  }
+
+  /**
+   * @return binary names of all test classes in this index
+   * @since 0.0.1
+   */
+  public Set<String> getClassNames() {
+    return Collections.unmodifiableSet(this.entries.keySet());
+  }
+
+  /**
+   * @param className a binary name of a test class
+   * @return names of all phase methods of the test class or an empty set, if the class is not part of this index
+   * @since 0.0.1
+   */
+  public Set<String> getMethodNames(String className) {
+    Set<String> methods = this.entries.get(className);
+    return methods == null ? Collections.emptySet() : Collections.unmodifiableSet(methods);
+  }
+
+  /**
+   * @return {@code true} if this index contains no test class
+   * @since 0.0.1
+   */
+  public boolean isEmpty() {
+    return this.entries.isEmpty();
+  }
+
+  /**
+   * Reads index entries from the given stream and adds them to this index.
+   *
+   * @param in a stream with index entries
+   * @throws IOException if the stream can't be read
+   * @since 0.0.1
+   */
+  public void read(InputStream in) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      readLine(line);
+    }
+  }
+
+  /**
+   * Writes all entries of this index to the given writer.
+   *
+   * @param writer a writer to that the index is written
+   * @throws IOException if the index can't be written
+   * @since 0.0.1
+   */
+  public void write(Writer writer) throws IOException {
+    writer.write(COMMENT);
+    writer.write(" muphin workflow test index\n");
+    writeEntries(writer);
+  }
+
+  void readLine(String line) {
+    String trimmedLine = line.trim();
+    if (trimmedLine.isEmpty() || trimmedLine.startsWith(COMMENT)) {
+      return;
+    }
+    int separator = trimmedLine.indexOf(CLASS_SEPARATOR);
+    String className = separator < 0 ? trimmedLine : trimmedLine.substring(0, separator).trim();
+    List<String> methodNames = new ArrayList<>();
+    if (separator >= 0) {
+      for (String methodName : trimmedLine.substring(separator + 1).split(METHOD_SEPARATOR)) {
+        if (!methodName.trim().isEmpty()) {
+          methodNames.add(methodName.trim());
+        }
+      }
+    }
+    add(className, methodNames);
+  }
+
+  void writeEntries(Writer writer) throws IOException {
+    for (Map.Entry<String, Set<String>> entry : this.entries.entrySet()) {
+      writer.write(entry.getKey());
+      writer.write(CLASS_SEPARATOR);
+      writer.write(String.join(METHOD_SEPARATOR, entry.getValue()));
+      writer.write('\n');
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.entries.toString();
+  }
+}
@@ -0,0 +1,114 @@
+package de.morrigan.dev.muphin.core.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+/**
+ * An annotation processor that writes a {@link WorkflowIndex} of all compiled test classes with a {@link WorkflowTest}
+ * annotation.
+ * <p>
+ * The processor is registered as a service of this module, so that it is used automatically by the compiler as soon as
+ * the muphin-core module is on the classpath. Test classes of earlier compilations that are not part of an incremental
+ * compilation are taken over from an already existing index, as long as they still carry the annotation.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@SupportedAnnotationTypes("de.morrigan.dev.muphin.core.annotation.WorkflowTest")
+public class WorkflowIndexProcessor extends AbstractProcessor {
+
+  private final WorkflowIndex index = new WorkflowIndex();
+  private boolean previousIndexRead;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (!this.previousIndexRead) {
+      this.previousIndexRead = true;
+      readPreviousIndex();
+    }
+    for (Element element : roundEnv.getElementsAnnotatedWith(WorkflowTest.class)) {
+      if (element.getKind() == ElementKind.CLASS) {
+        TypeElement typeElement = (TypeElement) element;
+        this.index.add(binaryName(typeElement), phaseMethodNames(typeElement));
+      }
+    }
+    if (roundEnv.processingOver() && !this.index.isEmpty()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  private void readPreviousIndex() {
+    WorkflowIndex previousIndex = new WorkflowIndex();
+    try {
+      FileObject resource = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+          WorkflowIndex.RESOURCE);
+      try (InputStream in = resource.openInputStream()) {
+        previousIndex.read(in);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      // there is no index of a previous compilation
+      return;
+    }
+
+    for (String className : previousIndex.getClassNames()) {
+      TypeElement typeElement = this.processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+      if (typeElement != null && typeElement.getAnnotation(WorkflowTest.class) != null) {
+        this.index.add(className, phaseMethodNames(typeElement));
+      }
+    }
+  }
+
+  private void writeIndex() {
+    try {
+      FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+          WorkflowIndex.RESOURCE);
+      try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+        this.index.write(writer);
+      }
+    } catch (IOException e) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Can't write the workflow index " + WorkflowIndex.RESOURCE + ": " + e.getMessage());
+    }
+  }
+
+  private String binaryName(TypeElement typeElement) {
+    return this.processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+  }
+
+  private List<String> phaseMethodNames(TypeElement typeElement) {
+    List<String> methodNames = new ArrayList<>();
+    for (Element enclosed : typeElement.getEnclosedElements()) {
+      if (enclosed.getKind() == ElementKind.METHOD && enclosed.getAnnotation(Phase.class) != null) {
+        methodNames.add(enclosed.getSimpleName().toString());
+      }
+    }
+    return Collections.unmodifiableList(methodNames);
+  }
+}
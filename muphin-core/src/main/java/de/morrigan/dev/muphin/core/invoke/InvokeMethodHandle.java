@@ -0,0 +1,36 @@
+package de.morrigan.dev.muphin.core.invoke;
+
+import java.lang.invoke.MethodHandle;
+
+import org.junit.runners.model.Statement;
+
+/**
+ * A {@link Statement} that invokes a test method via a cached {@link MethodHandle} on a test instance. In contrast to
+ * the reflective invocation of JUnit, the exceptions of the test method are thrown directly without being wrapped.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public class InvokeMethodHandle extends Statement {
+
+  private final MethodHandle handle;
+  private final Object target;
+
+  /**
+   * Creates a new statement.
+   *
+   * @param handle a handle of the type {@code (Object)Object} from the {@link InvokerCache}
+   * @param target a test instance on which the test method is invoked
+   * @since 0.0.1
+   */
+  public InvokeMethodHandle(MethodHandle handle, Object target) {
+    super();
+    this.handle = handle;
+    this.target = target;
+  }
+
+  @Override
+  public void evaluate() throws Throwable {
+    Object ignored = this.handle.invokeExact(this.target);
+  }
+}
@@ -0,0 +1,174 @@
+package de.morrigan.dev.muphin.core.invoke;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * This cache holds a {@link MethodHandle} for each test method and each test class constructor, so that access checks
+ * and the lookup are only done once and not for every call.
+ * <p>
+ * All handles are adapted to a generic type. A constructor handle has the type {@code ()Object} and a method handle has
+ * the type {@code (Object)Object}, where the argument is the test instance. This way, they can be called with
+ * {@link MethodHandle#invokeExact(Object...)} without any boxing of arguments.
+ * <p>
+ * The handles are attached to their classes with a {@link ClassValue}, so that this cache does not keep a class or its
+ * class loader alive. The test classes of a suite that was loaded by its own class loader can therefore be unloaded
+ * after the suite.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class InvokerCache {
+
+  // The handles of a single class
+  private static final class ClassHandles {
+
+    private volatile MethodHandle constructor;
+    private final ConcurrentMap<Method, MethodHandle> methods = new ConcurrentHashMap<>();
+  }
+
+  private static final InvokerCache INSTANCE = new InvokerCache();
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+  private static final MethodType METHOD_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * @return only instance of this cache
+   * @since 0.0.1
+   */
+  public static InvokerCache getInstance() {
+    return INSTANCE;
+  }
+
+  private final MethodHandles.Lookup lookup;
+
+  // Replaced by clear(), the handles of the old class value are released together with it
+  private volatile ClassValue<ClassHandles> handles;
+
+  private InvokerCache() {
+    super();
+    this.lookup = MethodHandles.lookup();
+    this.handles = newHandles();
+  }
+
+  private static ClassValue<ClassHandles> newHandles() {
+    return new ClassValue<ClassHandles>() {
+      @Override
+      protected ClassHandles computeValue(Class<?> type) {
+        return new ClassHandles();
+      }
+    };
+  }
+
+  /**
+   * Returns the handle of the public no-argument constructor of the given class.
+   *
+   * @param testClass a class whose constructor is to be delivered
+   * @return a handle of the type {@code ()Object}
+   * @throws IllegalArgumentException if the class has no accessible public no-argument constructor
+   * @since 0.0.1
+   */
+  public MethodHandle getConstructor(Class<?> testClass) {
+    ClassHandles classHandles = this.handles.get(testClass);
+    MethodHandle handle = classHandles.constructor;
+    if (handle == null) {
+      // A concurrent first call may create a second handle, which is equivalent to the first one
+      handle = createConstructorHandle(testClass);
+      classHandles.constructor = handle;
+    }
+    return handle;
+  }
+
+  /**
+   * Returns the handle of the given method.
+   *
+   * @param method a method whose handle is to be delivered
+   * @return a handle of the type {@code (Object)Object}
+   * @throws IllegalArgumentException if the method has parameters or is not accessible
+   * @since 0.0.1
+   */
+  public MethodHandle getMethod(Method method) {
+    ConcurrentMap<Method, MethodHandle> methods = this.handles.get(method.getDeclaringClass()).methods;
+    MethodHandle handle = methods.get(method);
+    if (handle == null) {
+      handle = methods.computeIfAbsent(method, this::createMethodHandle);
+    }
+    return handle;
+  }
+
+  /**
+   * Creates a new instance of the given class with its public no-argument constructor.
+   *
+   * @param testClass a class of which an instance is to be created
+   * @return a new instance
+   * @throws Exception if the constructor throws an exception
+   * @since 0.0.1
+   */
+  public Object newInstance(Class<?> testClass) throws Exception {
+    MethodHandle constructor = getConstructor(testClass);
+    try {
+      return constructor.invokeExact();
+    } catch (Exception | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  /**
+   * Clears all handles in this cache.
+   *
+   * @since 0.0.1
+   */
+  public void clear() {
+    this.handles = newHandles();
+  }
+
+  private MethodHandle createConstructorHandle(Class<?> testClass) {
+    try {
+      Constructor<?> constructor = testClass.getConstructor();
+      makeAccessible(constructor, constructor);
+      return this.lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalArgumentException(StringUtils.join("Can't create a constructor handle for ", testClass,
+          ". Please make sure a public default constructor exists."), e);
+    }
+  }
+
+  private MethodHandle createMethodHandle(Method method) {
+    if (method.getParameterCount() > 0) {
+      throw new IllegalArgumentException(StringUtils.join("The method ", method, " must not have any parameters."));
+    }
+    try {
+      makeAccessible(method, method);
+      MethodHandle handle = this.lookup.unreflect(method);
+      if (Modifier.isStatic(method.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle.asType(METHOD_TYPE);
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException(StringUtils.join("Can't create a method handle for ", method, "."), e);
+    }
+  }
+
+  private void makeAccessible(AccessibleObject accessible, Member member) {
+    /*
+     * The handle is created by this class. Therefore, non-public test classes and their members must be made
+     * accessible once. The later calls of the handle are then done without any access checks.
+     */
+    if (!Modifier.isPublic(member.getDeclaringClass().getModifiers()) || !Modifier.isPublic(member.getModifiers())) {
+      accessible.setAccessible(true);
+    }
+  }
+}
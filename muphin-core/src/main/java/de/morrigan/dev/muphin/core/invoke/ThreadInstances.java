@@ -0,0 +1,102 @@
+package de.morrigan.dev.muphin.core.invoke;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.annotation.InstanceScope;
+
+/**
+ * Holds the instances of phases and workflows with the scope {@link InstanceScope#PER_THREAD} during a single test
+ * run.
+ * <p>
+ * Each thread has its own instances, which it reads without any lock. When the test run is finished, all instances that
+ * implement {@link AutoCloseable} are closed in the reverse order of their creation.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class ThreadInstances implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ThreadInstances.class);
+
+  private final ThreadLocal<Map<Class<?>, Object>> instances = ThreadLocal.withInitial(HashMap::new);
+
+  // Guarded by itself, all instances of all threads in the order of their creation
+  private final List<Object> created = new ArrayList<>();
+  private boolean closed;
+
+  /**
+   * Returns the instance of the given class for the current thread. If the instance does not yet exist, it will be
+   * created with the given factory.
+   *
+   * @param instanceClass a class whose instance is to be delivered
+   * @param factory creates a new instance of the class
+   * @return an instance of the class that is only used by the current thread
+   * @throws Exception if the instance can't be created
+   * @throws IllegalStateException if the instances are already closed
+   * @since 0.0.1
+   */
+  public Object get(Class<?> instanceClass, Callable<Object> factory) throws Exception {
+    Map<Class<?>, Object> instancesOfThread = this.instances.get();
+    Object instance = instancesOfThread.get(instanceClass);
+    if (instance == null) {
+      synchronized (this.created) {
+        if (this.closed) {
+          throw new IllegalStateException("The thread instances of this test run are already closed.");
+        }
+      }
+      instance = factory.call();
+      instancesOfThread.put(instanceClass, instance);
+      synchronized (this.created) {
+        this.created.add(instance);
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * @return the number of instances of all threads
+   * @since 0.0.1
+   */
+  public int size() {
+    synchronized (this.created) {
+      return this.created.size();
+    }
+  }
+
+  /**
+   * Closes all instances of all threads that implement {@link AutoCloseable}. A failure while closing an instance is
+   * logged and does not prevent the other instances from being closed.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() {
+    List<Object> reversed;
+    synchronized (this.created) {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+      reversed = new ArrayList<>(this.created);
+      this.created.clear();
+    }
+    this.instances.remove();
+    for (int i = reversed.size() - 1; i >= 0; i--) {
+      Object instance = reversed.get(i);
+      if (instance instanceof AutoCloseable) {
+        try {
+          ((AutoCloseable) instance).close();
+        } catch (Exception e) {
+          LOG.error("The thread instance {} can't be closed", instance.getClass().getName(), e);
+        }
+      }
+    }
+  }
+}
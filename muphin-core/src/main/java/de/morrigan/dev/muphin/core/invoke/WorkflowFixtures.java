@@ -0,0 +1,120 @@
+package de.morrigan.dev.muphin.core.invoke;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.annotation.InstanceScope;
+import de.morrigan.dev.muphin.core.annotation.TestInstance;
+
+/**
+ * Holds the shared instances of test classes with the lifecycle {@link TestInstance#PER_WORKFLOW} and of phases and
+ * workflows with the scope {@link InstanceScope#PER_WORKFLOW_RUN} during a single run of a workflow.
+ * <p>
+ * Each instance is created on its first request and reused for all further requests of the same class. When the
+ * run of the workflow is finished, all instances that implement {@link AutoCloseable} are closed in the reverse order of
+ * their creation.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class WorkflowFixtures implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WorkflowFixtures.class);
+
+  // The creation of each class, so that different classes are created at the same time and each class only once
+  private final ConcurrentMap<Class<?>, FutureTask<Object>> instances = new ConcurrentHashMap<>();
+  private final List<Object> created = new ArrayList<>();
+  private volatile boolean closed;
+
+  /**
+   * Returns the shared instance of the given class. If the instance does not yet exist, it will be created with the
+   * given factory. Instances of different classes are created at the same time, a concurrent request of the same class
+   * waits for the instance that is being created.
+   *
+   * @param instanceClass a test class, phase or workflow whose instance is to be delivered
+   * @param factory creates a new instance of the class
+   * @return a shared instance of the class
+   * @throws Exception if the instance can't be created
+   * @throws IllegalStateException if the fixtures are already closed
+   * @since 0.0.1
+   */
+  public Object get(Class<?> instanceClass, Callable<Object> factory) throws Exception {
+    if (this.closed) {
+      throw new IllegalStateException("The fixtures of this workflow run are already closed.");
+    }
+    FutureTask<Object> creation = this.instances.get(instanceClass);
+    if (creation == null) {
+      FutureTask<Object> newCreation = new FutureTask<>(() -> register(factory.call()));
+      creation = this.instances.putIfAbsent(instanceClass, newCreation);
+      if (creation == null) {
+        creation = newCreation;
+        newCreation.run();
+      }
+    }
+    try {
+      return creation.get();
+    } catch (ExecutionException e) {
+      // A failed creation is not cached, so that the next request tries it again
+      this.instances.remove(instanceClass, creation);
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw (Error) cause;
+    }
+  }
+
+  private synchronized Object register(Object instance) {
+    if (this.closed) {
+      closeInstance(instance);
+      throw new IllegalStateException("The fixtures of this workflow run were closed while an instance was created.");
+    }
+    this.created.add(instance);
+    return instance;
+  }
+
+  /**
+   * @return the number of shared instances
+   * @since 0.0.1
+   */
+  public synchronized int size() {
+    return this.created.size();
+  }
+
+  /**
+   * Closes all shared instances that implement {@link AutoCloseable}. A failure while closing an instance is logged and
+   * does not prevent the other instances from being closed.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    for (int i = this.created.size() - 1; i >= 0; i--) {
+      closeInstance(this.created.get(i));
+    }
+    this.created.clear();
+    this.instances.clear();
+  }
+
+  private static void closeInstance(Object instance) {
+    if (instance instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) instance).close();
+      } catch (Exception e) {
+        LOG.error("The test instance {} can't be closed", instance.getClass().getName(), e);
+      }
+    }
+  }
+}
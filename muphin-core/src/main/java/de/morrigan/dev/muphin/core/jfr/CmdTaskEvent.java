@@ -0,0 +1,52 @@
+package de.morrigan.dev.muphin.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for the execution of a command line task.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Name(FlightRecorderEvents.CMD_TASK)
+@Label("Command Task")
+@Category("Muphin")
+@Description("The execution of a command line task")
+final class CmdTaskEvent extends jdk.jfr.Event {
+
+  private static final EventType TYPE = EventType.getEventType(CmdTaskEvent.class);
+
+  @Label("Command Line")
+  String commandLine;
+
+  @Label("Exit Value")
+  int exitValue;
+
+  @Label("Output Size")
+  @Description("The number of characters of the response")
+  int outputSize;
+
+  static Object beginIfEnabled() {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+    CmdTaskEvent event = new CmdTaskEvent();
+    event.begin();
+    return event;
+  }
+
+  static void endAndCommit(Object begunEvent, String commandLine, int exitValue, int outputSize) {
+    CmdTaskEvent event = (CmdTaskEvent) begunEvent;
+    event.end();
+    if (event.shouldCommit()) {
+      event.commandLine = commandLine;
+      event.exitValue = exitValue;
+      event.outputSize = outputSize;
+      event.commit();
+    }
+  }
+}
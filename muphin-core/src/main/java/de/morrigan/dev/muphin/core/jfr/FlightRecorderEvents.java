@@ -0,0 +1,157 @@
+package de.morrigan.dev.muphin.core.jfr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+/**
+ * Emits the Java Flight Recorder events of this framework, so that a recording shows the workflows, phases, test
+ * methods and command line tasks on the same timeline as the events of the JVM.
+ * <p>
+ * The event classes are only loaded if the Java runtime provides the flight recorder API, all methods do nothing
+ * otherwise. As long as an event type is not enabled in a running recording, its {@code begin} method returns
+ * {@code null} without creating an event and the {@code commit} method returns immediately.
+ *
+ * <pre>
+ * Object event = FlightRecorderEvents.beginPhase();
+ * boolean successful = phase.execute();
+ * FlightRecorderEvents.commitPhase(event, workflow.getName(), phase, successful);
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class FlightRecorderEvents {
+
+  /** The name of the event for the run of a workflow */
+  public static final String WORKFLOW = "muphin.Workflow";
+
+  /** The name of the event for the execution of the action of a phase */
+  public static final String PHASE = "muphin.Phase";
+
+  /** The name of the event for the invocation of a test method */
+  public static final String HOOK = "muphin.Hook";
+
+  /** The name of the event for the execution of a command line task */
+  public static final String CMD_TASK = "muphin.CmdTask";
+
+  private static final Logger LOG = LoggerFactory.getLogger(FlightRecorderEvents.class);
+
+  private static final boolean AVAILABLE = isApiPresent();
+
+  private static boolean isApiPresent() {
+    try {
+      Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      LOG.debug("The flight recorder API is not available, no events are emitted");
+      return false;
+    }
+  }
+
+  private FlightRecorderEvents() {
+    super();
+  }
+
+  /**
+   * @return {@code true} if the Java runtime provides the flight recorder API
+   * @since 0.0.1
+   */
+  public static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  /**
+   * @return a begun workflow event, {@code null} if it is not recorded
+   * @since 0.0.1
+   */
+  public static Object beginWorkflow() {
+    return AVAILABLE ? WorkflowEvent.beginIfEnabled() : null;
+  }
+
+  /**
+   * Ends and commits a workflow event.
+   *
+   * @param event an event of {@link #beginWorkflow()}, may be {@code null}
+   * @param workflow the name of the workflow
+   * @since 0.0.1
+   */
+  public static void commitWorkflow(Object event, String workflow) {
+    if (event != null) {
+      WorkflowEvent.endAndCommit(event, workflow);
+    }
+  }
+
+  /**
+   * @return a begun phase event, {@code null} if it is not recorded
+   * @since 0.0.1
+   */
+  public static Object beginPhase() {
+    return AVAILABLE ? PhaseEvent.beginIfEnabled() : null;
+  }
+
+  /**
+   * Ends and commits a phase event.
+   *
+   * @param event an event of {@link #beginPhase()}, may be {@code null}
+   * @param workflow the name of the workflow that executed the phase
+   * @param phase the executed phase
+   * @param successful {@code true} if the action of the phase was successful
+   * @since 0.0.1
+   */
+  public static void commitPhase(Object event, String workflow, AbstractPhase phase, boolean successful) {
+    if (event != null) {
+      PhaseEvent.endAndCommit(event, workflow, phase, successful);
+    }
+  }
+
+  /**
+   * @return a begun hook event, {@code null} if it is not recorded
+   * @since 0.0.1
+   */
+  public static Object beginHook() {
+    return AVAILABLE ? HookEvent.beginIfEnabled() : null;
+  }
+
+  /**
+   * Ends and commits a hook event.
+   *
+   * @param event an event of {@link #beginHook()}, may be {@code null}
+   * @param workflow the name of the workflow of the test method
+   * @param phase the name of the phase of the test method
+   * @param test the display name of the test method
+   * @param beforePhase {@code true} if the test method was invoked before the phase
+   * @param successful {@code true} if the test method was successful
+   * @since 0.0.1
+   */
+  public static void commitHook(Object event, String workflow, String phase, String test, boolean beforePhase,
+      boolean successful) {
+    if (event != null) {
+      HookEvent.endAndCommit(event, workflow, phase, test, beforePhase, successful);
+    }
+  }
+
+  /**
+   * @return a begun command line task event, {@code null} if it is not recorded
+   * @since 0.0.1
+   */
+  public static Object beginCmdTask() {
+    return AVAILABLE ? CmdTaskEvent.beginIfEnabled() : null;
+  }
+
+  /**
+   * Ends and commits a command line task event.
+   *
+   * @param event an event of {@link #beginCmdTask()}, may be {@code null}
+   * @param commandLine the executed command line
+   * @param exitValue the exit value of the command
+   * @param outputSize the number of characters of the response
+   * @since 0.0.1
+   */
+  public static void commitCmdTask(Object event, String commandLine, int exitValue, int outputSize) {
+    if (event != null) {
+      CmdTaskEvent.endAndCommit(event, commandLine, exitValue, outputSize);
+    }
+  }
+}
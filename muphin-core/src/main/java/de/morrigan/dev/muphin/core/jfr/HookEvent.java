@@ -0,0 +1,59 @@
+package de.morrigan.dev.muphin.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for the invocation of a test method before or after a phase.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Name(FlightRecorderEvents.HOOK)
+@Label("Hook")
+@Category("Muphin")
+@Description("The invocation of a test method before or after a phase")
+final class HookEvent extends jdk.jfr.Event {
+
+  private static final EventType TYPE = EventType.getEventType(HookEvent.class);
+
+  @Label("Workflow")
+  String workflow;
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Test")
+  String test;
+
+  @Label("Before Phase")
+  boolean beforePhase;
+
+  @Label("Successful")
+  boolean successful;
+
+  static Object beginIfEnabled() {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+    HookEvent event = new HookEvent();
+    event.begin();
+    return event;
+  }
+
+  static void endAndCommit(Object begunEvent, String workflow, String phase, String test, boolean beforePhase, boolean successful) {
+    HookEvent event = (HookEvent) begunEvent;
+    event.end();
+    if (event.shouldCommit()) {
+      event.workflow = workflow;
+      event.phase = phase;
+      event.test = test;
+      event.beforePhase = beforePhase;
+      event.successful = successful;
+      event.commit();
+    }
+  }
+}
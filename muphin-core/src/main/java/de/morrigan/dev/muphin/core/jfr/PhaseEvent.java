@@ -0,0 +1,57 @@
+package de.morrigan.dev.muphin.core.jfr;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for the execution of the action of a phase.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Name(FlightRecorderEvents.PHASE)
+@Label("Phase")
+@Category("Muphin")
+@Description("The execution of the action of a phase")
+final class PhaseEvent extends jdk.jfr.Event {
+
+  private static final EventType TYPE = EventType.getEventType(PhaseEvent.class);
+
+  @Label("Workflow")
+  String workflow;
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Kind")
+  String kind;
+
+  @Label("Successful")
+  boolean successful;
+
+  static Object beginIfEnabled() {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+    PhaseEvent event = new PhaseEvent();
+    event.begin();
+    return event;
+  }
+
+  static void endAndCommit(Object begunEvent, String workflow, AbstractPhase phase, boolean successful) {
+    PhaseEvent event = (PhaseEvent) begunEvent;
+    event.end();
+    if (event.shouldCommit()) {
+      event.workflow = workflow;
+      event.phase = phase.getName();
+      event.kind = phase.getKind();
+      event.successful = successful;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package de.morrigan.dev.muphin.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for the run of a complete workflow.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+@Name(FlightRecorderEvents.WORKFLOW)
+@Label("Workflow")
+@Category("Muphin")
+@Description("The run of a workflow with all its phases and test methods")
+final class WorkflowEvent extends jdk.jfr.Event {
+
+  private static final EventType TYPE = EventType.getEventType(WorkflowEvent.class);
+
+  @Label("Workflow")
+  String workflow;
+
+  static Object beginIfEnabled() {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+    WorkflowEvent event = new WorkflowEvent();
+    event.begin();
+    return event;
+  }
+
+  static void endAndCommit(Object begunEvent, String workflow) {
+    WorkflowEvent event = (WorkflowEvent) begunEvent;
+    event.end();
+    if (event.shouldCommit()) {
+      event.workflow = workflow;
+      event.commit();
+    }
+  }
+}
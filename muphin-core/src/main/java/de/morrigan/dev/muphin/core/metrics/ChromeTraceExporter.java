@@ -0,0 +1,179 @@
+package de.morrigan.dev.muphin.core.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes all measurements of a run as spans into a file in the Chrome trace event format, which can be opened in a
+ * trace viewer like {@code chrome://tracing} or Perfetto. Each thread of the run gets its own row, so that concurrent
+ * workflows, phases and test methods as well as idle threads are easy to spot.
+ * <p>
+ * Each span is written as soon as it is measured, so the run is never held in memory. The file is
+ * {@value #DEFAULT_FILE} by default and can be changed with the system property {@value #FILE_PROPERTY}.
+ *
+ * <pre>
+ * &#64;RunWith(WorkflowRunner.class)
+ * &#64;WorkflowSuite(metricsListeners = ChromeTraceExporter.class)
+ * public class MyTestSuite {
+ *
+ * }
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class ChromeTraceExporter implements MetricsListener {
+
+  /** System property to override the file to which the trace is written */
+  public static final String FILE_PROPERTY = "muphin.traceFile";
+
+  /** The file to which the trace is written by default */
+  public static final String DEFAULT_FILE = "target/muphin-trace.json";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ChromeTraceExporter.class);
+
+  private final Path file;
+  private final long startTime = System.nanoTime();
+  private final Set<Long> namedThreads = new HashSet<>();
+  private final StringBuilder event = new StringBuilder(256);
+  private Writer writer;
+  private boolean empty = true;
+
+  /**
+   * Creates a new exporter that writes into the file of the system property {@value #FILE_PROPERTY} or into
+   * {@value #DEFAULT_FILE}.
+   *
+   * @since 0.0.1
+   */
+  public ChromeTraceExporter() {
+    this(Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_FILE)));
+  }
+
+  /**
+   * Creates a new exporter.
+   *
+   * @param file a file to which the trace is written, an existing file is overwritten
+   * @throws UncheckedIOException if the file can't be created
+   * @since 0.0.1
+   */
+  public ChromeTraceExporter(Path file) {
+    super();
+    this.file = file;
+    try {
+      Path directory = file.toAbsolutePath().getParent();
+      if (directory != null) {
+        Files.createDirectories(directory);
+      }
+      this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+      this.writer.write('[');
+    } catch (IOException e) {
+      throw new UncheckedIOException(StringUtils.join("The trace file ", file, " can't be created."), e);
+    }
+  }
+
+  /**
+   * @return the file to which the trace is written
+   * @since 0.0.1
+   */
+  public Path getFile() {
+    return this.file;
+  }
+
+  @Override
+  public synchronized void measured(Measurement measurement) {
+    if (this.writer == null) {
+      return;
+    }
+    this.event.setLength(0);
+    if (this.namedThreads.add(measurement.getThreadId())) {
+      // the listener is called on the measuring thread, so its name is still known
+      this.event.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(measurement.getThreadId())
+          .append(",\"args\":{\"name\":");
+      appendString(Thread.currentThread().getName());
+      this.event.append("}},\n");
+    }
+    this.event.append("{\"name\":");
+    appendString(measurement.getName());
+    this.event.append(",\"cat\":\"").append(measurement.getType().name().toLowerCase(Locale.ROOT))
+        .append("\",\"ph\":\"X\",\"ts\":");
+    appendMicros(measurement.getStartTime() - this.startTime);
+    this.event.append(",\"dur\":");
+    appendMicros(measurement.getWallTime());
+    this.event.append(",\"pid\":1,\"tid\":").append(measurement.getThreadId()).append(",\"args\":{\"cpuTime\":");
+    appendMicros(measurement.getCpuTime());
+    this.event.append(",\"allocatedBytes\":").append(measurement.getAllocatedBytes()).append("}}");
+    try {
+      if (!this.empty) {
+        this.writer.write(",\n");
+      }
+      this.writer.append(this.event);
+      this.empty = false;
+    } catch (IOException e) {
+      LOG.error("The trace file {} can't be written, no further spans are exported", this.file, e);
+      close();
+    }
+  }
+
+  @Override
+  public synchronized void runFinished() {
+    if (this.writer == null) {
+      return;
+    }
+    try {
+      this.writer.write("]\n");
+      LOG.info("The trace of this run was written to {}", this.file.toAbsolutePath());
+    } catch (IOException e) {
+      LOG.error("The trace file {} can't be written", this.file, e);
+    }
+    close();
+  }
+
+  private void close() {
+    try {
+      this.writer.close();
+    } catch (IOException e) {
+      LOG.error("The trace file {} can't be closed", this.file, e);
+    }
+    this.writer = null;
+  }
+
+  private void appendMicros(long nanos) {
+    if (nanos < 0) {
+      this.event.append(nanos);
+      return;
+    }
+    this.event.append(nanos / 1000).append('.');
+    long fraction = nanos % 1000;
+    if (fraction < 100) {
+      this.event.append(fraction < 10 ? "00" : "0");
+    }
+    this.event.append(fraction);
+  }
+
+  private void appendString(String value) {
+    this.event.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        this.event.append('\\').append(c);
+      } else if (c < 0x20) {
+        this.event.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+      } else {
+        this.event.append(c);
+      }
+    }
+    this.event.append('"');
+  }
+}
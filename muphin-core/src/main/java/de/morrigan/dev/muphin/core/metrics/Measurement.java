@@ -0,0 +1,172 @@
+package de.morrigan.dev.muphin.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The wall time, CPU time and allocated bytes of a single workflow, phase action, test method or command line task.
+ * <p>
+ * The CPU time and the allocated bytes are taken from the {@link ThreadMXBean} of the thread that started the
+ * measurement. Work that is done on other threads, e.g. concurrent test methods of a workflow, is only included in
+ * their own measurements. If the Java runtime does not support a value, it is {@code -1}.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class Measurement {
+
+  /**
+   * The kind of a measured unit.
+   */
+  public enum Type {
+
+    /** The run of a complete workflow */
+    WORKFLOW,
+
+    /** The action of a phase */
+    PHASE,
+
+    /** The invocation of a test method */
+    HOOK,
+
+    /** The execution of a command line task within the action of a phase */
+    CMD_TASK
+  }
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+
+  private static final com.sun.management.ThreadMXBean ALLOCATIONS = getAllocationBean();
+
+  private static boolean isCpuTimeSupported() {
+    try {
+      return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    } catch (UnsupportedOperationException e) {
+      return false;
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean getAllocationBean() {
+    if (THREADS instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREADS;
+      if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+        return bean;
+      }
+    }
+    return null;
+  }
+
+  private static long currentCpuTime() {
+    return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+  }
+
+  private static long currentAllocatedBytes(long threadId) {
+    return ALLOCATIONS == null ? -1 : ALLOCATIONS.getThreadAllocatedBytes(threadId);
+  }
+
+  private final Type type;
+  private final String name;
+  private final long threadId;
+  private final long startTime;
+  private long wallTime = -1;
+  private long cpuTime;
+  private long allocatedBytes;
+
+  /**
+   * Starts a new measurement on the current thread.
+   *
+   * @param type the kind of the measured unit
+   * @param name the name of the measured unit
+   * @since 0.0.1
+   */
+  Measurement(Type type, String name) {
+    super();
+    this.type = type;
+    this.name = name;
+    this.threadId = Thread.currentThread().getId();
+    this.cpuTime = currentCpuTime();
+    this.allocatedBytes = currentAllocatedBytes(this.threadId);
+    this.startTime = System.nanoTime();
+  }
+
+  /**
+   * Stops this measurement. It must be called on the thread that started the measurement.
+   *
+   * @throws IllegalStateException if the measurement is already stopped
+   * @since 0.0.1
+   */
+  void stop() {
+    long endTime = System.nanoTime();
+    if (this.wallTime >= 0) {
+      throw new IllegalStateException(StringUtils.join("The measurement of ", this.name, " is already stopped."));
+    }
+    this.wallTime = endTime - this.startTime;
+    this.cpuTime = this.cpuTime < 0 ? -1 : currentCpuTime() - this.cpuTime;
+    this.allocatedBytes = this.allocatedBytes < 0 ? -1 : currentAllocatedBytes(this.threadId) - this.allocatedBytes;
+  }
+
+  /**
+   * @return the kind of the measured unit
+   * @since 0.0.1
+   */
+  public Type getType() {
+    return this.type;
+  }
+
+  /**
+   * @return the name of the measured unit
+   * @since 0.0.1
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * @return the id of the thread on which the unit was measured
+   * @since 0.0.1
+   */
+  public long getThreadId() {
+    return this.threadId;
+  }
+
+  /**
+   * @return the value of {@link System#nanoTime()} at the start of the measurement
+   * @since 0.0.1
+   */
+  public long getStartTime() {
+    return this.startTime;
+  }
+
+  /**
+   * @return the elapsed wall time in nanoseconds
+   * @since 0.0.1
+   */
+  public long getWallTime() {
+    return this.wallTime;
+  }
+
+  /**
+   * @return the CPU time of the measuring thread in nanoseconds, {@code -1} if not supported
+   * @since 0.0.1
+   */
+  public long getCpuTime() {
+    return this.cpuTime;
+  }
+
+  /**
+   * @return the bytes that were allocated by the measuring thread, {@code -1} if not supported
+   * @since 0.0.1
+   */
+  public long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  @Override
+  public String toString() {
+    return StringUtils.join("Measurement [type=", this.type, ", name=", this.name, ", wallTime=", this.wallTime,
+        ", cpuTime=", this.cpuTime, ", allocatedBytes=", this.allocatedBytes, "]");
+  }
+}
@@ -0,0 +1,119 @@
+package de.morrigan.dev.muphin.core.metrics;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.metrics.Measurement.Type;
+
+/**
+ * Records the measurements of a single test run and passes them to all {@link MetricsListener listeners}.
+ * <p>
+ * Recording a unit only allocates its {@link Measurement}, so the metrics can stay enabled for every run. While the
+ * action of a phase is executed, the metrics of its run are {@link #current() current} on the executing thread, so
+ * that tasks of the phase can record their own measurements.
+ *
+ * <pre>
+ * Measurement measurement = metrics.start(Type.PHASE, phase.getName());
+ * try {
+ *   phase.execute();
+ * } finally {
+ *   metrics.stop(measurement);
+ * }
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class Metrics {
+
+  private static final Logger LOG = LoggerFactory.getLogger(Metrics.class);
+
+  private static final ThreadLocal<Metrics> CURRENT = new ThreadLocal<>();
+
+  /**
+   * @return the metrics of the run whose phase is executed by the current thread, empty if no phase is executed
+   * @since 0.0.1
+   */
+  public static Optional<Metrics> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Sets the metrics of the run whose phase is executed by the current thread.
+   *
+   * @param metrics the metrics of the run, {@code null} to remove the metrics of the current thread
+   * @return the previous metrics of the current thread, {@code null} if it had none
+   * @since 0.0.1
+   */
+  public static Metrics setCurrent(Metrics metrics) {
+    Metrics previous = CURRENT.get();
+    if (metrics == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(metrics);
+    }
+    return previous;
+  }
+
+  private final MetricsListener[] listeners;
+
+  /**
+   * Creates new metrics.
+   *
+   * @param listeners the listeners that receive all measurements
+   * @since 0.0.1
+   */
+  public Metrics(List<MetricsListener> listeners) {
+    super();
+    this.listeners = listeners.toArray(new MetricsListener[0]);
+  }
+
+  /**
+   * Starts the measurement of a unit on the current thread.
+   *
+   * @param type the kind of the unit
+   * @param name the name of the unit
+   * @return a running measurement
+   * @since 0.0.1
+   */
+  public Measurement start(Type type, String name) {
+    return new Measurement(type, name);
+  }
+
+  /**
+   * Stops the given measurement and passes it to all listeners. A failing listener is logged and does not prevent the
+   * other listeners from being called.
+   *
+   * @param measurement a measurement that was started on the current thread
+   * @throws IllegalStateException if the measurement is already stopped
+   * @since 0.0.1
+   */
+  public void stop(Measurement measurement) {
+    measurement.stop();
+    for (MetricsListener listener : this.listeners) {
+      try {
+        listener.measured(measurement);
+      } catch (RuntimeException e) {
+        LOG.error("The metrics listener {} failed", listener.getClass().getName(), e);
+      }
+    }
+  }
+
+  /**
+   * Informs all listeners that the run is finished.
+   *
+   * @since 0.0.1
+   */
+  public void runFinished() {
+    for (MetricsListener listener : this.listeners) {
+      try {
+        listener.runFinished();
+      } catch (RuntimeException e) {
+        LOG.error("The metrics listener {} failed", listener.getClass().getName(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package de.morrigan.dev.muphin.core.metrics;
+
+/**
+ * Receives the {@link Measurement measurements} of a test run.
+ * <p>
+ * A listener is called on the thread that measured the unit, so it has to be thread safe if workflows, phases or test
+ * methods are run in parallel. It should return quickly, because its time is part of the enclosing measurements.
+ * Listeners need a public no-argument constructor to be configured on a suite.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public interface MetricsListener {
+
+  /**
+   * Called after a workflow, a phase action or a test method was measured.
+   *
+   * @param measurement a stopped measurement
+   * @since 0.0.1
+   */
+  void measured(Measurement measurement);
+
+  /**
+   * Called once after all workflows of the run are finished.
+   *
+   * @since 0.0.1
+   */
+  default void runFinished() {
+    // nothing to do by default
+  }
+}
@@ -0,0 +1,169 @@
+package de.morrigan.dev.muphin.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.metrics.Measurement.Type;
+
+/**
+ * Sums up all measurements of a run per workflow, phase and test method and logs them as a table when the run is
+ * finished.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class MetricsSummary implements MetricsListener {
+
+  /**
+   * The summed up measurements of a single workflow, phase or test method.
+   */
+  public static final class Statistic {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder wallTime = new LongAdder();
+    private final LongAccumulator maxWallTime = new LongAccumulator(Math::max, 0);
+    private final LongAdder cpuTime = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private void add(Measurement measurement) {
+      this.count.increment();
+      this.wallTime.add(measurement.getWallTime());
+      this.maxWallTime.accumulate(measurement.getWallTime());
+      this.cpuTime.add(Math.max(measurement.getCpuTime(), 0));
+      this.allocatedBytes.add(Math.max(measurement.getAllocatedBytes(), 0));
+    }
+
+    /**
+     * @return the number of measurements
+     * @since 0.0.1
+     */
+    public long getCount() {
+      return this.count.sum();
+    }
+
+    /**
+     * @return the summed up wall time in nanoseconds
+     * @since 0.0.1
+     */
+    public long getWallTime() {
+      return this.wallTime.sum();
+    }
+
+    /**
+     * @return the longest wall time of a single measurement in nanoseconds
+     * @since 0.0.1
+     */
+    public long getMaxWallTime() {
+      return this.maxWallTime.get();
+    }
+
+    /**
+     * @return the summed up CPU time in nanoseconds
+     * @since 0.0.1
+     */
+    public long getCpuTime() {
+      return this.cpuTime.sum();
+    }
+
+    /**
+     * @return the summed up allocated bytes
+     * @since 0.0.1
+     */
+    public long getAllocatedBytes() {
+      return this.allocatedBytes.sum();
+    }
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(MetricsSummary.class);
+
+  private static final String ROW_FORMAT = "%-8s  %-{}s  %7s  %12s  %12s  %12s  %14s%n";
+
+  private final Map<Type, ConcurrentMap<String, Statistic>> statistics = new EnumMap<>(Type.class);
+
+  /**
+   * Creates a new empty summary.
+   *
+   * @since 0.0.1
+   */
+  public MetricsSummary() {
+    super();
+    for (Type type : Type.values()) {
+      this.statistics.put(type, new ConcurrentHashMap<>());
+    }
+  }
+
+  @Override
+  public void measured(Measurement measurement) {
+    ConcurrentMap<String, Statistic> statisticsOfType = this.statistics.get(measurement.getType());
+    Statistic statistic = statisticsOfType.get(measurement.getName());
+    if (statistic == null) {
+      statistic = statisticsOfType.computeIfAbsent(measurement.getName(), name -> new Statistic());
+    }
+    statistic.add(measurement);
+  }
+
+  @Override
+  public void runFinished() {
+    if (LOG.isInfoEnabled()) {
+      LOG.info("Metrics of this run{}{}", System.lineSeparator(), toTable());
+    }
+  }
+
+  /**
+   * @param type the kind of the unit
+   * @param name the name of the unit
+   * @return the summed up measurements of the unit, empty if it was not measured
+   * @since 0.0.1
+   */
+  public Optional<Statistic> getStatistic(Type type, String name) {
+    return Optional.ofNullable(this.statistics.get(type).get(name));
+  }
+
+  /**
+   * Formats all statistics as a table. The rows are grouped by their type and sorted by their wall time, the longest
+   * first.
+   *
+   * @return a table with one row per measured unit
+   * @since 0.0.1
+   */
+  public String toTable() {
+    int nameWidth = "Name".length();
+    for (ConcurrentMap<String, Statistic> statisticsOfType : this.statistics.values()) {
+      for (String name : statisticsOfType.keySet()) {
+        nameWidth = Math.max(nameWidth, name.length());
+      }
+    }
+    String rowFormat = ROW_FORMAT.replace("{}", String.valueOf(nameWidth));
+    StringBuilder table = new StringBuilder();
+    table.append(String.format(Locale.ROOT, rowFormat, "Type", "Name", "Count", "Wall ms", "Max wall ms", "CPU ms",
+        "Allocated KiB"));
+    for (Map.Entry<Type, ConcurrentMap<String, Statistic>> entry : this.statistics.entrySet()) {
+      List<Map.Entry<String, Statistic>> rows = new ArrayList<>(entry.getValue().entrySet());
+      rows.sort(Comparator.comparingLong((Map.Entry<String, Statistic> row) -> row.getValue().getWallTime())
+          .reversed());
+      for (Map.Entry<String, Statistic> row : rows) {
+        Statistic statistic = row.getValue();
+        table.append(String.format(Locale.ROOT, rowFormat, entry.getKey(), row.getKey(), statistic.getCount(),
+            millis(statistic.getWallTime()), millis(statistic.getMaxWallTime()), millis(statistic.getCpuTime()),
+            statistic.getAllocatedBytes() / 1024));
+      }
+    }
+    return table.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+  }
+}
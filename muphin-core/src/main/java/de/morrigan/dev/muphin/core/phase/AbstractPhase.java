@@ -1,5 +1,7 @@
 package de.morrigan.dev.muphin.core.phase;
 
+import de.morrigan.dev.muphin.core.annotation.Shareable;
+
 /**
  * Defines any phase or task within a process or workflow.
  * <p>
@@ -49,6 +51,18 @@ public abstract class AbstractPhase {
     return this.name;
   }
 
+  /**
+   * Returns a key that identifies the result of this phase, if the phase is marked as {@link Shareable}. Phases with
+   * the same key are only executed once per run. By default, the key is the class of this phase. Override this method
+   * if the action of this phase depends on inputs that can differ between workflows.
+   *
+   * @return a key with proper {@code equals} and {@code hashCode} methods
+   * @since 0.0.1
+   */
+  public Object getShareKey() {
+    return getClass();
+  }
+
   /**
    * Executes the action that belongs to this phase. Has to be implemented by all subclasses.
    *
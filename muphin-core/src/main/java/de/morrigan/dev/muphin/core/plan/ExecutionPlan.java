@@ -0,0 +1,148 @@
+package de.morrigan.dev.muphin.core.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+
+/**
+ * An immutable plan of all workflows, their phases and the test methods that are executed before and after each phase.
+ * <p>
+ * The plan is created once by an {@link ExecutionPlanBuilder} from the discovered test classes. All descriptions are
+ * precomputed, so that the {@link WorkflowRunner} can walk through the plan without any lookups. Filtering a plan
+ * creates a new plan.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class ExecutionPlan {
+
+  private final WorkflowPlan[] workflows;
+  private final int testClassesAmount;
+  private final Description description;
+
+  ExecutionPlan(WorkflowPlan[] workflows, int testClassesAmount, Description description) {
+    super();
+    this.workflows = workflows;
+    this.testClassesAmount = testClassesAmount;
+    this.description = description;
+    for (WorkflowPlan workflow : workflows) {
+      description.addChild(workflow.getDescription());
+    }
+  }
+
+  /**
+   * @return the number of workflows of this plan
+   * @since 0.0.1
+   */
+  public int getWorkflowCount() {
+    return this.workflows.length;
+  }
+
+  /**
+   * @param index an index of a workflow
+   * @return a workflow of this plan
+   * @since 0.0.1
+   */
+  public WorkflowPlan getWorkflow(int index) {
+    return this.workflows[index];
+  }
+
+  /**
+   * @return the number of workflows to which at least one test class is bound
+   * @since 0.0.1
+   */
+  public int getBoundWorkflowCount() {
+    int count = 0;
+    for (WorkflowPlan workflow : this.workflows) {
+      if (workflow.isTestClassesBound()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the number of test classes from which this plan was created
+   * @since 0.0.1
+   */
+  public int getTestClassesAmount() {
+    return this.testClassesAmount;
+  }
+
+  /**
+   * @return the number of all test methods of this plan
+   * @since 0.0.1
+   */
+  public int getHookCount() {
+    int count = 0;
+    for (WorkflowPlan workflow : this.workflows) {
+      count += workflow.getHookCount();
+    }
+    return count;
+  }
+
+  /**
+   * @return {@code true} if at least one test method of this plan can be run concurrently
+   * @since 0.0.1
+   */
+  public boolean hasConcurrentHooks() {
+    for (WorkflowPlan workflow : this.workflows) {
+      if (workflow.hasConcurrentHooks()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return {@code true} if the phases of all workflows of this plan are executed one after the other
+   * @since 0.0.1
+   */
+  public boolean isSequential() {
+    for (WorkflowPlan workflow : this.workflows) {
+      if (!workflow.isSequential()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the description of the test suite including the descriptions of all its workflows
+   * @since 0.0.1
+   */
+  public Description getDescription() {
+    return this.description;
+  }
+
+  /**
+   * Creates a new plan that only contains the test methods that pass the given filter. Workflows without any remaining
+   * test method are removed from the plan, the other workflows only execute the phases that their remaining test
+   * methods require.
+   *
+   * @param filter a filter to apply
+   * @return a filtered plan
+   * @throws NoTestsRemainException if all test methods are filtered out
+   * @since 0.0.1
+   */
+  public ExecutionPlan filter(Filter filter) throws NoTestsRemainException {
+    List<WorkflowPlan> filteredWorkflows = new ArrayList<>(this.workflows.length);
+    for (WorkflowPlan workflow : this.workflows) {
+      WorkflowPlan filteredWorkflow = workflow.filter(filter);
+      if (filteredWorkflow.getHookCount() > 0) {
+        filteredWorkflows.add(filteredWorkflow);
+      }
+    }
+    ExecutionPlan filteredPlan = new ExecutionPlan(filteredWorkflows.toArray(new WorkflowPlan[0]),
+        this.testClassesAmount, this.description.childlessCopy());
+    if (filteredPlan.getHookCount() == 0) {
+      throw new NoTestsRemainException();
+    }
+    return filteredPlan;
+  }
+}
@@ -0,0 +1,210 @@
+package de.morrigan.dev.muphin.core.plan;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.internal.MethodSorter;
+import org.junit.runner.Description;
+import org.junit.runners.model.FrameworkMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.annotation.Concurrent;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+import de.morrigan.dev.muphin.core.phase.NoPhase;
+import de.morrigan.dev.muphin.core.phase.SetupPhase;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+import de.morrigan.dev.muphin.core.workflow.PhaseGraph;
+
+/**
+ * Compiles test classes with a {@link WorkflowTest} annotation into an {@link ExecutionPlan}.
+ * <p>
+ * Each test method is assigned to a workflow and a phase. Therefore, the workflow of each test class is determined
+ * first. Then the {@link Phase} annotation is used to assign the test methods to the phases of this workflow. A
+ * distinction is made between test methods that are executed before a phase and test methods that are executed after
+ * a phase.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class ExecutionPlanBuilder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutionPlanBuilder.class);
+
+  private final InstanceManager instances;
+  private final Function<FrameworkMethod, Description> describer;
+  private final Map<AbstractWorkflow, Map<AbstractPhase, List<HookPlan>>> beforeHooks;
+  private final Map<AbstractWorkflow, Map<AbstractPhase, List<HookPlan>>> afterHooks;
+  private final Map<AbstractWorkflow, Set<Class<?>>> testClasses;
+  private int testClassesAmount;
+
+  /**
+   * Creates a new builder.
+   *
+   * @param instances a manager that provides the instances of all workflows and phases
+   * @param describer creates the description of a test method
+   * @since 0.0.1
+   */
+  public ExecutionPlanBuilder(InstanceManager instances, Function<FrameworkMethod, Description> describer) {
+    super();
+    this.instances = instances;
+    this.describer = describer;
+    this.beforeHooks = new LinkedHashMap<>();
+    this.afterHooks = new LinkedHashMap<>();
+    this.testClasses = new HashMap<>();
+  }
+
+  /**
+   * Adds a test class and assigns its phase methods to the phases of its workflow.
+   *
+   * @param workflowTestClass a test class with a {@link WorkflowTest} annotation
+   * @param phaseMethodNames names of the methods with a {@link Phase} annotation that are added
+   * @return this builder
+   * @since 0.0.1
+   */
+  public ExecutionPlanBuilder addTestClass(Class<?> workflowTestClass, Collection<String> phaseMethodNames) {
+    WorkflowTest annotation = workflowTestClass.getAnnotation(WorkflowTest.class);
+    if (annotation == null) {
+      LOG.warn("The test class {} has no @WorkflowTest annotation anymore. Please recompile your tests.",
+          workflowTestClass.getName());
+      return this;
+    }
+    this.testClassesAmount++;
+    AbstractWorkflow workflow = this.instances.getWorkflow(annotation.value());
+    this.testClasses.computeIfAbsent(workflow, key -> new LinkedHashSet<>()).add(workflowTestClass);
+    Map<AbstractPhase, List<HookPlan>> before = this.beforeHooks.computeIfAbsent(workflow, key -> new HashMap<>());
+    Map<AbstractPhase, List<HookPlan>> after = this.afterHooks.computeIfAbsent(workflow, key -> new HashMap<>());
+
+    for (Method method : MethodSorter.getDeclaredMethods(workflowTestClass)) {
+      Phase phaseAnnotation = method.getAnnotation(Phase.class);
+      if (phaseAnnotation != null && phaseMethodNames.contains(method.getName())) {
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        addHook(before, phaseAnnotation.beforePhase(), frameworkMethod);
+        addHook(after, phaseAnnotation.afterPhase(), frameworkMethod);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Binds a test class to its workflow without adding its test methods. The class is only part of the
+   * {@link WorkflowPlan#getTestClasses() test classes} of the workflow, e.g. when a single test class of the workflow
+   * is run, but the checkpoints of the workflow must match the ones of the whole suite.
+   *
+   * @param workflowTestClass a test class with a {@link WorkflowTest} annotation
+   * @return this builder
+   * @since 0.0.1
+   */
+  public ExecutionPlanBuilder bindTestClass(Class<?> workflowTestClass) {
+    WorkflowTest annotation = workflowTestClass.getAnnotation(WorkflowTest.class);
+    if (annotation != null) {
+      AbstractWorkflow workflow = this.instances.getWorkflow(annotation.value());
+      this.testClasses.computeIfAbsent(workflow, key -> new LinkedHashSet<>()).add(workflowTestClass);
+    }
+    return this;
+  }
+
+  /**
+   * Builds the plan for all workflows that are known to the instance manager. The phases of a workflow are only
+   * executed if at least one test class was added for it.
+   *
+   * @param suiteDescription a childless description of the test suite
+   * @return an immutable execution plan
+   * @since 0.0.1
+   */
+  public ExecutionPlan build(Description suiteDescription) {
+    List<AbstractWorkflow> workflows = this.instances.getWorkflows();
+    WorkflowPlan[] workflowPlans = new WorkflowPlan[workflows.size()];
+    for (int i = 0; i < workflowPlans.length; i++) {
+      workflowPlans[i] = buildWorkflow(workflows.get(i));
+    }
+    LOG.trace("All test methods grouped by workflow and phases: before {}, after {}", this.beforeHooks,
+        this.afterHooks);
+    return new ExecutionPlan(workflowPlans, this.testClassesAmount, suiteDescription);
+  }
+
+  private WorkflowPlan buildWorkflow(AbstractWorkflow workflow) {
+    Map<AbstractPhase, List<HookPlan>> before = this.beforeHooks.getOrDefault(workflow, Collections.emptyMap());
+    Map<AbstractPhase, List<HookPlan>> after = this.afterHooks.getOrDefault(workflow, Collections.emptyMap());
+
+    List<AbstractPhase> phases = new ArrayList<>();
+    phases.add(this.instances.getPhase(SetupPhase.class));
+    PhaseGraph phaseGraph = workflow.getPhaseGraph();
+    for (Class<? extends AbstractPhase> phaseClass : phaseGraph.getPhaseClasses()) {
+      phases.add(this.instances.getPhase(phaseClass));
+    }
+    phases.add(this.instances.getPhase(TearDownPhase.class));
+
+    PhasePlan[] phasePlans = new PhasePlan[phases.size()];
+    for (int i = 0; i < phasePlans.length; i++) {
+      AbstractPhase phase = phases.get(i);
+      phasePlans[i] = new PhasePlan(phase, toArray(before.get(phase)), toArray(after.get(phase)));
+    }
+    return new WorkflowPlan(workflow, phasePlans, buildPrerequisites(phaseGraph),
+        this.beforeHooks.containsKey(workflow),
+        new ArrayList<>(this.testClasses.getOrDefault(workflow, Collections.emptySet())));
+  }
+
+  private int[][] buildPrerequisites(PhaseGraph graph) {
+    /*
+     * The phases of the graph are shifted by one slot, because the first slot is the setup phase. Phases without
+     * prerequisites depend on the setup phase and the tear down phase depends on all phases without successors.
+     */
+    int[][] prerequisites = new int[graph.size() + 2][];
+    prerequisites[0] = new int[0];
+    boolean[] hasSuccessor = new boolean[graph.size()];
+    for (int i = 0; i < graph.size(); i++) {
+      int[] graphPrerequisites = graph.getPrerequisites(i);
+      if (graphPrerequisites.length == 0) {
+        prerequisites[i + 1] = new int[] {
+            0
+        };
+      } else {
+        prerequisites[i + 1] = new int[graphPrerequisites.length];
+        for (int p = 0; p < graphPrerequisites.length; p++) {
+          prerequisites[i + 1][p] = graphPrerequisites[p] + 1;
+          hasSuccessor[graphPrerequisites[p]] = true;
+        }
+      }
+    }
+    List<Integer> lastPhases = new ArrayList<>();
+    for (int i = 0; i < graph.size(); i++) {
+      if (!hasSuccessor[i]) {
+        lastPhases.add(i + 1);
+      }
+    }
+    if (lastPhases.isEmpty()) {
+      lastPhases.add(0);
+    }
+    prerequisites[graph.size() + 1] = lastPhases.stream().mapToInt(Integer::intValue).toArray();
+    return prerequisites;
+  }
+
+  private void addHook(Map<AbstractPhase, List<HookPlan>> hooks, Class<? extends AbstractPhase> phaseClass,
+      FrameworkMethod method) {
+    AbstractPhase phase = this.instances.getPhase(phaseClass);
+    if (!(phase instanceof NoPhase)) {
+      boolean concurrent = method.getAnnotation(Concurrent.class) != null
+          || method.getDeclaringClass().isAnnotationPresent(Concurrent.class);
+      hooks.computeIfAbsent(phase, key -> new ArrayList<>())
+          .add(new HookPlan(method, this.describer.apply(method), concurrent));
+    }
+  }
+
+  private HookPlan[] toArray(List<HookPlan> hooks) {
+    return hooks == null ? new HookPlan[0] : hooks.toArray(new HookPlan[hooks.size()]);
+  }
+}
@@ -0,0 +1,57 @@
+package de.morrigan.dev.muphin.core.plan;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.FrameworkMethod;
+
+import de.morrigan.dev.muphin.core.annotation.Concurrent;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+
+/**
+ * A test method that is bound with a {@link Phase} annotation before or after a phase of a workflow, together with its
+ * precomputed description.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class HookPlan {
+
+  private final FrameworkMethod method;
+  private final Description description;
+  private final boolean concurrent;
+
+  HookPlan(FrameworkMethod method, Description description, boolean concurrent) {
+    super();
+    this.method = method;
+    this.description = description;
+    this.concurrent = concurrent;
+  }
+
+  /**
+   * @return the test method
+   * @since 0.0.1
+   */
+  public FrameworkMethod getMethod() {
+    return this.method;
+  }
+
+  /**
+   * @return the description of the test method
+   * @since 0.0.1
+   */
+  public Description getDescription() {
+    return this.description;
+  }
+
+  /**
+   * @return {@code true} if the test method or its test class has a {@link Concurrent} annotation
+   * @since 0.0.1
+   */
+  public boolean isConcurrent() {
+    return this.concurrent;
+  }
+
+  @Override
+  public String toString() {
+    return this.method.toString();
+  }
+}
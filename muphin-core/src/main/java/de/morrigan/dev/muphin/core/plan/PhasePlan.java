@@ -0,0 +1,146 @@
+package de.morrigan.dev.muphin.core.plan;
+
+import java.util.Arrays;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+/**
+ * A single phase slot of a {@link WorkflowPlan} with all test methods that are executed before and after the phase.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class PhasePlan {
+
+  private static final HookPlan[] NO_HOOKS = new HookPlan[0];
+
+  private final AbstractPhase phase;
+  private final HookPlan[] beforeHooks;
+  private final HookPlan[] afterHooks;
+  private final Description description;
+
+  PhasePlan(AbstractPhase phase, HookPlan[] beforeHooks, HookPlan[] afterHooks) {
+    this(phase, beforeHooks, afterHooks,
+        Description.createTestDescription(phase.getClass(), phase.getClass().getSimpleName()));
+  }
+
+  private PhasePlan(AbstractPhase phase, HookPlan[] beforeHooks, HookPlan[] afterHooks, Description description) {
+    super();
+    this.phase = phase;
+    this.beforeHooks = beforeHooks.length == 0 ? NO_HOOKS : beforeHooks;
+    this.afterHooks = afterHooks.length == 0 ? NO_HOOKS : afterHooks;
+    this.description = description;
+    for (HookPlan hook : this.beforeHooks) {
+      description.addChild(hook.getDescription());
+    }
+    for (HookPlan hook : this.afterHooks) {
+      description.addChild(hook.getDescription());
+    }
+  }
+
+  /**
+   * @return the phase of this slot
+   * @since 0.0.1
+   */
+  public AbstractPhase getPhase() {
+    return this.phase;
+  }
+
+  /**
+   * @return the number of test methods that are executed before the phase
+   * @since 0.0.1
+   */
+  public int getBeforeHookCount() {
+    return this.beforeHooks.length;
+  }
+
+  /**
+   * @param index an index of a test method
+   * @return a test method that is executed before the phase
+   * @since 0.0.1
+   */
+  public HookPlan getBeforeHook(int index) {
+    return this.beforeHooks[index];
+  }
+
+  /**
+   * @return the number of test methods that are executed after the phase
+   * @since 0.0.1
+   */
+  public int getAfterHookCount() {
+    return this.afterHooks.length;
+  }
+
+  /**
+   * @param index an index of a test method
+   * @return a test method that is executed after the phase
+   * @since 0.0.1
+   */
+  public HookPlan getAfterHook(int index) {
+    return this.afterHooks[index];
+  }
+
+  /**
+   * @return the number of all test methods of this phase
+   * @since 0.0.1
+   */
+  public int getHookCount() {
+    return this.beforeHooks.length + this.afterHooks.length;
+  }
+
+  /**
+   * @return {@code true} if at least one test method of this phase can be run concurrently
+   * @since 0.0.1
+   */
+  public boolean hasConcurrentHooks() {
+    for (HookPlan hook : this.beforeHooks) {
+      if (hook.isConcurrent()) {
+        return true;
+      }
+    }
+    for (HookPlan hook : this.afterHooks) {
+      if (hook.isConcurrent()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the description of this phase including the descriptions of all its test methods
+   * @since 0.0.1
+   */
+  public Description getDescription() {
+    return this.description;
+  }
+
+  PhasePlan filter(Filter filter) {
+    return new PhasePlan(this.phase, filter(filter, this.beforeHooks), filter(filter, this.afterHooks),
+        this.description.childlessCopy());
+  }
+
+  private static HookPlan[] filter(Filter filter, HookPlan[] hooks) {
+    HookPlan[] filteredHooks = new HookPlan[hooks.length];
+    int count = 0;
+    for (HookPlan hook : hooks) {
+      if (filter.shouldRun(hook.getDescription())) {
+        try {
+          filter.apply(hook.getMethod());
+          filteredHooks[count++] = hook;
+        } catch (NoTestsRemainException e) {
+          // the test method is removed from the plan
+        }
+      }
+    }
+    return Arrays.copyOf(filteredHooks, count);
+  }
+
+  @Override
+  public String toString() {
+    return this.phase.getName();
+  }
+}
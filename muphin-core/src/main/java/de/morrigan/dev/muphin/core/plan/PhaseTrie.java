@@ -0,0 +1,152 @@
+package de.morrigan.dev.muphin.core.plan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+/**
+ * A prefix tree over the phase sequences of several workflows.
+ * <p>
+ * Workflows that start with the same phases share the nodes of these phases, so that each common prefix only has to be
+ * executed once. A node has one child for each different phase that follows it, which makes it a branch point at which
+ * the workflows diverge. Only sequential workflows can be added to a trie.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class PhaseTrie {
+
+  /**
+   * A phase slot that is shared by all workflows with the same phases up to and including this slot.
+   *
+   * @author morrigan
+   * @since 0.0.1
+   */
+  public static final class Node {
+
+    private final AbstractPhase phase;
+    private final int depth;
+    private final List<WorkflowPlan> workflows = new ArrayList<>();
+    private final List<Node> children = new ArrayList<>();
+
+    private Node(AbstractPhase phase, int depth) {
+      super();
+      this.phase = phase;
+      this.depth = depth;
+    }
+
+    /**
+     * @return the phase of this node
+     * @since 0.0.1
+     */
+    public AbstractPhase getPhase() {
+      return this.phase;
+    }
+
+    /**
+     * @return the index of the phase slot of this node in all its workflows
+     * @since 0.0.1
+     */
+    public int getDepth() {
+      return this.depth;
+    }
+
+    /**
+     * @return all workflows that pass this node in the order they were added
+     * @since 0.0.1
+     */
+    public List<WorkflowPlan> getWorkflows() {
+      return Collections.unmodifiableList(this.workflows);
+    }
+
+    /**
+     * @return all nodes that follow this node, more than one if this node is a branch point
+     * @since 0.0.1
+     */
+    public List<Node> getChildren() {
+      return Collections.unmodifiableList(this.children);
+    }
+
+    private Node getOrAddChild(AbstractPhase childPhase) {
+      for (Node child : this.children) {
+        if (child.phase == childPhase) {
+          return child;
+        }
+      }
+      Node child = new Node(childPhase, this.depth + 1);
+      this.children.add(child);
+      return child;
+    }
+
+    @Override
+    public String toString() {
+      return this.phase.getName();
+    }
+  }
+
+  /**
+   * Creates a trie over the given workflows.
+   *
+   * @param workflows sequential workflows
+   * @return a trie that contains all given workflows
+   * @throws IllegalArgumentException if a workflow is not sequential
+   * @since 0.0.1
+   */
+  public static PhaseTrie of(List<WorkflowPlan> workflows) {
+    PhaseTrie trie = new PhaseTrie();
+    workflows.forEach(trie::add);
+    return trie;
+  }
+
+  private final Node root = new Node(null, -1);
+  private int nodeCount;
+  private int phaseSlotCount;
+
+  private PhaseTrie() {
+    super();
+  }
+
+  /**
+   * @return the nodes of the first phase slot, usually a single node with the setup phase
+   * @since 0.0.1
+   */
+  public List<Node> getRoots() {
+    return this.root.getChildren();
+  }
+
+  /**
+   * @return the number of nodes, which is the number of phase executions that are needed to run all workflows
+   * @since 0.0.1
+   */
+  public int getNodeCount() {
+    return this.nodeCount;
+  }
+
+  /**
+   * @return the number of phase slots of all workflows, which is the number of phase executions without this trie
+   * @since 0.0.1
+   */
+  public int getPhaseSlotCount() {
+    return this.phaseSlotCount;
+  }
+
+  private void add(WorkflowPlan workflow) {
+    if (!workflow.isSequential()) {
+      throw new IllegalArgumentException(StringUtils.join("The workflow ", workflow,
+          " has a phase graph and can't share its phases with other workflows."));
+    }
+    Node node = this.root;
+    for (int p = 0; p < workflow.getPhaseCount(); p++) {
+      node = node.getOrAddChild(workflow.getPhase(p).getPhase());
+      if (node.workflows.isEmpty()) {
+        this.nodeCount++;
+      }
+      node.workflows.add(workflow);
+    }
+    this.phaseSlotCount += workflow.getPhaseCount();
+  }
+}
@@ -0,0 +1,215 @@
+package de.morrigan.dev.muphin.core.plan;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+import de.morrigan.dev.muphin.core.phase.SetupPhase;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+/**
+ * A workflow of an {@link ExecutionPlan} with all its phase slots in the order of their execution. The first slot is
+ * always the {@link SetupPhase} and the last slot is always the {@link TearDownPhase}.
+ * <p>
+ * Each slot knows the slots that must be finished before it. All phases without a prerequisite depend on the setup
+ * phase and the tear down phase depends on all phases that are not a prerequisite of another phase. A workflow with a
+ * linear list of phases is sequential, each slot only depends on its predecessor.
+ * <p>
+ * A filtered workflow only requires the phase slots that host a remaining test method, all their prerequisites and the
+ * tear down phase. For a sequential workflow, this means that it is only executed up to the phase of its last remaining
+ * test method and then continues with the tear down phase.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class WorkflowPlan {
+
+  private final AbstractWorkflow workflow;
+  private final PhasePlan[] phases;
+  private final int[][] prerequisites;
+  private final boolean sequential;
+  private final boolean[] required;
+  private final boolean testClassesBound;
+  private final List<Class<?>> testClasses;
+  private final Description description;
+
+  WorkflowPlan(AbstractWorkflow workflow, PhasePlan[] phases, int[][] prerequisites, boolean testClassesBound,
+      List<Class<?>> testClasses) {
+    this(workflow, phases, prerequisites, testClassesBound, Collections.unmodifiableList(testClasses),
+        Description.createTestDescription(workflow.getClass(), workflow.getClass().getSimpleName()), false);
+  }
+
+  private WorkflowPlan(AbstractWorkflow workflow, PhasePlan[] phases, int[][] prerequisites, boolean testClassesBound,
+      List<Class<?>> testClasses, Description description, boolean filtered) {
+    super();
+    this.workflow = workflow;
+    this.phases = phases;
+    this.prerequisites = prerequisites;
+    this.sequential = isSequential(prerequisites);
+    this.required = filtered ? getRequiredPhases(phases, prerequisites) : null;
+    this.testClassesBound = testClassesBound;
+    this.testClasses = testClasses;
+    this.description = description;
+    for (PhasePlan phase : phases) {
+      // a filtered workflow only describes the phases that still host a test method
+      if (!filtered || phase.getHookCount() > 0) {
+        description.addChild(phase.getDescription());
+      }
+    }
+  }
+
+  /**
+   * @return the workflow
+   * @since 0.0.1
+   */
+  public AbstractWorkflow getWorkflow() {
+    return this.workflow;
+  }
+
+  /**
+   * @return the number of phase slots of this workflow
+   * @since 0.0.1
+   */
+  public int getPhaseCount() {
+    return this.phases.length;
+  }
+
+  /**
+   * @param index an index of a phase slot
+   * @return a phase slot of this workflow
+   * @since 0.0.1
+   */
+  public PhasePlan getPhase(int index) {
+    return this.phases[index];
+  }
+
+  /**
+   * @param index an index of a phase slot
+   * @return the number of phase slots that must be finished before the phase slot
+   * @since 0.0.1
+   */
+  public int getPrerequisiteCount(int index) {
+    return this.prerequisites[index].length;
+  }
+
+  /**
+   * @param index an index of a phase slot
+   * @param prerequisite an index of a prerequisite of the phase slot
+   * @return the index of a phase slot that must be finished before the phase slot
+   * @since 0.0.1
+   */
+  public int getPrerequisite(int index, int prerequisite) {
+    return this.prerequisites[index][prerequisite];
+  }
+
+  /**
+   * @return {@code true} if each phase slot only depends on its predecessor
+   * @since 0.0.1
+   */
+  public boolean isSequential() {
+    return this.sequential;
+  }
+
+  /**
+   * @param index an index of a phase slot
+   * @return {@code true} if the phase slot has to be executed for the remaining test methods of this workflow
+   * @since 0.0.1
+   */
+  public boolean isPhaseRequired(int index) {
+    return this.required == null || this.required[index];
+  }
+
+  /**
+   * @return {@code true} if at least one test class is bound to this workflow, only then the phases are executed
+   * @since 0.0.1
+   */
+  public boolean isTestClassesBound() {
+    return this.testClassesBound;
+  }
+
+  /**
+   * @return all test classes that are bound to this workflow, including the ones whose test methods were filtered out
+   * @since 0.0.1
+   */
+  public List<Class<?>> getTestClasses() {
+    return this.testClasses;
+  }
+
+  /**
+   * @return the number of all test methods of this workflow
+   * @since 0.0.1
+   */
+  public int getHookCount() {
+    int count = 0;
+    for (PhasePlan phase : this.phases) {
+      count += phase.getHookCount();
+    }
+    return count;
+  }
+
+  /**
+   * @return {@code true} if at least one test method of this workflow can be run concurrently
+   * @since 0.0.1
+   */
+  public boolean hasConcurrentHooks() {
+    for (PhasePlan phase : this.phases) {
+      if (phase.hasConcurrentHooks()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the description of this workflow including the descriptions of all its phases
+   * @since 0.0.1
+   */
+  public Description getDescription() {
+    return this.description;
+  }
+
+  WorkflowPlan filter(Filter filter) {
+    PhasePlan[] filteredPhases = new PhasePlan[this.phases.length];
+    for (int i = 0; i < this.phases.length; i++) {
+      filteredPhases[i] = this.phases[i].filter(filter);
+    }
+    return new WorkflowPlan(this.workflow, filteredPhases, this.prerequisites, this.testClassesBound,
+        this.testClasses, this.description.childlessCopy(), true);
+  }
+
+  private static boolean[] getRequiredPhases(PhasePlan[] phases, int[][] prerequisites) {
+    /*
+     * A prerequisite always has a lower index than its phase slot, so a single pass from the last to the first slot
+     * marks all prerequisites of the required slots. The tear down phase is always executed, but only requires its
+     * prerequisites if it hosts a test method itself.
+     */
+    boolean[] required = new boolean[phases.length];
+    for (int i = phases.length - 1; i >= 0; i--) {
+      if (required[i] || phases[i].getHookCount() > 0) {
+        required[i] = true;
+        for (int prerequisite : prerequisites[i]) {
+          required[prerequisite] = true;
+        }
+      }
+    }
+    required[phases.length - 1] = true;
+    return required;
+  }
+
+  private static boolean isSequential(int[][] prerequisites) {
+    for (int i = 1; i < prerequisites.length; i++) {
+      if (prerequisites[i].length != 1 || prerequisites[i][0] != i - 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return this.workflow.getName();
+  }
+}
@@ -3,6 +3,7 @@ package de.morrigan.dev.muphin.core.task;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Optional;
 
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecuteResultHandler;
@@ -14,6 +15,9 @@ import org.slf4j.LoggerFactory;
 
 import de.morrigan.dev.muphin.core.cmd.CmdResponse;
 import de.morrigan.dev.muphin.core.exception.MuphinFailureException;
+import de.morrigan.dev.muphin.core.jfr.FlightRecorderEvents;
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.Metrics;
 
 /**
  * Provides a way to execute command line tasks. A command line command is executed using {@link DefaultExecutor} and
@@ -211,14 +215,28 @@ public class CmdTask implements Task {
 
   /**
    * Executes the commands and run all available verification checks against the response of the executed command. If a
-   * verification rule fail, a {@link MuphinFailureException} is thrown.
+   * verification rule fail, a {@link MuphinFailureException} is thrown. Each execution is emitted as a
+   * {@value FlightRecorderEvents#CMD_TASK} event to a running flight recording and measured by the {@link Metrics} of
+   * the current phase.
    *
    * @throws MuphinFailureException if a verification rule fails
    * @since 0.0.1
    */
   @Override
   public void execute() throws MuphinFailureException {
-    CmdResponse cmdResponse = executeCommand(CommandLine.parse(this.command));
+    Optional<Metrics> metrics = Metrics.current();
+    Measurement measurement = metrics.map(m -> m.start(Measurement.Type.CMD_TASK, this.command)).orElse(null);
+    Object event = FlightRecorderEvents.beginCmdTask();
+    CmdResponse cmdResponse = null;
+    try {
+      cmdResponse = executeCommand(CommandLine.parse(this.command));
+    } finally {
+      FlightRecorderEvents.commitCmdTask(event, this.command, cmdResponse == null ? -1 : cmdResponse.getExitValue(),
+          cmdResponse == null ? 0 : StringUtils.length(cmdResponse.getMessage()));
+      if (measurement != null) {
+        metrics.get().stop(measurement);
+      }
+    }
     boolean success = true;
     for (Verification<CmdResponse> verification : this.verifications) {
       success &= verification.verify(cmdResponse);
@@ -240,10 +258,11 @@ public class CmdTask implements Task {
 
   /**
    * @return a result handler that provides the result of a command line execution (e.g. exit value, message, exception)
+   * @see LatchExecuteResultHandler
    * @since 0.0.1
    */
   protected DefaultExecuteResultHandler getExecuteResultHandler() {
-    return new DefaultExecuteResultHandler();
+    return new LatchExecuteResultHandler();
   }
 
   private CmdResponse executeCommand(CommandLine commandLine) throws MuphinFailureException {
@@ -0,0 +1,58 @@
+package de.morrigan.dev.muphin.core.task;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.exec.DefaultExecuteResultHandler;
+import org.apache.commons.exec.ExecuteException;
+
+/**
+ * A result handler that blocks the waiting thread on a {@link CountDownLatch} until the result of a command line
+ * execution is available.
+ * <p>
+ * The {@link DefaultExecuteResultHandler} polls for the result in short sleep intervals. This handler is notified
+ * immediately instead and does not use any monitor, so that a virtual thread that waits for a command does not pin its
+ * carrier thread.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public class LatchExecuteResultHandler extends DefaultExecuteResultHandler {
+
+  private final CountDownLatch finished = new CountDownLatch(1);
+
+  @Override
+  public void onProcessComplete(int exitValue) {
+    super.onProcessComplete(exitValue);
+    this.finished.countDown();
+  }
+
+  @Override
+  public void onProcessFailed(ExecuteException e) {
+    super.onProcessFailed(e);
+    this.finished.countDown();
+  }
+
+  /**
+   * Causes the current thread to wait until the command line execution has finished.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   * @since 0.0.1
+   */
+  @Override
+  public void waitFor() throws InterruptedException {
+    this.finished.await();
+  }
+
+  /**
+   * Causes the current thread to wait until the command line execution has finished or the timeout has elapsed.
+   *
+   * @param timeout a timeout in milliseconds
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   * @since 0.0.1
+   */
+  @Override
+  public void waitFor(long timeout) throws InterruptedException {
+    this.finished.await(timeout, TimeUnit.MILLISECONDS);
+  }
+}
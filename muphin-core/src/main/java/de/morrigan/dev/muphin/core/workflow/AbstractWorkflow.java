@@ -4,36 +4,47 @@ import java.util.ArrayList;
 import java.util.List;
 
 import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.MuphinContext;
 import de.morrigan.dev.muphin.core.phase.AbstractPhase;
 
 /**
  * Defines an arbitrary process or workflow.
  * <p>
  * All user-defined workflow classes must inherit from this abstract workflow class. Each workflow must be given a
- * unique name and a collection of phases that belong to that workflow. The phases are specified in a sorted order.
+ * unique name and a collection of phases that belong to that workflow. The phases are specified in a sorted order or
+ * as a {@link PhaseGraph}, in which independent phases can be executed at the same time.
  *
  * @author morrigan
  * @since 0.0.1
  */
 public abstract class AbstractWorkflow {
 
-  private static final InstanceManager INSTANCES = InstanceManager.getInstance();
-
   private final String name;
-  private final List<Class<? extends AbstractPhase>> phaseClasses;
+  private final PhaseGraph phaseGraph;
 
   /**
-   * Create a new workflow.
+   * Create a new workflow whose phases are executed one after the other.
    *
    * @param name a unique name of this workflow
    * @param phaseClasses a collection of phases that belongs to this workflow
    * @since 0.0.1
    */
   protected AbstractWorkflow(String name, List<Class<? extends AbstractPhase>> phaseClasses) {
+    this(name, PhaseGraph.chain(phaseClasses));
+  }
+
+  /**
+   * Create a new workflow whose phases are executed as soon as their prerequisites are executed.
+   *
+   * @param name a unique name of this workflow
+   * @param phaseGraph a graph of the phases that belongs to this workflow
+   * @since 0.0.1
+   */
+  protected AbstractWorkflow(String name, PhaseGraph phaseGraph) {
     super();
 
     this.name = name;
-    this.phaseClasses = new ArrayList<>(phaseClasses);
+    this.phaseGraph = phaseGraph.copy();
   }
 
   /**
@@ -45,14 +56,24 @@ public abstract class AbstractWorkflow {
   }
 
   /**
-   * @return a collection of phases that belongs to this workflow
+   * @return a collection of phases that belongs to this workflow in a valid execution order, taken from the instance
+   *         manager of the {@link MuphinContext#current() current context}
    * @since 0.0.1
    */
   public List<AbstractPhase> getPhases() {
+    InstanceManager instances = MuphinContext.current().getInstances();
     List<AbstractPhase> phaseInstances = new ArrayList<>();
-    for (Class<? extends AbstractPhase> phaseClass : this.phaseClasses) {
-      phaseInstances.add(INSTANCES.getPhase(phaseClass));
+    for (Class<? extends AbstractPhase> phaseClass : this.phaseGraph.getPhaseClasses()) {
+      phaseInstances.add(instances.getPhase(phaseClass));
     }
     return phaseInstances;
   }
+
+  /**
+   * @return a graph of the phases that belongs to this workflow, in the same order as {@link #getPhases()}
+   * @since 0.0.1
+   */
+  public PhaseGraph getPhaseGraph() {
+    return this.phaseGraph.copy();
+  }
 }
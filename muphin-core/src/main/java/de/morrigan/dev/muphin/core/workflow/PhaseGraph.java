@@ -0,0 +1,132 @@
+package de.morrigan.dev.muphin.core.workflow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+/**
+ * Defines the phases of a workflow together with their dependencies.
+ * <p>
+ * A phase is only executed after all its prerequisites have been executed. Phases whose prerequisites are satisfied can
+ * be executed at the same time. A phase can only depend on phases that were added before, so that a graph never
+ * contains a cycle and the order in which the phases were added is always a valid execution order.
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * PhaseGraph graph = new PhaseGraph()
+ *     .add(LoadCustomersPhase.class)
+ *     .add(LoadProductsPhase.class)
+ *     .add(LoadPricesPhase.class)
+ *     .add(ImportOrdersPhase.class, LoadCustomersPhase.class, LoadProductsPhase.class, LoadPricesPhase.class);
+ * </pre>
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class PhaseGraph {
+
+  private static final int[] NO_PREREQUISITES = new int[0];
+
+  /**
+   * Creates a graph in which each phase depends on its predecessor. The same phase may occur several times.
+   *
+   * @param phaseClasses phases in the order of their execution
+   * @return a linear graph
+   * @since 0.0.1
+   */
+  public static PhaseGraph chain(List<Class<? extends AbstractPhase>> phaseClasses) {
+    PhaseGraph graph = new PhaseGraph();
+    for (Class<? extends AbstractPhase> phaseClass : phaseClasses) {
+      int index = graph.phaseClasses.size();
+      graph.phaseClasses.add(phaseClass);
+      graph.prerequisites.add(index == 0 ? NO_PREREQUISITES : new int[] {
+          index - 1
+      });
+    }
+    return graph;
+  }
+
+  private final List<Class<? extends AbstractPhase>> phaseClasses = new ArrayList<>();
+  private final List<int[]> prerequisites = new ArrayList<>();
+
+  /**
+   * Adds a phase that is executed after all given prerequisites.
+   *
+   * @param phaseClass a phase to add
+   * @param prerequisites phases that were already added and must be executed before the phase
+   * @return this graph
+   * @throws IllegalArgumentException if the phase was already added or a prerequisite was not added before
+   * @since 0.0.1
+   */
+  @SafeVarargs
+  public final PhaseGraph add(Class<? extends AbstractPhase> phaseClass,
+      Class<? extends AbstractPhase>... prerequisites) {
+    if (this.phaseClasses.contains(phaseClass)) {
+      throw new IllegalArgumentException(StringUtils.join("The phase ", phaseClass, " was already added."));
+    }
+    int[] indexes = new int[prerequisites.length];
+    for (int i = 0; i < prerequisites.length; i++) {
+      indexes[i] = this.phaseClasses.indexOf(prerequisites[i]);
+      if (indexes[i] < 0) {
+        throw new IllegalArgumentException(StringUtils.join("The prerequisite ", prerequisites[i], " of the phase ",
+            phaseClass, " must be added before."));
+      }
+    }
+    this.phaseClasses.add(phaseClass);
+    this.prerequisites.add(indexes.length == 0 ? NO_PREREQUISITES : indexes);
+    return this;
+  }
+
+  /**
+   * @return the number of phases of this graph
+   * @since 0.0.1
+   */
+  public int size() {
+    return this.phaseClasses.size();
+  }
+
+  /**
+   * @return all phases of this graph in a valid execution order
+   * @since 0.0.1
+   */
+  public List<Class<? extends AbstractPhase>> getPhaseClasses() {
+    return Collections.unmodifiableList(this.phaseClasses);
+  }
+
+  /**
+   * @param index an index of a phase
+   * @return the indexes of all phases that must be executed before the phase
+   * @since 0.0.1
+   */
+  public int[] getPrerequisites(int index) {
+    return this.prerequisites.get(index).clone();
+  }
+
+  /**
+   * @return a copy of this graph
+   * @since 0.0.1
+   */
+  PhaseGraph copy() {
+    PhaseGraph copy = new PhaseGraph();
+    copy.phaseClasses.addAll(this.phaseClasses);
+    copy.prerequisites.addAll(this.prerequisites);
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("PhaseGraph [");
+    for (int i = 0; i < this.phaseClasses.size(); i++) {
+      builder.append(i == 0 ? "" : ", ").append(this.phaseClasses.get(i).getSimpleName())
+          .append(Arrays.toString(this.prerequisites.get(i)));
+    }
+    return builder.append("]").toString();
+  }
+}
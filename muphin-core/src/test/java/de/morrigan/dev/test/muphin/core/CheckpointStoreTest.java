@@ -0,0 +1,121 @@
+package de.morrigan.dev.test.muphin.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.morrigan.dev.muphin.core.CheckpointStore;
+import de.morrigan.dev.muphin.core.CheckpointStore.Checkpoint;
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.test.muphin.helper.TestPhaseA;
+import de.morrigan.dev.test.muphin.helper.TestPhaseB;
+import de.morrigan.dev.test.muphin.helper.WorkflowA;
+
+public class CheckpointStoreTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private CheckpointStore sut;
+  private Path directory;
+  private MuphinSession session;
+
+  @Before
+  public void setup() {
+    this.directory = this.tempFolder.getRoot().toPath().resolve("checkpoints");
+    this.sut = new CheckpointStore(this.directory, getClass().getClassLoader());
+    this.session = MuphinSession.getInstance();
+  }
+
+  @After
+  public void tearDown() {
+    this.session.clear();
+  }
+
+  @Test
+  public void testSaveAndLoad() {
+    Date date = new Date();
+    this.session.putData("text", "TestValue");
+    this.session.putData("date", date);
+    this.session.putData("notSerializable", new Object());
+    this.sut.save(WorkflowA.class, "fingerprint", 3, this.session);
+    this.session.clear();
+
+    Optional<Checkpoint> checkpoint = this.sut.load(WorkflowA.class, "fingerprint");
+    assertThat(checkpoint.isPresent(), is(equalTo(true)));
+    assertThat(checkpoint.get().getCompletedPhases(), is(equalTo(3)));
+
+    checkpoint.get().restore(this.session);
+    assertThat(this.session.getData("text", String.class).get(), is(equalTo("TestValue")));
+    assertThat(this.session.getData("date", Date.class).get(), is(equalTo(date)));
+    assertThat(this.session.getData("notSerializable", Object.class).isPresent(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testLoadWithOtherFingerprint() {
+    this.sut.save(WorkflowA.class, "fingerprint", 3, this.session);
+    assertThat(this.sut.load(WorkflowA.class, "changed").isPresent(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testLoadWithoutCheckpoint() {
+    assertThat(this.sut.load(WorkflowA.class, "fingerprint").isPresent(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testLoadCorruptCheckpoint() throws IOException {
+    Files.createDirectories(this.directory);
+    Files.write(this.directory.resolve(WorkflowA.class.getName() + ".checkpoint"), new byte[] {
+        1, 2, 3
+    });
+    assertThat(this.sut.load(WorkflowA.class, "fingerprint").isPresent(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testSaveWithFailedMoveDeletesTemporaryFile() throws IOException {
+    // A non-empty directory can't be replaced by the checkpoint file
+    Path blocked = Files.createDirectories(this.directory.resolve(WorkflowA.class.getName() + ".checkpoint"));
+    Files.write(blocked.resolve("content"), new byte[] {
+        1
+    });
+    this.sut.save(WorkflowA.class, "fingerprint", 3, this.session);
+
+    try (Stream<Path> files = Files.list(this.directory)) {
+      assertThat(files.filter(file -> file.toString().endsWith(".tmp")).count(), is(equalTo(0L)));
+    }
+  }
+
+  @Test
+  public void testDelete() {
+    this.sut.save(WorkflowA.class, "fingerprint", 3, this.session);
+    this.sut.delete(WorkflowA.class);
+    assertThat(this.sut.load(WorkflowA.class, "fingerprint").isPresent(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testFingerprint() {
+    ClassLoader classLoader = getClass().getClassLoader();
+    String fingerprint = CheckpointStore.fingerprint(Arrays.asList(TestPhaseA.class, TestPhaseB.class), classLoader);
+
+    assertThat(CheckpointStore.fingerprint(Arrays.asList(TestPhaseB.class, TestPhaseA.class), classLoader),
+        is(equalTo(fingerprint)));
+    assertThat(CheckpointStore.fingerprint(Collections.singletonList(TestPhaseA.class), classLoader),
+        is(not(equalTo(fingerprint))));
+  }
+}
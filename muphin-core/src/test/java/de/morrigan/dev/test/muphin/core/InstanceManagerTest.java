@@ -1,17 +1,24 @@
 package de.morrigan.dev.test.muphin.core;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThrows;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -55,6 +62,38 @@ public class InstanceManagerTest {
     assertThat(workflows, containsInAnyOrder(workflowA, workflowB));
   }
 
+  @Test
+  public void testGetWorkflowsIsCachedUntilChanged() {
+    SUT.getWorkflow(WorkflowB.class);
+    List<AbstractWorkflow> workflows = SUT.getWorkflows();
+    assertThat(SUT.getWorkflows(), is(sameInstance(workflows)));
+    assertThrows(UnsupportedOperationException.class, () -> workflows.add(SUT.getWorkflow(WorkflowA.class)));
+
+    List<AbstractWorkflow> changedWorkflows = SUT.getWorkflows();
+    assertThat(changedWorkflows, contains(SUT.getWorkflow(WorkflowA.class), SUT.getWorkflow(WorkflowB.class)));
+    assertThat(workflows, hasSize(1));
+
+    SUT.clear();
+    assertThat(SUT.getWorkflows(), hasSize(0));
+  }
+
+  @Test
+  public void testGetPhaseConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<AbstractPhase>> lookups = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        lookups.add(() -> SUT.getPhase(TestPhaseA.class));
+      }
+      List<Future<AbstractPhase>> phases = executor.invokeAll(lookups);
+      for (Future<AbstractPhase> phase : phases) {
+        assertThat(phase.get(), is(sameInstance(SUT.getPhase(TestPhaseA.class))));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testGetWorkflowWithInvalidWorkflowClass() {
     IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> SUT.getWorkflow(WorkflowX.class));
@@ -0,0 +1,47 @@
+package de.morrigan.dev.test.muphin.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.MuphinContext;
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.test.muphin.helper.WorkflowA;
+
+public class MuphinContextTest {
+
+  @Test
+  public void testDefaultContext() {
+    MuphinContext sut = MuphinContext.getDefault();
+    assertThat(sut.getInstances(), is(sameInstance(InstanceManager.getInstance())));
+    assertThat(sut.getSession(), is(sameInstance(MuphinSession.getInstance())));
+    assertThat(MuphinContext.current(), is(sameInstance(sut)));
+  }
+
+  @Test
+  public void testCreateIsolatedContext() {
+    MuphinContext sut = MuphinContext.create();
+    assertThat(sut, is(not(sameInstance(MuphinContext.create()))));
+    assertThat(sut.getInstances(), is(not(sameInstance(InstanceManager.getInstance()))));
+    assertThat(sut.getSession(), is(not(sameInstance(MuphinSession.getInstance()))));
+
+    sut.getInstances().getWorkflow(WorkflowA.class);
+    sut.getSession().putData("TestKey", "TestData");
+    assertThat(sut.getInstances().getWorkflows(), hasSize(1));
+    assertThat(sut.getSession().getData("TestKey", String.class), is(equalTo(Optional.of("TestData"))));
+    assertThat(MuphinSession.getInstance().getData("TestKey", String.class), is(equalTo(Optional.empty())));
+
+    sut.clear();
+
+    assertThat(sut.getInstances().getWorkflows(), hasSize(0));
+    assertThat(sut.getSession().getData("TestKey", String.class), is(equalTo(Optional.empty())));
+  }
+}
@@ -19,12 +19,17 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import de.morrigan.dev.muphin.core.DataScope;
 import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.SessionKey;
 import de.morrigan.dev.test.muphin.helper.TestPhaseA;
 import de.morrigan.dev.test.muphin.helper.WorkflowA;
 
 public class MuphinSessionTest {
 
+  private static final SessionKey<String> TYPED_KEY = SessionKey.of("MuphinSessionTest.typed", String.class);
+  private static final SessionKey<Number> NUMBER_KEY = SessionKey.of("MuphinSessionTest.number", Number.class);
+
   private MuphinSession sut;
 
   @Before
@@ -121,6 +126,72 @@ public class MuphinSessionTest {
     assertThat(exception.getMessage(), containsString(Date.class.toString()));
   }
 
+  @Test
+  public void testGetDataWithSubtype() {
+    String testKey = "TestKey";
+    this.sut.putData(testKey, Integer.valueOf(42));
+
+    Optional<Number> optData = this.sut.getData(testKey, Number.class);
+    assertThat(optData, optionalWithValue(is(equalTo(42))));
+  }
+
+  @Test
+  public void testPutWithSessionKey() {
+    assertThat(this.sut.get(TYPED_KEY), is(nullValue()));
+    this.sut.put(TYPED_KEY, "TestValue");
+
+    assertThat(this.sut.get(TYPED_KEY), is(equalTo("TestValue")));
+    assertThat(this.sut.getData(TYPED_KEY.getName(), String.class), optionalWithValue(is(equalTo("TestValue"))));
+    assertThat(getDataCache(this.sut).size(), is(equalTo(0)));
+
+    this.sut.remove(TYPED_KEY);
+    assertThat(this.sut.get(TYPED_KEY), is(nullValue()));
+    assertThat(this.sut.getData(TYPED_KEY.getName(), String.class), is(emptyOptional()));
+  }
+
+  @Test
+  public void testPutDataWithNameOfSessionKey() {
+    this.sut.putData(NUMBER_KEY.getName(), Long.valueOf(7L));
+    assertThat(this.sut.get(NUMBER_KEY), is(equalTo(7L)));
+    assertThat(getDataCache(this.sut).size(), is(equalTo(0)));
+
+    this.sut.remove(NUMBER_KEY.getName());
+    assertThat(this.sut.get(NUMBER_KEY), is(nullValue()));
+  }
+
+  @Test
+  public void testPutDataWithInvalidTypeOfSessionKey() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> this.sut.putData(NUMBER_KEY.getName(), "TestValue"));
+    assertThat(exception.getMessage(), containsString(NUMBER_KEY.getName()));
+    assertThat(exception.getMessage(), containsString("not match"));
+    assertThat(this.sut.get(NUMBER_KEY), is(nullValue()));
+  }
+
+  @Test
+  public void testClearWithSessionKey() {
+    this.sut.put(TYPED_KEY, "TestValue");
+    this.sut.clear();
+    assertThat(this.sut.get(TYPED_KEY), is(nullValue()));
+  }
+
+  @Test
+  public void testPutDataWithGlobalScope() {
+    this.sut.putData(DataScope.GLOBAL, "TestKey", "TestValue");
+    assertThat(getDataCache(this.sut).get("TestKey"), is(equalTo("TestValue")));
+
+    this.sut.remove(DataScope.GLOBAL, "TestKey");
+    assertThat(getDataCache(this.sut).size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void testPutDataWithoutWorkflow() {
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+        () -> this.sut.putData(DataScope.WORKFLOW, "TestKey", "TestValue"));
+    assertThat(exception.getMessage(), containsString("workflow"));
+    assertThrows(IllegalStateException.class, () -> this.sut.put(DataScope.PHASE, TYPED_KEY, "TestValue"));
+  }
+
   @SuppressWarnings("unchecked")
   private Map<String, Object> getDataCache(MuphinSession sut) {
     try {
@@ -0,0 +1,167 @@
+package de.morrigan.dev.test.muphin.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Paths;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.RunConfiguration;
+import de.morrigan.dev.muphin.core.execution.ExecutorBackend;
+import de.morrigan.dev.test.muphin.helper.MuphinTestSuite;
+import de.morrigan.dev.test.muphin.helper.RecordingMetricsListener;
+import de.morrigan.dev.test.muphin.helper.TestClassA1;
+import de.morrigan.dev.test.muphin.scenario.ConcurrentHooksTestClass;
+import de.morrigan.dev.test.muphin.scenario.ParallelTestSuite;
+import de.morrigan.dev.test.muphin.scenario.prefix.PrefixTestSuite;
+
+public class RunConfigurationTest {
+
+  @After
+  public void tearDown() {
+    System.clearProperty(RunConfiguration.PARALLELISM_PROPERTY);
+    System.clearProperty(RunConfiguration.EXECUTOR_PROPERTY);
+    System.clearProperty(RunConfiguration.HOOK_PARALLELISM_PROPERTY);
+    System.clearProperty(RunConfiguration.SHARE_PREFIXES_PROPERTY);
+    System.clearProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY);
+    System.clearProperty(RunConfiguration.RESUME_PROPERTY);
+    System.clearProperty(RunConfiguration.TEAR_DOWN_ON_FAILURE_PROPERTY);
+    System.clearProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY);
+  }
+
+  @Test
+  public void testDefaults() {
+    RunConfiguration sut = RunConfiguration.of(TestClassA1.class);
+    assertThat(sut.getParallelism(), is(equalTo(1)));
+    assertThat(sut.getExecutor(), is(equalTo(ExecutorBackend.PLATFORM)));
+    assertThat(sut.isTearDownOnFailure(), is(equalTo(true)));
+
+    sut = RunConfiguration.of(MuphinTestSuite.class);
+    assertThat(sut.getParallelism(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testParallelismFromAnnotation() {
+    RunConfiguration sut = RunConfiguration.of(ParallelTestSuite.class);
+    assertThat(sut.getParallelism(), is(equalTo(2)));
+    assertThat(sut.getHookParallelism(), is(equalTo(Runtime.getRuntime().availableProcessors())));
+  }
+
+  @Test
+  public void testHookParallelism() {
+    RunConfiguration sut = RunConfiguration.of(ConcurrentHooksTestClass.class);
+    assertThat(sut.getHookParallelism(), is(equalTo(4)));
+
+    System.setProperty(RunConfiguration.HOOK_PARALLELISM_PROPERTY, "16");
+    sut = RunConfiguration.of(ConcurrentHooksTestClass.class);
+    assertThat(sut.getHookParallelism(), is(equalTo(16)));
+  }
+
+  @Test
+  public void testSharePrefixes() {
+    assertThat(RunConfiguration.of(ParallelTestSuite.class).isSharePrefixes(), is(equalTo(false)));
+    assertThat(RunConfiguration.of(PrefixTestSuite.class).isSharePrefixes(), is(equalTo(true)));
+
+    System.setProperty(RunConfiguration.SHARE_PREFIXES_PROPERTY, "FALSE");
+    assertThat(RunConfiguration.of(PrefixTestSuite.class).isSharePrefixes(), is(equalTo(false)));
+
+    System.setProperty(RunConfiguration.SHARE_PREFIXES_PROPERTY, "yes");
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> RunConfiguration.of(PrefixTestSuite.class));
+    assertThat(iae.getMessage(), containsString(RunConfiguration.SHARE_PREFIXES_PROPERTY));
+  }
+
+  @Test
+  public void testCheckpoints() {
+    RunConfiguration sut = RunConfiguration.of(ParallelTestSuite.class);
+    assertThat(sut.getCheckpointDirectory().isPresent(), is(equalTo(false)));
+    assertThat(sut.isResume(), is(equalTo(false)));
+
+    System.setProperty(RunConfiguration.RESUME_PROPERTY, "true");
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> RunConfiguration.of(ParallelTestSuite.class));
+    assertThat(iae.getMessage(), containsString(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY));
+
+    System.setProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY, "target/checkpoints");
+    sut = RunConfiguration.of(ParallelTestSuite.class);
+    assertThat(sut.getCheckpointDirectory().get(), is(equalTo(Paths.get("target/checkpoints"))));
+    assertThat(sut.isResume(), is(equalTo(true)));
+  }
+
+  @Test
+  public void testCheckpointsWithSharePrefixes() {
+    System.setProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY, "target/checkpoints");
+    RunConfiguration sut = RunConfiguration.of(PrefixTestSuite.class);
+    // The checkpoints of the workflows would be lost in the shared phases
+    assertThat(sut.isSharePrefixes(), is(equalTo(false)));
+    assertThat(sut.getCheckpointDirectory().isPresent(), is(equalTo(true)));
+  }
+
+  @Test
+  public void testTearDownOnFailureFromSystemProperty() {
+    System.setProperty(RunConfiguration.TEAR_DOWN_ON_FAILURE_PROPERTY, "false");
+    assertThat(RunConfiguration.of(TestClassA1.class).isTearDownOnFailure(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testMetricsListenersFromSystemProperty() {
+    assertThat(RunConfiguration.of(TestClassA1.class).getMetricsListeners(), is(empty()));
+
+    System.setProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY, " " + RecordingMetricsListener.class.getName());
+    assertThat(RunConfiguration.of(TestClassA1.class).getMetricsListeners(),
+        contains(RecordingMetricsListener.class));
+
+    System.setProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY, TestClassA1.class.getName());
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> RunConfiguration.of(TestClassA1.class));
+    assertThat(iae.getMessage(), containsString(RunConfiguration.METRICS_LISTENERS_PROPERTY));
+  }
+
+  @Test
+  public void testParallelismFromSystemProperty() {
+    System.setProperty(RunConfiguration.PARALLELISM_PROPERTY, "4");
+    RunConfiguration sut = RunConfiguration.of(ParallelTestSuite.class);
+    assertThat(sut.getParallelism(), is(equalTo(4)));
+
+    System.setProperty(RunConfiguration.PARALLELISM_PROPERTY, "0");
+    sut = RunConfiguration.of(ParallelTestSuite.class);
+    assertThat(sut.getParallelism(), is(equalTo(Runtime.getRuntime().availableProcessors())));
+  }
+
+  @Test
+  public void testExecutorFromSystemProperty() {
+    System.setProperty(RunConfiguration.EXECUTOR_PROPERTY, "virtual");
+    System.setProperty(RunConfiguration.PARALLELISM_PROPERTY, "0");
+    RunConfiguration sut = RunConfiguration.of(ParallelTestSuite.class);
+    if (ExecutorBackend.VIRTUAL.isAvailable()) {
+      assertThat(sut.getExecutor(), is(equalTo(ExecutorBackend.VIRTUAL)));
+      assertThat(sut.getParallelism(), is(equalTo(Integer.MAX_VALUE)));
+    } else {
+      assertThat(sut.getExecutor(), is(equalTo(ExecutorBackend.PLATFORM)));
+      assertThat(sut.getParallelism(), is(equalTo(Runtime.getRuntime().availableProcessors())));
+    }
+  }
+
+  @Test
+  public void testInvalidExecutorSystemProperty() {
+    System.setProperty(RunConfiguration.EXECUTOR_PROPERTY, "green");
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> RunConfiguration.of(ParallelTestSuite.class));
+    assertThat(iae.getMessage(), containsString(RunConfiguration.EXECUTOR_PROPERTY));
+  }
+
+  @Test
+  public void testInvalidSystemProperty() {
+    System.setProperty(RunConfiguration.PARALLELISM_PROPERTY, "many");
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> RunConfiguration.of(ParallelTestSuite.class));
+    assertThat(iae.getMessage(), containsString(RunConfiguration.PARALLELISM_PROPERTY));
+  }
+}
@@ -0,0 +1,103 @@
+package de.morrigan.dev.test.muphin.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.SessionKey;
+
+public class SessionKeyTest {
+
+  public static class Payload {
+  }
+
+  @Test
+  public void testOfReturnsSameKey() {
+    SessionKey<String> key = SessionKey.of("SessionKeyTest.same", String.class);
+
+    assertThat(SessionKey.of("SessionKeyTest.same", String.class), is(sameInstance(key)));
+    assertThat(key.getName(), is(equalTo("SessionKeyTest.same")));
+    assertThat(key.getType(), is(equalTo(String.class)));
+  }
+
+  @Test
+  public void testOfWithPrimitiveType() {
+    SessionKey<Integer> key = SessionKey.of("SessionKeyTest.primitive", int.class);
+
+    assertThat(key.getType(), is(equalTo(Integer.class)));
+    assertThat(SessionKey.of("SessionKeyTest.primitive", Integer.class), is(sameInstance(key)));
+  }
+
+  @Test
+  public void testOfWithOtherType() {
+    SessionKey.of("SessionKeyTest.other", String.class);
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> SessionKey.of("SessionKeyTest.other", Long.class));
+    assertThat(exception.getMessage(), containsString("SessionKeyTest.other"));
+    assertThat(exception.getMessage(), containsString(Long.class.toString()));
+  }
+
+  @Test
+  public void testOfWithBlankName() {
+    assertThrows(IllegalArgumentException.class, () -> SessionKey.of(" ", String.class));
+  }
+
+  @Test
+  public void testOfWithTypeOfOtherClassLoader() throws Exception {
+    MuphinSession session = MuphinSession.getInstance();
+    try (URLClassLoader firstLoader = newPayloadLoader(); URLClassLoader secondLoader = newPayloadLoader()) {
+      Class<?> firstType = firstLoader.loadClass(Payload.class.getName());
+      Class<?> secondType = secondLoader.loadClass(Payload.class.getName());
+      SessionKey<?> firstKey = SessionKey.of("SessionKeyTest.reloaded", firstType);
+      SessionKey<?> secondKey = SessionKey.of("SessionKeyTest.reloaded", secondType);
+
+      assertThat(secondKey, is(not(sameInstance(firstKey))));
+      assertThat(secondKey.getType(), is(equalTo(secondType)));
+      assertThat(SessionKey.of("SessionKeyTest.reloaded", secondType), is(sameInstance(secondKey)));
+
+      Object payload = secondType.getDeclaredConstructor().newInstance();
+      session.putData("SessionKeyTest.reloaded", payload);
+      assertThat(session.getData("SessionKeyTest.reloaded", Object.class), is(equalTo(Optional.of(payload))));
+    } finally {
+      session.clear();
+    }
+  }
+
+  @Test
+  public void testOfDoesNotHoldClassLoader() throws Exception {
+    WeakReference<ClassLoader> loader = registerPayloadOfOwnClassLoader();
+    for (int i = 0; i < 20 && loader.get() != null; i++) {
+      System.gc();
+      Thread.sleep(50);
+    }
+    assertThat(loader.get(), is(nullValue()));
+  }
+
+  private WeakReference<ClassLoader> registerPayloadOfOwnClassLoader() throws Exception {
+    try (URLClassLoader loader = newPayloadLoader()) {
+      SessionKey.of("SessionKeyTest.collected", loader.loadClass(Payload.class.getName()));
+      return new WeakReference<>(loader);
+    }
+  }
+
+  private static URLClassLoader newPayloadLoader() {
+    URL testClasses = SessionKeyTest.class.getProtectionDomain().getCodeSource().getLocation();
+    return new URLClassLoader(new URL[] {
+        testClasses
+    }, null);
+  }
+}
@@ -0,0 +1,95 @@
+package de.morrigan.dev.test.muphin.core;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.SessionKey;
+import de.morrigan.dev.muphin.core.SessionSnapshot;
+
+public class SessionSnapshotTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private MuphinSession session;
+  private Path workspace;
+
+  @Before
+  public void setup() throws IOException {
+    this.session = MuphinSession.getInstance();
+    this.workspace = this.tempFolder.newFolder("workspace").toPath();
+    this.session.registerWorkspace(this.workspace);
+  }
+
+  @After
+  public void tearDown() {
+    this.session.clear();
+  }
+
+  @Test
+  public void testRegisterWorkspace() {
+    this.session.registerWorkspace(this.workspace.resolve("..").resolve("workspace"));
+    assertThat(this.session.getWorkspaces(), contains(this.workspace.toAbsolutePath().normalize()));
+  }
+
+  @Test
+  public void testRestoreDataWithSessionKey() {
+    SessionKey<String> key = SessionKey.of("SessionSnapshotTest.typed", String.class);
+    this.session.put(key, "before");
+    try (SessionSnapshot sut = SessionSnapshot.take(this.session)) {
+      this.session.put(key, "after");
+
+      sut.restore();
+      assertThat(this.session.get(key), is(equalTo("before")));
+    }
+  }
+
+  @Test
+  public void testRestoreData() {
+    this.session.putData("kept", "before");
+    try (SessionSnapshot sut = SessionSnapshot.take(this.session)) {
+      this.session.putData("kept", "after");
+      this.session.putData("added", "after");
+
+      sut.restore();
+      assertThat(this.session.getData("kept", String.class), is(optionalWithValue(equalTo("before"))));
+      assertThat(this.session.getData("added", String.class), is(emptyOptional()));
+    }
+  }
+
+  @Test
+  public void testRestoreWorkspace() throws IOException {
+    Files.createDirectories(this.workspace.resolve("sub"));
+    Files.write(this.workspace.resolve("sub").resolve("kept.txt"), "before".getBytes());
+    try (SessionSnapshot sut = SessionSnapshot.take(this.session)) {
+      Files.write(this.workspace.resolve("sub").resolve("kept.txt"), "after".getBytes());
+      Files.createDirectories(this.workspace.resolve("added"));
+      Files.write(this.workspace.resolve("added").resolve("added.txt"), "after".getBytes());
+
+      sut.restore();
+      assertThat(new String(Files.readAllBytes(this.workspace.resolve("sub").resolve("kept.txt"))),
+          is(equalTo("before")));
+      assertThat(Files.exists(this.workspace.resolve("added")), is(equalTo(false)));
+
+      // a snapshot can be restored several times
+      Files.delete(this.workspace.resolve("sub").resolve("kept.txt"));
+      sut.restore();
+      assertThat(Files.exists(this.workspace.resolve("sub").resolve("kept.txt")), is(equalTo(true)));
+    }
+  }
+}
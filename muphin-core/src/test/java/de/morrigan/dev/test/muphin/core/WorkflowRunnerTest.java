@@ -1,33 +1,106 @@
 package de.morrigan.dev.test.muphin.core;
 
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertThrows;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.TestClass;
 
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.MuphinContext;
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.RunConfiguration;
 import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.execution.ExecutorBackend;
+import de.morrigan.dev.muphin.core.metrics.Measurement;
 import de.morrigan.dev.test.muphin.helper.MuphinTestSuite;
+import de.morrigan.dev.test.muphin.helper.RecordingMetricsListener;
 import de.morrigan.dev.test.muphin.helper.TestClassA1;
+import de.morrigan.dev.test.muphin.scenario.ConcurrentHooksTestClass;
+import de.morrigan.dev.test.muphin.scenario.GraphWorkflow;
+import de.morrigan.dev.test.muphin.scenario.GraphWorkflowTestClass;
+import de.morrigan.dev.test.muphin.scenario.ParallelTestSuite;
+import de.morrigan.dev.test.muphin.scenario.SharedInstanceTestClass;
+import de.morrigan.dev.test.muphin.scenario.VirtualThreadTestSuite;
+import de.morrigan.dev.test.muphin.scenario.aborted.AbortedTestClass;
+import de.morrigan.dev.test.muphin.scenario.aborted.BrokenPhase;
+import de.morrigan.dev.test.muphin.scenario.checkpoint.CheckpointTestClass;
+import de.morrigan.dev.test.muphin.scenario.checkpoint.CheckpointTestSuite;
+import de.morrigan.dev.test.muphin.scenario.checkpoint.CheckpointWorkflow;
+import de.morrigan.dev.test.muphin.scenario.checkpoint.FlakyPhase;
+import de.morrigan.dev.test.muphin.scenario.checkpoint.PreparePhase;
+import de.morrigan.dev.test.muphin.scenario.failing.CountingPhase;
+import de.morrigan.dev.test.muphin.scenario.failing.FailFastTestSuite;
+import de.morrigan.dev.test.muphin.scenario.failing.FailingPhase;
+import de.morrigan.dev.test.muphin.scenario.partition.PartitionTestSuite;
+import de.morrigan.dev.test.muphin.scenario.partition.StorePhase;
+import de.morrigan.dev.test.muphin.scenario.prefix.PrefixPhase;
+import de.morrigan.dev.test.muphin.scenario.prefix.PrefixTestClassA;
+import de.morrigan.dev.test.muphin.scenario.prefix.PrefixTestSuite;
+import de.morrigan.dev.test.muphin.scenario.scoped.RunScopedPhase;
+import de.morrigan.dev.test.muphin.scenario.scoped.ScopedTestSuite;
+import de.morrigan.dev.test.muphin.scenario.scoped.ScopedWorkflowA;
+import de.morrigan.dev.test.muphin.scenario.scoped.ThreadScopedPhase;
+import de.morrigan.dev.test.muphin.scenario.shared.LoadMasterDataPhase;
+import de.morrigan.dev.test.muphin.scenario.shared.SharedPhaseTestSuite;
 
 public class WorkflowRunnerTest {
 
+  private static class CountingWorkflowRunner extends WorkflowRunner {
+
+    private final List<String> children = new ArrayList<>();
+
+    CountingWorkflowRunner(Class<?> testClass) {
+      super(testClass);
+    }
+
+    @Override
+    protected void runChild(FrameworkMethod method, RunNotifier notifier) {
+      this.children.add(method.getName());
+      super.runChild(method, notifier);
+    }
+  }
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
   private WorkflowRunner sut;
 
   @Before
@@ -93,6 +166,30 @@ public class WorkflowRunnerTest {
         is(equalTo("testTC1WorkflowAAfterTearDownPhase(de.morrigan.dev.test.muphin.helper.TestClassA1)")));
   }
 
+  @Test
+  public void testRunChildCanBeOverridden() {
+    CountingWorkflowRunner sut = new CountingWorkflowRunner(TestClassA1.class);
+    List<Failure> failures = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    sut.run(recordingNotifier(failures, new ArrayList<>(), finishedTestMethods));
+
+    assertThat(failures, is(empty()));
+    assertThat(sut.children, hasSize(8));
+    assertThat(sut.children, is(equalTo(finishedTestMethods)));
+  }
+
+  @Test
+  public void testRunWithSharedInstancePerWorkflow() {
+    SharedInstanceTestClass.EVENTS.clear();
+    WorkflowRunner sut = new WorkflowRunner(SharedInstanceTestClass.class);
+    sut.run(new RunNotifier());
+    sut.run(new RunNotifier());
+
+    assertThat(SharedInstanceTestClass.EVENTS, contains(
+        "create", "before setup 0", "after phase A 0", "after tear down 0", "close 0",
+        "create", "before setup 5", "after phase A 5", "after tear down 5", "close 5"));
+  }
+
   @Test
   public void testGetDescription() {
     Description description = this.sut.getDescription();
@@ -248,6 +345,368 @@ public class WorkflowRunnerTest {
             "testWorkflowBAfterTearDownPhase(de.morrigan.dev.test.muphin.helper.TestClassB)"));
   }
 
+  @Test
+  public void testRunInParallel() {
+    List<String> sequentialTestMethods = new ArrayList<>();
+    RunNotifier notifier = new RunNotifier();
+    notifier.addListener(new RunListener() {
+      @Override
+      public void testStarted(Description description) throws Exception {
+        sequentialTestMethods.add(description.getDisplayName());
+      }
+    });
+    this.sut.run(notifier);
+
+    List<String> parallelTestMethods = new ArrayList<>();
+    Set<String> threads = new HashSet<>();
+    notifier = new RunNotifier();
+    notifier.addListener(new RunListener() {
+      @Override
+      public void testStarted(Description description) throws Exception {
+        parallelTestMethods.add(description.getDisplayName());
+        threads.add(Thread.currentThread().getName());
+      }
+    });
+    new WorkflowRunner(ParallelTestSuite.class).run(notifier);
+
+    assertThat(parallelTestMethods, hasSize(25));
+    assertThat(threads, everyItem(startsWith("muphin-workflow-")));
+    assertThat(testMethodsOf(parallelTestMethods, "TestClassB"),
+        is(equalTo(testMethodsOf(sequentialTestMethods, "TestClassB"))));
+    List<String> workflowATestMethods = testMethodsOf(parallelTestMethods, "TestClassA");
+    assertThat(workflowATestMethods, hasSize(16));
+    for (int i = 0; i < workflowATestMethods.size(); i += 2) {
+      assertThat(workflowATestMethods.subList(i, i + 2), containsInAnyOrder(sequentialTestMethods.get(i),
+          sequentialTestMethods.get(i + 1)));
+    }
+  }
+
+  @Test
+  public void testRunOnVirtualThreads() {
+    List<String> executedTestMethod = new ArrayList<>();
+    Set<String> threads = new HashSet<>();
+    RunNotifier notifier = new RunNotifier();
+    notifier.addListener(new RunListener() {
+      @Override
+      public void testStarted(Description description) throws Exception {
+        executedTestMethod.add(description.getDisplayName());
+        threads.add(Thread.currentThread().getName());
+      }
+    });
+    new WorkflowRunner(VirtualThreadTestSuite.class).run(notifier);
+
+    assertThat(executedTestMethod, hasSize(25));
+    if (ExecutorBackend.VIRTUAL.isAvailable()) {
+      assertThat(threads, everyItem(startsWith("muphin-workflow-")));
+    }
+  }
+
+  @Test
+  public void testRunConcurrentHooks() {
+    ConcurrentHooksTestClass.FINISHED.set(0);
+    List<Failure> failures = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    RunNotifier notifier = recordingNotifier(failures, new ArrayList<>(), finishedTestMethods);
+    new WorkflowRunner(ConcurrentHooksTestClass.class).run(notifier);
+
+    assertThat(failures, is(empty()));
+    assertThat(finishedTestMethods, hasSize(4));
+    assertThat(finishedTestMethods.get(3), is(equalTo("testAllConcurrentTestsFinished")));
+  }
+
+  @Test
+  public void testRunPhaseGraph() {
+    GraphWorkflow.EXECUTED.clear();
+    List<Failure> failures = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    RunNotifier notifier = recordingNotifier(failures, new ArrayList<>(), finishedTestMethods);
+    try {
+      new WorkflowRunner(GraphWorkflowTestClass.class).run(notifier);
+    } finally {
+      // The graph workflow must not leak into the other tests
+      InstanceManager.getInstance().clear();
+    }
+
+    assertThat(failures, is(empty()));
+    assertThat(finishedTestMethods, hasSize(3));
+    assertThat(GraphWorkflow.EXECUTED, hasSize(4));
+    assertThat(GraphWorkflow.EXECUTED.get(3), is(equalTo("Merge")));
+  }
+
+  @Test
+  public void testRunSharedPhaseOnce() {
+    LoadMasterDataPhase.EXECUTIONS.set(0);
+    List<Failure> failures = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    RunNotifier notifier = recordingNotifier(failures, new ArrayList<>(), finishedTestMethods);
+    try {
+      new WorkflowRunner(SharedPhaseTestSuite.class).run(notifier);
+    } finally {
+      // The shared workflows must not leak into the other tests
+      InstanceManager.getInstance().clear();
+    }
+
+    assertThat(failures, is(empty()));
+    assertThat(finishedTestMethods, hasSize(2));
+    assertThat(LoadMasterDataPhase.EXECUTIONS.get(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testRunWithSharedPrefixes() throws IOException {
+    PrefixPhase.EXECUTIONS.set(0);
+    PrefixPhase.workspace = this.tempFolder.newFolder("workspace").toPath();
+    List<Failure> failures = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    RunNotifier notifier = recordingNotifier(failures, new ArrayList<>(), finishedTestMethods);
+    try {
+      new WorkflowRunner(PrefixTestSuite.class).run(notifier);
+    } finally {
+      // The prefix workflows and their session data must not leak into the other tests
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+
+    assertThat(failures, is(empty()));
+    assertThat(finishedTestMethods, hasSize(4));
+    assertThat(PrefixPhase.EXECUTIONS.get(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testRunWithSharedPrefixesRecordsWorkflows() throws IOException {
+    RecordingMetricsListener.MEASUREMENTS.clear();
+    PrefixPhase.workspace = this.tempFolder.newFolder("workspace").toPath();
+    System.setProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY, RecordingMetricsListener.class.getName());
+    try {
+      new WorkflowRunner(PrefixTestSuite.class).run(new RunNotifier());
+    } finally {
+      System.clearProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY);
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+
+    List<String> workflowNames = new ArrayList<>();
+    for (Measurement measurement : RecordingMetricsListener.MEASUREMENTS) {
+      if (measurement.getType() == Measurement.Type.WORKFLOW) {
+        workflowNames.add(measurement.getName());
+      }
+    }
+    assertThat(workflowNames, containsInAnyOrder("Prefix Workflow A", "Prefix Workflow B"));
+  }
+
+  @Test
+  public void testRunWithScopedPhases() {
+    List<Failure> failures = new ArrayList<>();
+    List<String> ignoredTestMethods = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    RunNotifier notifier = recordingNotifier(failures, ignoredTestMethods, finishedTestMethods);
+    try {
+      WorkflowRunner runner = new WorkflowRunner(ScopedTestSuite.class);
+      // Building the plan creates the singletons of the instance manager, only the scoped instances are counted
+      runner.getDescription();
+      RunScopedPhase.CREATED.set(0);
+      RunScopedPhase.CLOSED.set(0);
+      ThreadScopedPhase.CREATED.set(0);
+      ThreadScopedPhase.CLOSED.set(0);
+      runner.run(notifier);
+    } finally {
+      // The scoped workflows must not leak into the other tests
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+
+    assertThat(failures, is(empty()));
+    assertThat(finishedTestMethods, hasSize(2));
+    assertThat(RunScopedPhase.CREATED.get(), is(equalTo(2)));
+    assertThat(RunScopedPhase.CLOSED.get(), is(equalTo(2)));
+    // Both workflows are run one after the other on the same thread
+    assertThat(ThreadScopedPhase.CREATED.get(), is(equalTo(1)));
+    assertThat(ThreadScopedPhase.CLOSED.get(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testRunInIsolatedContext() {
+    List<Failure> failures = new ArrayList<>();
+    MuphinContext context = MuphinContext.create();
+    WorkflowRunner runner = new WorkflowRunner(ScopedTestSuite.class, context);
+    runner.run(recordingNotifier(failures, new ArrayList<>(), new ArrayList<>()));
+
+    assertThat(failures, is(empty()));
+    assertThat(runner.getMuphinContext(), is(sameInstance(context)));
+    assertThat(context.getInstances().getWorkflows(), hasSize(2));
+    assertThat(InstanceManager.getInstance().getWorkflows().stream()
+        .anyMatch(workflow -> workflow.getClass() == ScopedWorkflowA.class), is(equalTo(false)));
+    assertThat(MuphinContext.current(), is(sameInstance(MuphinContext.getDefault())));
+  }
+
+  @Test
+  public void testRunWithSessionPartitions() {
+    List<Failure> failures = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    MuphinContext context = MuphinContext.create();
+    context.getSession().putData(StorePhase.SHADOWED_KEY, "global");
+    new WorkflowRunner(PartitionTestSuite.class, context).run(recordingNotifier(failures, new ArrayList<>(),
+        finishedTestMethods));
+
+    assertThat(failures, is(empty()));
+    assertThat(finishedTestMethods, hasSize(4));
+    // The data of the workflows was released at their end, the global data is kept
+    assertThat(context.getSession().getData(StorePhase.WORKFLOW_KEY, String.class), is(emptyOptional()));
+    assertThat(context.getSession().getData(StorePhase.SHADOWED_KEY, String.class),
+        is(optionalWithValue(equalTo("global"))));
+  }
+
+  @Test
+  public void testResumeFromCheckpoint() throws IOException {
+    PreparePhase.EXECUTIONS.set(0);
+    Path checkpointDirectory = this.tempFolder.newFolder("checkpoints").toPath();
+    System.setProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY, checkpointDirectory.toString());
+    try {
+      FlakyPhase.failing = true;
+      new WorkflowRunner(CheckpointTestClass.class).run(new RunNotifier());
+      assertThat(PreparePhase.EXECUTIONS.get(), is(equalTo(1)));
+      assertThat(Files.exists(checkpointDirectory.resolve(CheckpointWorkflow.class.getName() + ".checkpoint")),
+          is(equalTo(true)));
+
+      MuphinSession.getInstance().clear();
+      FlakyPhase.failing = false;
+      System.setProperty(RunConfiguration.RESUME_PROPERTY, "true");
+      List<Failure> failures = new ArrayList<>();
+      List<String> ignoredTestMethods = new ArrayList<>();
+      List<String> finishedTestMethods = new ArrayList<>();
+      new WorkflowRunner(CheckpointTestClass.class).run(recordingNotifier(failures, ignoredTestMethods,
+          finishedTestMethods));
+
+      assertThat(failures, is(empty()));
+      assertThat(PreparePhase.EXECUTIONS.get(), is(equalTo(1)));
+      assertThat(ignoredTestMethods, contains("testAfterPreparePhase"));
+      assertThat(finishedTestMethods, contains("testAfterFlakyPhase"));
+      assertThat(Files.exists(checkpointDirectory.resolve(CheckpointWorkflow.class.getName() + ".checkpoint")),
+          is(equalTo(false)));
+    } finally {
+      System.clearProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY);
+      System.clearProperty(RunConfiguration.RESUME_PROPERTY);
+      // The checkpoint workflow and its session data must not leak into the other tests
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+  }
+
+  @Test
+  public void testResumeWithSharedPrefixes() throws IOException {
+    PreparePhase.EXECUTIONS.set(0);
+    Path checkpointDirectory = this.tempFolder.newFolder("checkpoints").toPath();
+    System.setProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY, checkpointDirectory.toString());
+    System.setProperty(RunConfiguration.SHARE_PREFIXES_PROPERTY, "true");
+    try {
+      FlakyPhase.failing = true;
+      new WorkflowRunner(CheckpointTestSuite.class).run(new RunNotifier());
+      assertThat(Files.exists(checkpointDirectory.resolve(CheckpointWorkflow.class.getName() + ".checkpoint")),
+          is(equalTo(true)));
+
+      MuphinSession.getInstance().clear();
+      FlakyPhase.failing = false;
+      System.setProperty(RunConfiguration.RESUME_PROPERTY, "true");
+      List<Failure> failures = new ArrayList<>();
+      new WorkflowRunner(CheckpointTestSuite.class).run(recordingNotifier(failures, new ArrayList<>(),
+          new ArrayList<>()));
+
+      assertThat(failures, is(empty()));
+      assertThat(PreparePhase.EXECUTIONS.get(), is(equalTo(1)));
+    } finally {
+      FlakyPhase.failing = false;
+      System.clearProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY);
+      System.clearProperty(RunConfiguration.SHARE_PREFIXES_PROPERTY);
+      System.clearProperty(RunConfiguration.RESUME_PROPERTY);
+      // The checkpoint workflow and its session data must not leak into the other tests
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+  }
+
+  @Test
+  public void testResumeSingleTestClassFromCheckpointOfSuite() throws IOException, NoTestsRemainException {
+    PreparePhase.EXECUTIONS.set(0);
+    Path checkpointDirectory = this.tempFolder.newFolder("checkpoints").toPath();
+    System.setProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY, checkpointDirectory.toString());
+    try {
+      FlakyPhase.failing = true;
+      new WorkflowRunner(CheckpointTestSuite.class).run(new RunNotifier());
+      assertThat(PreparePhase.EXECUTIONS.get(), is(equalTo(1)));
+
+      MuphinSession.getInstance().clear();
+      FlakyPhase.failing = false;
+      System.setProperty(RunConfiguration.RESUME_PROPERTY, "true");
+      List<Failure> failures = new ArrayList<>();
+      List<String> finishedTestMethods = new ArrayList<>();
+      WorkflowRunner runner = new WorkflowRunner(CheckpointTestClass.class);
+      // Only the failed test of one test class is run again, like a re-run of a single test in the IDE
+      runner.filter(Filter.matchMethodDescription(Description.createTestDescription(CheckpointTestClass.class,
+          "testAfterFlakyPhase")));
+      runner.run(recordingNotifier(failures, new ArrayList<>(), finishedTestMethods));
+
+      assertThat(failures, is(empty()));
+      assertThat(PreparePhase.EXECUTIONS.get(), is(equalTo(1)));
+      assertThat(finishedTestMethods, contains("testAfterFlakyPhase"));
+    } finally {
+      FlakyPhase.failing = false;
+      System.clearProperty(RunConfiguration.CHECKPOINT_DIRECTORY_PROPERTY);
+      System.clearProperty(RunConfiguration.RESUME_PROPERTY);
+      // The checkpoint workflow and its session data must not leak into the other tests
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+  }
+
+  @Test
+  public void testRunSkipsPhasesAfterFailedPhase() {
+    CountingPhase.EXECUTIONS.set(0);
+    FailingPhase.throwing = false;
+    List<Failure> failures = new ArrayList<>();
+    List<String> ignoredTestMethods = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    try {
+      new WorkflowRunner(FailFastTestSuite.class).run(recordingNotifier(failures, ignoredTestMethods,
+          finishedTestMethods));
+    } finally {
+      // The failing workflows must not leak into the other tests
+      InstanceManager.getInstance().clear();
+    }
+
+    assertThat(failures, hasSize(1));
+    assertThat(failures.get(0).getDescription().getDisplayName(), containsString("FailingPhase"));
+    assertThat(failures.get(0).getMessage(), containsString("The phase Failing reported a failure"));
+    assertThat(CountingPhase.EXECUTIONS.get(), is(equalTo(1)));
+    assertThat(ignoredTestMethods, containsInAnyOrder("testAfterFailingPhase", "testAfterCountingPhase"));
+    assertThat(finishedTestMethods, containsInAnyOrder("testBeforeFailingPhase", "testAfterTearDownPhase",
+        "testPassingAfterCountingPhase"));
+  }
+
+  @Test
+  public void testRunSkipsTearDownAfterFailedPhase() {
+    CountingPhase.EXECUTIONS.set(0);
+    FailingPhase.throwing = true;
+    System.setProperty(RunConfiguration.TEAR_DOWN_ON_FAILURE_PROPERTY, "false");
+    List<Failure> failures = new ArrayList<>();
+    List<String> ignoredTestMethods = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    try {
+      new WorkflowRunner(FailFastTestSuite.class).run(recordingNotifier(failures, ignoredTestMethods,
+          finishedTestMethods));
+    } finally {
+      FailingPhase.throwing = false;
+      System.clearProperty(RunConfiguration.TEAR_DOWN_ON_FAILURE_PROPERTY);
+      // The failing workflows must not leak into the other tests
+      InstanceManager.getInstance().clear();
+    }
+
+    assertThat(failures, hasSize(1));
+    assertThat(failures.get(0).getMessage(), containsString("TestMsg"));
+    assertThat(failures.get(0).getException().getCause(), is(instanceOf(IllegalStateException.class)));
+    assertThat(ignoredTestMethods, containsInAnyOrder("testAfterFailingPhase", "testAfterCountingPhase",
+        "testAfterTearDownPhase"));
+    assertThat(finishedTestMethods, containsInAnyOrder("testBeforeFailingPhase", "testPassingAfterCountingPhase"));
+  }
+
   @Test
   public void testFilterWithNoTestsRemainException() {
     assertThrows(NoTestsRemainException.class, () -> {
@@ -353,4 +812,105 @@ public class WorkflowRunnerTest {
         is(equalTo("testTC1WorkflowAAfterSetupPhase(de.morrigan.dev.test.muphin.helper.TestClassA1)")));
   }
 
+  @Test
+  public void testFilterSkipsPhasesAfterLastSelectedTest() throws IOException, NoTestsRemainException {
+    PrefixPhase.EXECUTIONS.set(0);
+    PrefixPhase.workspace = this.tempFolder.newFolder("workspace").toPath();
+    List<Failure> failures = new ArrayList<>();
+    List<String> ignoredTestMethods = new ArrayList<>();
+    List<String> finishedTestMethods = new ArrayList<>();
+    try {
+      WorkflowRunner runner = new WorkflowRunner(PrefixTestSuite.class);
+      runner.filter(Filter.matchMethodDescription(Description.createTestDescription(PrefixTestClassA.class,
+          "testPrefixWorkflowAAfterPrefixPhase")));
+      assertThat(runner.getDescription().testCount(), is(equalTo(1)));
+      runner.run(recordingNotifier(failures, ignoredTestMethods, finishedTestMethods));
+    } finally {
+      // The prefix workflows and their session data must not leak into the other tests
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+
+    assertThat(failures, is(empty()));
+    assertThat(ignoredTestMethods, is(empty()));
+    assertThat(finishedTestMethods, contains("testPrefixWorkflowAAfterPrefixPhase"));
+    assertThat(PrefixPhase.EXECUTIONS.get(), is(equalTo(1)));
+    assertThat(Files.exists(PrefixPhase.workspace.resolve("branchA.txt")), is(equalTo(false)));
+    assertThat(Files.exists(PrefixPhase.workspace.resolve("branchB.txt")), is(equalTo(false)));
+  }
+
+  @Test
+  public void testRunRecordsMetrics() {
+    RecordingMetricsListener.MEASUREMENTS.clear();
+    RecordingMetricsListener.FINISHED_RUNS.set(0);
+    System.setProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY, RecordingMetricsListener.class.getName());
+    try {
+      new WorkflowRunner(TestClassA1.class).run(new RunNotifier());
+    } finally {
+      System.clearProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY);
+    }
+
+    Map<Measurement.Type, List<String>> names = new EnumMap<>(Measurement.Type.class);
+    for (Measurement measurement : RecordingMetricsListener.MEASUREMENTS) {
+      assertThat(measurement.getWallTime(), is(greaterThanOrEqualTo(0L)));
+      names.computeIfAbsent(measurement.getType(), type -> new ArrayList<>()).add(measurement.getName());
+    }
+    assertThat(names.get(Measurement.Type.WORKFLOW), hasItem("Workflow A"));
+    assertThat(names.get(Measurement.Type.PHASE), hasSize(4));
+    assertThat(names.get(Measurement.Type.HOOK), hasSize(8));
+    assertThat(names.get(Measurement.Type.HOOK).get(0),
+        is(equalTo("testTC1WorkflowABeforeSetupPhase(de.morrigan.dev.test.muphin.helper.TestClassA1)")));
+    assertThat(RecordingMetricsListener.FINISHED_RUNS.get(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testRunFinishesMetricsWhenAborted() {
+    RecordingMetricsListener.FINISHED_RUNS.set(0);
+    System.setProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY, RecordingMetricsListener.class.getName());
+    try {
+      WorkflowRunner runner = new WorkflowRunner(AbortedTestClass.class);
+      // The singleton of the plan is created, only the instance of the workflow run fails
+      runner.getDescription();
+      BrokenPhase.broken = true;
+      assertThrows(IllegalArgumentException.class, () -> runner.run(new RunNotifier()));
+    } finally {
+      BrokenPhase.broken = false;
+      System.clearProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY);
+      InstanceManager.getInstance().clear();
+    }
+
+    assertThat(RecordingMetricsListener.FINISHED_RUNS.get(), is(equalTo(1)));
+  }
+
+  private RunNotifier recordingNotifier(List<Failure> failures, List<String> ignoredTestMethods,
+      List<String> finishedTestMethods) {
+    RunNotifier notifier = new RunNotifier();
+    notifier.addListener(new RunListener() {
+      @Override
+      public void testFailure(Failure failure) throws Exception {
+        failures.add(failure);
+      }
+
+      @Override
+      public void testIgnored(Description description) throws Exception {
+        ignoredTestMethods.add(description.getMethodName());
+      }
+
+      @Override
+      public void testFinished(Description description) throws Exception {
+        finishedTestMethods.add(description.getMethodName());
+      }
+    });
+    return notifier;
+  }
+
+  private List<String> testMethodsOf(List<String> testMethods, String testClassPrefix) {
+    List<String> result = new ArrayList<>();
+    for (String testMethod : testMethods) {
+      if (testMethod.contains("helper." + testClassPrefix)) {
+        result.add(testMethod);
+      }
+    }
+    return result;
+  }
 }
\ No newline at end of file
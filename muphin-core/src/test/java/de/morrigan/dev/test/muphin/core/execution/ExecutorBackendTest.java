@@ -0,0 +1,57 @@
+package de.morrigan.dev.test.muphin.core.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.execution.ExecutorBackend;
+
+public class ExecutorBackendTest {
+
+  @Test
+  public void testPlatform() throws Exception {
+    ExecutorBackend sut = ExecutorBackend.PLATFORM;
+    assertThat(sut.isAvailable(), is(equalTo(true)));
+
+    ExecutorService executor = sut.newExecutor(2, "test-");
+    try {
+      String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+      assertThat(threadName, startsWith("test-"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testVirtual() throws Exception {
+    ExecutorBackend sut = ExecutorBackend.VIRTUAL;
+    assumeTrue(sut.isAvailable());
+
+    ExecutorService executor = sut.newExecutor(2, "test-");
+    try {
+      String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+      assertThat(threadName, startsWith("test-"));
+      boolean virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual")
+          .invoke(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+      assertThat(virtual, is(equalTo(true)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testVirtualNotAvailable() {
+    ExecutorBackend sut = ExecutorBackend.VIRTUAL;
+    assumeFalse(sut.isAvailable());
+    assertThrows(IllegalStateException.class, () -> sut.newExecutor(2, "test-"));
+  }
+}
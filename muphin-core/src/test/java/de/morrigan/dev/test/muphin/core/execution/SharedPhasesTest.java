@@ -0,0 +1,147 @@
+package de.morrigan.dev.test.muphin.core.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.annotation.Shareable;
+import de.morrigan.dev.muphin.core.execution.SharedPhases;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class SharedPhasesTest {
+
+  @Shareable
+  private static class ShareablePhase extends AbstractPhase {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Object shareKey;
+    private volatile boolean blocking;
+    private volatile RuntimeException failure;
+
+    private ShareablePhase(Object shareKey) {
+      super("Test", "Shareable");
+      this.shareKey = shareKey;
+    }
+
+    @Override
+    public Object getShareKey() {
+      return this.shareKey;
+    }
+
+    @Override
+    public boolean execute() {
+      this.executions.incrementAndGet();
+      this.started.countDown();
+      if (this.blocking) {
+        try {
+          this.release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (this.failure != null) {
+        throw this.failure;
+      }
+      return true;
+    }
+  }
+
+  private static class OrdinaryPhase extends AbstractPhase {
+
+    private int executions;
+
+    private OrdinaryPhase() {
+      super("Test", "Ordinary");
+    }
+
+    @Override
+    public boolean execute() {
+      this.executions++;
+      return false;
+    }
+  }
+
+  private SharedPhases sut;
+
+  @Before
+  public void setup() {
+    this.sut = new SharedPhases();
+  }
+
+  @Test
+  public void testExecuteOnce() {
+    ShareablePhase phase = new ShareablePhase("key");
+
+    assertThat(this.sut.execute(phase), is(equalTo(true)));
+    assertThat(this.sut.execute(phase), is(equalTo(true)));
+    assertThat(this.sut.execute(new ShareablePhase("key")), is(equalTo(true)));
+    assertThat(phase.executions.get(), is(equalTo(1)));
+    assertThat(this.sut.size(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testExecuteWithDifferentShareKeys() {
+    ShareablePhase phase1 = new ShareablePhase("key1");
+    ShareablePhase phase2 = new ShareablePhase("key2");
+
+    this.sut.execute(phase1);
+    this.sut.execute(phase2);
+    assertThat(phase1.executions.get(), is(equalTo(1)));
+    assertThat(phase2.executions.get(), is(equalTo(1)));
+    assertThat(this.sut.size(), is(equalTo(2)));
+  }
+
+  @Test
+  public void testExecuteNotShareablePhase() {
+    OrdinaryPhase phase = new OrdinaryPhase();
+
+    assertThat(this.sut.execute(phase), is(equalTo(false)));
+    assertThat(this.sut.execute(phase), is(equalTo(false)));
+    assertThat(phase.executions, is(equalTo(2)));
+    assertThat(this.sut.size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void testConcurrentRequestsWaitForExecution() throws Exception {
+    ShareablePhase phase = new ShareablePhase("key");
+    phase.blocking = true;
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Boolean> first = executor.submit(() -> this.sut.execute(phase));
+      assertThat(phase.started.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+      Future<Boolean> second = executor.submit(() -> this.sut.execute(phase));
+
+      phase.release.countDown();
+      assertThat(first.get(5, TimeUnit.SECONDS), is(equalTo(true)));
+      assertThat(second.get(5, TimeUnit.SECONDS), is(equalTo(true)));
+      assertThat(phase.executions.get(), is(equalTo(1)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFailureIsShared() {
+    ShareablePhase phase = new ShareablePhase("key");
+    phase.failure = new IllegalStateException("TestMsg");
+
+    IllegalStateException ise1 = assertThrows(IllegalStateException.class, () -> this.sut.execute(phase));
+    IllegalStateException ise2 = assertThrows(IllegalStateException.class, () -> this.sut.execute(phase));
+    assertThat(ise2, is(sameInstance(ise1)));
+    assertThat(phase.executions.get(), is(equalTo(1)));
+  }
+}
@@ -0,0 +1,206 @@
+package de.morrigan.dev.test.muphin.core.index;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.morrigan.dev.muphin.core.index.ClasspathScanner;
+import de.morrigan.dev.muphin.core.index.DiscoveryCache;
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+import de.morrigan.dev.test.muphin.helper.TestClassA1;
+import de.morrigan.dev.test.muphin.helper.TestClassB;
+import de.morrigan.dev.test.muphin.helper.WorkflowA;
+import de.morrigan.dev.test.muphin.helper.WorkflowB;
+
+public class ClasspathScannerTest {
+
+  private static class CountingScanner extends ClasspathScanner {
+
+    private int scannedEntries;
+
+    public CountingScanner(DiscoveryCache cache) {
+      super(cache);
+    }
+
+    @Override
+    protected WorkflowIndex scanEntry(Path classpathEntry) {
+      this.scannedEntries++;
+      return super.scanEntry(classpathEntry);
+    }
+  }
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path cacheFile;
+  private Path testClasses;
+
+  @Before
+  public void setup() throws URISyntaxException {
+    this.cacheFile = this.tempFolder.getRoot().toPath().resolve("discovery.cache");
+    this.testClasses = Paths.get(TestClassA1.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+  }
+
+  @Test
+  public void testScan() {
+    CountingScanner sut = new CountingScanner(DiscoveryCache.load(this.cacheFile));
+    WorkflowIndex index = sut.scan(Collections.singletonList(this.testClasses));
+
+    assertThat(sut.scannedEntries, is(equalTo(1)));
+    assertThat(index.getClassNames(), hasItems(TestClassA1.class.getName(), TestClassB.class.getName()));
+    assertThat(index.getMethodNames(TestClassA1.class.getName()), is(not(empty())));
+    assertThat(Files.exists(this.cacheFile), is(equalTo(true)));
+  }
+
+  @Test
+  public void testScanWithUnchangedEntryUsesCache() {
+    List<Path> classpath = Collections.singletonList(this.testClasses);
+    new ClasspathScanner(DiscoveryCache.load(this.cacheFile)).scan(classpath);
+
+    CountingScanner sut = new CountingScanner(DiscoveryCache.load(this.cacheFile));
+    WorkflowIndex index = sut.scan(classpath);
+
+    assertThat(sut.scannedEntries, is(equalTo(0)));
+    assertThat(index.getClassNames(), hasItems(TestClassA1.class.getName(), TestClassB.class.getName()));
+  }
+
+  @Test
+  public void testScanWithChangedEntryRescansOnlyThisEntry() throws IOException {
+    Path changedDirectory = this.tempFolder.newFolder("classes").toPath();
+    Path file = Files.createFile(changedDirectory.resolve("Any.txt"));
+    List<Path> classpath = Arrays.asList(this.testClasses, changedDirectory);
+    new ClasspathScanner(DiscoveryCache.load(this.cacheFile)).scan(classpath);
+
+    Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 10000));
+    CountingScanner sut = new CountingScanner(DiscoveryCache.load(this.cacheFile));
+    WorkflowIndex index = sut.scan(classpath);
+
+    assertThat(sut.scannedEntries, is(equalTo(1)));
+    assertThat(index.getClassNames(), hasItems(TestClassA1.class.getName(), TestClassB.class.getName()));
+  }
+
+  @Test
+  public void testScanWithPackages() {
+    ClasspathScanner sut = new ClasspathScanner(DiscoveryCache.load(this.cacheFile),
+        Collections.singletonList("de.morrigan.dev.test.muphin.core"), Collections.emptyList());
+    WorkflowIndex index = sut.scan(Collections.singletonList(this.testClasses));
+    assertThat(index.isEmpty(), is(equalTo(true)));
+
+    sut = new ClasspathScanner(DiscoveryCache.load(this.cacheFile),
+        Collections.singletonList("de.morrigan.dev.test.muphin.helper"), Collections.emptyList());
+    index = sut.scan(Collections.singletonList(this.testClasses));
+    assertThat(index.getClassNames(), hasItems(TestClassA1.class.getName(), TestClassB.class.getName()));
+  }
+
+  @Test
+  public void testScanJar() throws IOException {
+    Path jar = createJar("workflow-tests.jar", TestClassA1.class, WorkflowA.class);
+    ClasspathScanner sut = new ClasspathScanner(DiscoveryCache.load(this.cacheFile));
+    WorkflowIndex index = sut.scan(Collections.singletonList(jar));
+
+    assertThat(index.getClassNames(), contains(TestClassA1.class.getName()));
+    assertThat(index.getMethodNames(TestClassA1.class.getName()),
+        containsInAnyOrder(WorkflowIndex.phaseMethodNames(TestClassA1.class).toArray()));
+  }
+
+  @Test
+  public void testScanWithExcludedJar() throws IOException {
+    Path jar = createJar("workflow-tests.jar", TestClassA1.class);
+    ClasspathScanner sut = new ClasspathScanner(DiscoveryCache.load(this.cacheFile), Collections.emptyList(),
+        Collections.singletonList("workflow-*.jar"));
+    WorkflowIndex index = sut.scan(Collections.singletonList(jar));
+    assertThat(index.isEmpty(), is(equalTo(true)));
+  }
+
+  @Test
+  public void testDiscoverScansOnlyEntriesWithoutIndex() throws IOException {
+    Path indexedJar = this.tempFolder.getRoot().toPath().resolve("indexed-tests.jar");
+    try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(indexedJar))) {
+      out.putNextEntry(new ZipEntry(WorkflowIndex.RESOURCE));
+      out.write("de.example.IndexedTest=testAfterPhase\n".getBytes(StandardCharsets.UTF_8));
+      out.closeEntry();
+    }
+    Path unindexedJar = createJar("third-party-tests.jar", TestClassA1.class);
+    CountingScanner sut = new CountingScanner(DiscoveryCache.load(this.cacheFile));
+    WorkflowIndex index = sut.discover(Arrays.asList(indexedJar, unindexedJar));
+
+    assertThat(sut.scannedEntries, is(equalTo(1)));
+    assertThat(index.getClassNames(), containsInAnyOrder("de.example.IndexedTest", TestClassA1.class.getName()));
+  }
+
+  @Test
+  public void testGetClassPathOfIsolatedClassLoader() throws IOException {
+    Path directory = this.tempFolder.newFolder("isolated").toPath();
+    Path jar = createJar("isolated-tests.jar", TestClassA1.class);
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+        directory.toUri().toURL(), jar.toUri().toURL(), this.tempFolder.getRoot().toPath().resolve("missing.jar")
+            .toUri().toURL()
+    }, null)) {
+      // Only the entries of the class loader are used, not the classpath of the JVM
+      assertThat(ClasspathScanner.getClassPath(classLoader), contains(directory, jar));
+    }
+  }
+
+  @Test
+  public void testGetClassPathOfChildClassLoader() throws IOException {
+    Path directory = this.tempFolder.newFolder("child").toPath();
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+        directory.toUri().toURL()
+    }, ClassLoader.getSystemClassLoader())) {
+      List<Path> classPath = ClasspathScanner.getClassPath(classLoader);
+      assertThat(classPath.get(0), is(equalTo(directory)));
+      assertThat(classPath, hasItems(this.testClasses));
+    }
+  }
+
+  @Test
+  public void testReadWorkflowClassName() {
+    ClassLoader classLoader = getClass().getClassLoader();
+    assertThat(ClasspathScanner.readWorkflowClassName(classLoader, TestClassA1.class.getName()),
+        is(optionalWithValue(equalTo(WorkflowA.class.getName()))));
+    assertThat(ClasspathScanner.readWorkflowClassName(classLoader, TestClassB.class.getName()),
+        is(optionalWithValue(equalTo(WorkflowB.class.getName()))));
+    assertThat(ClasspathScanner.readWorkflowClassName(classLoader, WorkflowA.class.getName()), is(emptyOptional()));
+    assertThat(ClasspathScanner.readWorkflowClassName(classLoader, "de.example.Missing"), is(emptyOptional()));
+  }
+
+  private Path createJar(String name, Class<?>... classes) throws IOException {
+    Path jar = this.tempFolder.getRoot().toPath().resolve(name);
+    try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+      for (Class<?> clazz : classes) {
+        String classFile = clazz.getName().replace('.', '/') + ".class";
+        out.putNextEntry(new ZipEntry(classFile));
+        out.write(Files.readAllBytes(this.testClasses.resolve(classFile)));
+        out.closeEntry();
+      }
+    }
+    return jar;
+  }
+}
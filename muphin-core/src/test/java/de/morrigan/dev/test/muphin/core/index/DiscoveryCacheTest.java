@@ -0,0 +1,84 @@
+package de.morrigan.dev.test.muphin.core.index;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.morrigan.dev.muphin.core.index.DiscoveryCache;
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+
+public class DiscoveryCacheTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path cacheFile;
+
+  @Before
+  public void setup() {
+    this.cacheFile = this.tempFolder.getRoot().toPath().resolve("cache/discovery.cache");
+  }
+
+  @Test
+  public void testLoadWithoutFile() {
+    DiscoveryCache sut = DiscoveryCache.load(this.cacheFile);
+    assertThat(sut.get("/any/entry.jar", "f1-1"), is(emptyOptional()));
+  }
+
+  @Test
+  public void testSaveAndLoad() {
+    WorkflowIndex index = new WorkflowIndex();
+    index.add("de.example.TestA", Arrays.asList("testBefore", "testAfter"));
+    DiscoveryCache sut = DiscoveryCache.load(this.cacheFile);
+    sut.put("/any/entry with spaces.jar", "f1-1", index);
+    sut.put("/any/empty.jar", "f2-2", new WorkflowIndex());
+    sut.save();
+
+    DiscoveryCache loadedCache = DiscoveryCache.load(this.cacheFile);
+    Optional<WorkflowIndex> loadedIndex = loadedCache.get("/any/entry with spaces.jar", "f1-1");
+    assertThat(loadedIndex.isPresent(), is(equalTo(true)));
+    assertThat(loadedIndex.get().getClassNames(), contains("de.example.TestA"));
+    assertThat(loadedIndex.get().getMethodNames("de.example.TestA"), contains("testBefore", "testAfter"));
+    assertThat(loadedCache.get("/any/empty.jar", "f2-2").get().isEmpty(), is(equalTo(true)));
+  }
+
+  @Test
+  public void testGetWithChangedFingerprint() {
+    DiscoveryCache sut = DiscoveryCache.load(this.cacheFile);
+    sut.put("/any/entry.jar", "f1-1", new WorkflowIndex());
+    assertThat(sut.get("/any/entry.jar", "f1-2"), is(emptyOptional()));
+  }
+
+  @Test
+  public void testRetainAll() {
+    DiscoveryCache sut = DiscoveryCache.load(this.cacheFile);
+    sut.put("/any/entry1.jar", "f1-1", new WorkflowIndex());
+    sut.put("/any/entry2.jar", "f2-2", new WorkflowIndex());
+    sut.retainAll(Collections.singleton("/any/entry2.jar"));
+    assertThat(sut.get("/any/entry1.jar", "f1-1"), is(emptyOptional()));
+    assertThat(sut.get("/any/entry2.jar", "f2-2").isPresent(), is(equalTo(true)));
+  }
+
+  @Test
+  public void testLoadWithCorruptFile() throws IOException {
+    Files.createDirectories(this.cacheFile.getParent());
+    Files.write(this.cacheFile, "@ invalid\nde.example.TestA=test".getBytes(StandardCharsets.UTF_8));
+    DiscoveryCache sut = DiscoveryCache.load(this.cacheFile);
+    assertThat(sut.get("invalid", "@"), is(emptyOptional()));
+  }
+}
@@ -0,0 +1,81 @@
+package de.morrigan.dev.test.muphin.core.index;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+import de.morrigan.dev.test.muphin.helper.TestClassA1;
+import de.morrigan.dev.test.muphin.helper.TestClassA2;
+import de.morrigan.dev.test.muphin.helper.TestClassB;
+
+public class WorkflowIndexTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testLoadIndexWrittenByProcessor() {
+    Optional<WorkflowIndex> index = WorkflowIndex.load(getClass().getClassLoader());
+    assertThat(index.isPresent(), is(equalTo(true)));
+    assertThat(index.get().getClassNames(),
+        hasItems(TestClassA1.class.getName(), TestClassA2.class.getName(), TestClassB.class.getName()));
+    assertThat(index.get().getMethodNames(TestClassA1.class.getName()),
+        containsInAnyOrder(WorkflowIndex.phaseMethodNames(TestClassA1.class).toArray()));
+  }
+
+  @Test
+  public void testLoadWithoutIndex() {
+    ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+    assertThat(WorkflowIndex.load(classLoader), is(emptyOptional()));
+  }
+
+  @Test
+  public void testLoadClasspathEntry() throws IOException, URISyntaxException {
+    Path testClasses = Paths.get(TestClassA1.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    Optional<WorkflowIndex> index = WorkflowIndex.load(testClasses);
+    assertThat(index.isPresent(), is(equalTo(true)));
+    assertThat(index.get().getClassNames(), hasItems(TestClassA1.class.getName(), TestClassB.class.getName()));
+
+    assertThat(WorkflowIndex.load(this.tempFolder.newFolder().toPath()), is(emptyOptional()));
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    WorkflowIndex sut = new WorkflowIndex();
+    sut.add("de.example.TestA", Arrays.asList("testBefore", "testAfter"));
+    sut.add("de.example.TestB", Arrays.asList());
+    sut.add("de.example.TestA", Arrays.asList("testAfter", "testOther"));
+
+    StringWriter writer = new StringWriter();
+    sut.write(writer);
+    WorkflowIndex readIndex = new WorkflowIndex();
+    readIndex.read(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(readIndex.getClassNames(), contains("de.example.TestA", "de.example.TestB"));
+    assertThat(readIndex.getMethodNames("de.example.TestA"), contains("testBefore", "testAfter", "testOther"));
+    assertThat(readIndex.getMethodNames("de.example.TestB"), is(empty()));
+    assertThat(readIndex.getMethodNames("de.example.Unknown"), is(empty()));
+  }
+}
@@ -0,0 +1,164 @@
+package de.morrigan.dev.test.muphin.core.invoke;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.invoke.InvokeMethodHandle;
+import de.morrigan.dev.muphin.core.invoke.InvokerCache;
+
+public class InvokerCacheTest {
+
+  public static class Fixture {
+
+    private static int instances;
+
+    private int calls;
+
+    public Fixture() {
+      instances++;
+    }
+
+    public void publicMethod() {
+      this.calls++;
+    }
+
+    void packagePrivateMethod() {
+      this.calls++;
+    }
+
+    public void failingMethod() throws Exception {
+      throw new Exception("TestMsg");
+    }
+
+    public void methodWithParameter(String parameter) {
+      this.calls++;
+    }
+  }
+
+  static class NonPublicFixture {
+
+    private boolean called;
+
+    public NonPublicFixture() {
+      super();
+    }
+
+    public void publicMethod() {
+      this.called = true;
+    }
+  }
+
+  public static class FixtureWithoutDefaultConstructor {
+
+    public FixtureWithoutDefaultConstructor(String value) {
+      super();
+    }
+  }
+
+  private static final InvokerCache SUT = InvokerCache.getInstance();
+
+  @Before
+  public void setup() {
+    SUT.clear();
+  }
+
+  @Test
+  public void testGetConstructorIsCached() {
+    MethodHandle handle = SUT.getConstructor(Fixture.class);
+    assertThat(SUT.getConstructor(Fixture.class), is(sameInstance(handle)));
+
+    SUT.clear();
+    assertThat(SUT.getConstructor(Fixture.class), is(not(sameInstance(handle))));
+  }
+
+  @Test
+  public void testNewInstance() throws Exception {
+    int instances = Fixture.instances;
+    Object fixture = SUT.newInstance(Fixture.class);
+    assertThat(fixture, is(instanceOf(Fixture.class)));
+    assertThat(Fixture.instances, is(equalTo(instances + 1)));
+
+    assertThat(SUT.newInstance(NonPublicFixture.class), is(instanceOf(NonPublicFixture.class)));
+  }
+
+  @Test
+  public void testNewInstanceWithoutDefaultConstructor() {
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> SUT.newInstance(FixtureWithoutDefaultConstructor.class));
+    assertThat(iae.getMessage(), containsString("Please make sure a public default constructor exists."));
+  }
+
+  @Test
+  public void testGetMethodIsCached() throws Exception {
+    MethodHandle handle = SUT.getMethod(Fixture.class.getMethod("publicMethod"));
+    assertThat(SUT.getMethod(Fixture.class.getMethod("publicMethod")), is(sameInstance(handle)));
+  }
+
+  @Test
+  public void testInvokeMethodHandle() throws Throwable {
+    Fixture fixture = new Fixture();
+    new InvokeMethodHandle(SUT.getMethod(Fixture.class.getMethod("publicMethod")), fixture).evaluate();
+    new InvokeMethodHandle(SUT.getMethod(Fixture.class.getDeclaredMethod("packagePrivateMethod")), fixture).evaluate();
+    assertThat(fixture.calls, is(equalTo(2)));
+
+    NonPublicFixture nonPublicFixture = new NonPublicFixture();
+    new InvokeMethodHandle(SUT.getMethod(NonPublicFixture.class.getMethod("publicMethod")), nonPublicFixture)
+        .evaluate();
+    assertThat(nonPublicFixture.called, is(equalTo(true)));
+  }
+
+  @Test
+  public void testInvokeMethodHandleThrowsUnwrappedException() throws Exception {
+    InvokeMethodHandle statement = new InvokeMethodHandle(SUT.getMethod(Fixture.class.getMethod("failingMethod")),
+        new Fixture());
+    Exception e = assertThrows(Exception.class, statement::evaluate);
+    assertThat(e.getMessage(), is(equalTo("TestMsg")));
+  }
+
+  @Test
+  public void testGetMethodWithParameter() {
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> SUT.getMethod(Fixture.class.getMethod("methodWithParameter", String.class)));
+    assertThat(iae.getMessage(), containsString("must not have any parameters"));
+  }
+
+  @Test
+  public void testCacheDoesNotHoldClassLoader() throws Exception {
+    WeakReference<ClassLoader> loader = useFixtureOfOwnClassLoader();
+    for (int i = 0; i < 20 && loader.get() != null; i++) {
+      System.gc();
+      Thread.sleep(50);
+    }
+    assertThat(loader.get(), is(nullValue()));
+  }
+
+  private WeakReference<ClassLoader> useFixtureOfOwnClassLoader() throws Exception {
+    URL testClasses = InvokerCacheTest.class.getProtectionDomain().getCodeSource().getLocation();
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {
+        testClasses
+    }, null)) {
+      Class<?> fixtureClass = loader.loadClass(Fixture.class.getName());
+      assertThat(fixtureClass, is(not(sameInstance(Fixture.class))));
+      Object fixture = SUT.newInstance(fixtureClass);
+      new InvokeMethodHandle(SUT.getMethod(fixtureClass.getMethod("publicMethod")), fixture).evaluate();
+      return new WeakReference<>(loader);
+    } catch (Throwable e) {
+      throw new AssertionError(e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package de.morrigan.dev.test.muphin.core.invoke;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.invoke.ThreadInstances;
+
+public class ThreadInstancesTest {
+
+  private class Fixture implements AutoCloseable {
+
+    private final String name;
+
+    Fixture(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void close() {
+      ThreadInstancesTest.this.closed.add(this.name);
+      if ("failing".equals(this.name)) {
+        throw new IllegalStateException("TestMsg");
+      }
+    }
+  }
+
+  private ThreadInstances sut;
+  private List<String> closed;
+
+  @Before
+  public void setup() {
+    this.sut = new ThreadInstances();
+    this.closed = new ArrayList<>();
+  }
+
+  @Test
+  public void testGetReusesInstance() throws Exception {
+    Object first = this.sut.get(String.class, () -> new Fixture("first"));
+    Object second = this.sut.get(String.class, () -> new Fixture("second"));
+
+    assertThat(second, is(sameInstance(first)));
+    assertThat(this.sut.size(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testGetCreatesInstancePerThread() throws Exception {
+    Object first = this.sut.get(String.class, () -> new Fixture("first"));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Object second = executor.submit(() -> this.sut.get(String.class, () -> new Fixture("second"))).get();
+      Object third = executor.submit(() -> this.sut.get(String.class, () -> new Fixture("third"))).get();
+
+      assertThat(second, is(not(sameInstance(first))));
+      assertThat(third, is(sameInstance(second)));
+      assertThat(this.sut.size(), is(equalTo(2)));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    this.sut.close();
+
+    assertThat(this.closed, contains("second", "first"));
+  }
+
+  @Test
+  public void testCloseInReverseOrder() throws Exception {
+    this.sut.get(String.class, () -> new Fixture("first"));
+    this.sut.get(Integer.class, () -> new Fixture("failing"));
+    this.sut.get(Long.class, () -> new Fixture("last"));
+    this.sut.get(Double.class, Object::new);
+
+    this.sut.close();
+    this.sut.close();
+
+    assertThat(this.closed, contains("last", "failing", "first"));
+    assertThat(this.sut.size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void testGetAfterClose() {
+    this.sut.close();
+    assertThrows(IllegalStateException.class, () -> this.sut.get(String.class, Object::new));
+  }
+}
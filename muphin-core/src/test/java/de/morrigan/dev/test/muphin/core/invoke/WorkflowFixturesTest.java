@@ -0,0 +1,132 @@
+package de.morrigan.dev.test.muphin.core.invoke;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.invoke.WorkflowFixtures;
+
+public class WorkflowFixturesTest {
+
+  private class Fixture implements AutoCloseable {
+
+    private final String name;
+
+    Fixture(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void close() {
+      WorkflowFixturesTest.this.closed.add(this.name);
+      if ("failing".equals(this.name)) {
+        throw new IllegalStateException("TestMsg");
+      }
+    }
+  }
+
+  private WorkflowFixtures sut;
+  private List<String> closed;
+
+  @Before
+  public void setup() {
+    this.sut = new WorkflowFixtures();
+    this.closed = new ArrayList<>();
+  }
+
+  @Test
+  public void testGetReusesInstance() throws Exception {
+    Object first = this.sut.get(String.class, () -> new Fixture("first"));
+    Object second = this.sut.get(String.class, () -> new Fixture("second"));
+
+    assertThat(second, is(sameInstance(first)));
+    assertThat(this.sut.size(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testCloseInReverseOrder() throws Exception {
+    this.sut.get(String.class, () -> new Fixture("first"));
+    this.sut.get(Integer.class, () -> new Fixture("failing"));
+    this.sut.get(Long.class, () -> new Fixture("last"));
+    this.sut.get(Double.class, Object::new);
+
+    this.sut.close();
+    this.sut.close();
+
+    assertThat(this.closed, contains("last", "failing", "first"));
+    assertThat(this.sut.size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void testGetCreatesDifferentClassesConcurrently() throws Exception {
+    CountDownLatch integerCreated = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // The creation of the string waits for the integer, which must not wait for the string
+      Future<Object> first = executor.submit(() -> this.sut.get(String.class,
+          () -> integerCreated.await(5, TimeUnit.SECONDS)));
+      this.sut.get(Integer.class, () -> {
+        integerCreated.countDown();
+        return new Fixture("second");
+      });
+
+      assertThat(first.get(), is(equalTo(Boolean.TRUE)));
+      assertThat(this.sut.size(), is(equalTo(2)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testGetCreatesInstanceOnlyOnce() throws Exception {
+    AtomicInteger creations = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Object>> instances = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        instances.add(executor.submit(() -> this.sut.get(String.class, () -> {
+          Thread.sleep(10);
+          return new Fixture("fixture " + creations.incrementAndGet());
+        })));
+      }
+      for (Future<Object> instance : instances) {
+        assertThat(instance.get(), is(sameInstance(instances.get(0).get())));
+      }
+      assertThat(creations.get(), is(equalTo(1)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testGetRetriesFailedCreation() throws Exception {
+    assertThrows(IllegalStateException.class, () -> this.sut.get(String.class, () -> {
+      throw new IllegalStateException("TestMsg");
+    }));
+    Object instance = this.sut.get(String.class, () -> new Fixture("retried"));
+
+    assertThat(((Fixture) instance).name, is(equalTo("retried")));
+    assertThat(this.sut.size(), is(equalTo(1)));
+  }
+
+  @Test
+  public void testGetAfterClose() {
+    this.sut.close();
+    assertThrows(IllegalStateException.class, () -> this.sut.get(String.class, Object::new));
+  }
+}
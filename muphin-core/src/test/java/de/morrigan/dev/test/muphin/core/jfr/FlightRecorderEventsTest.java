@@ -0,0 +1,131 @@
+package de.morrigan.dev.test.muphin.core.jfr;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.RunNotifier;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.jfr.FlightRecorderEvents;
+import de.morrigan.dev.test.muphin.helper.TestClassA1;
+import de.morrigan.dev.test.muphin.scenario.prefix.PrefixPhase;
+import de.morrigan.dev.test.muphin.scenario.prefix.PrefixTestSuite;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Before
+  public void setup() {
+    assumeTrue(FlightRecorderEvents.isAvailable());
+  }
+
+  @Test
+  public void testNotRecording() {
+    assertThat(FlightRecorderEvents.beginWorkflow(), is(nullValue()));
+    assertThat(FlightRecorderEvents.beginPhase(), is(nullValue()));
+    assertThat(FlightRecorderEvents.beginHook(), is(nullValue()));
+    assertThat(FlightRecorderEvents.beginCmdTask(), is(nullValue()));
+
+    FlightRecorderEvents.commitWorkflow(null, "Workflow A");
+  }
+
+  @Test
+  public void testRecording() throws IOException {
+    List<RecordedEvent> events = record(() -> {
+      new WorkflowRunner(TestClassA1.class).run(new RunNotifier());
+      FlightRecorderEvents.commitCmdTask(FlightRecorderEvents.beginCmdTask(), "sh -c echo", 0, 1);
+    });
+
+    List<RecordedEvent> workflows = eventsOf(events, FlightRecorderEvents.WORKFLOW);
+    assertThat(workflows.stream().map(event -> event.getString("workflow")).collect(Collectors.toList()),
+        hasItem("Workflow A"));
+
+    List<RecordedEvent> phases = eventsOf(events, FlightRecorderEvents.PHASE);
+    assertThat(phases, hasSize(4));
+    assertThat(phases.get(1).getString("workflow"), is(equalTo("Workflow A")));
+    assertThat(phases.get(1).getString("phase"), is(equalTo("Phase A")));
+    assertThat(phases.get(1).getString("kind"), is(equalTo("Test")));
+    assertThat(phases.get(1).getBoolean("successful"), is(equalTo(true)));
+
+    List<RecordedEvent> hooks = eventsOf(events, FlightRecorderEvents.HOOK);
+    assertThat(hooks, hasSize(8));
+    assertThat(hooks.get(0).getString("test"),
+        is(equalTo("testTC1WorkflowABeforeSetupPhase(de.morrigan.dev.test.muphin.helper.TestClassA1)")));
+    assertThat(hooks.get(0).getBoolean("beforePhase"), is(equalTo(true)));
+    assertThat(hooks.get(1).getBoolean("beforePhase"), is(equalTo(false)));
+
+    List<RecordedEvent> cmdTasks = eventsOf(events, FlightRecorderEvents.CMD_TASK);
+    assertThat(cmdTasks, hasSize(1));
+    assertThat(cmdTasks.get(0).getString("commandLine"), is(equalTo("sh -c echo")));
+    assertThat(cmdTasks.get(0).getInt("exitValue"), is(equalTo(0)));
+    assertThat(cmdTasks.get(0).getInt("outputSize"), is(equalTo(1)));
+  }
+
+  @Test
+  public void testRecordingWithSharedPrefixes() throws IOException {
+    PrefixPhase.workspace = this.tempFolder.newFolder("workspace").toPath();
+    List<RecordedEvent> events;
+    try {
+      events = record(() -> new WorkflowRunner(PrefixTestSuite.class).run(new RunNotifier()));
+    } finally {
+      // The prefix workflows and their session data must not leak into the other tests
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+
+    List<RecordedEvent> workflows = eventsOf(events, FlightRecorderEvents.WORKFLOW);
+    assertThat(workflows.stream().map(event -> event.getString("workflow")).collect(Collectors.toList()),
+        containsInAnyOrder("Prefix Workflow A", "Prefix Workflow B"));
+  }
+
+  private List<RecordedEvent> record(Runnable action) throws IOException {
+    Path file = this.tempFolder.getRoot().toPath().resolve("muphin.jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : new String[] {
+          FlightRecorderEvents.WORKFLOW, FlightRecorderEvents.PHASE, FlightRecorderEvents.HOOK,
+          FlightRecorderEvents.CMD_TASK
+      }) {
+        recording.enable(name).withoutThreshold();
+      }
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file);
+  }
+
+  private List<RecordedEvent> eventsOf(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> eventsOfType = new ArrayList<>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals(name)) {
+        eventsOfType.add(event);
+      }
+    }
+    eventsOfType.sort((event1, event2) -> event1.getStartTime().compareTo(event2.getStartTime()));
+    return eventsOfType;
+  }
+}
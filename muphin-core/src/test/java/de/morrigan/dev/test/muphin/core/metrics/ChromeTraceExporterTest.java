@@ -0,0 +1,69 @@
+package de.morrigan.dev.test.muphin.core.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.morrigan.dev.muphin.core.metrics.ChromeTraceExporter;
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.Measurement.Type;
+import de.morrigan.dev.muphin.core.metrics.Metrics;
+
+public class ChromeTraceExporterTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testExport() throws IOException {
+    Path file = this.tempFolder.getRoot().toPath().resolve("trace/muphin-trace.json");
+    ChromeTraceExporter sut = new ChromeTraceExporter(file);
+    Metrics metrics = new Metrics(Collections.singletonList(sut));
+
+    Measurement phase = metrics.start(Type.PHASE, "Phase \"A\"");
+    Measurement hook = metrics.start(Type.HOOK, "testA(de.example.TestA)");
+    metrics.stop(hook);
+    metrics.stop(phase);
+    metrics.runFinished();
+
+    String trace = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    assertThat(lines, hasSize(3));
+    assertThat(trace, startsWith("[{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":"
+        + Thread.currentThread().getId()));
+    assertThat(lines.get(1), startsWith("{\"name\":\"testA(de.example.TestA)\",\"cat\":\"hook\",\"ph\":\"X\",\"ts\":"));
+    assertThat(lines.get(2), startsWith("{\"name\":\"Phase \\\"A\\\"\",\"cat\":\"phase\",\"ph\":\"X\",\"ts\":"));
+    assertThat(lines.get(2), containsString("\"tid\":" + Thread.currentThread().getId()));
+    assertThat(trace, endsWith("}}]\n"));
+  }
+
+  @Test
+  public void testFileFromSystemProperty() throws IOException {
+    Path file = this.tempFolder.getRoot().toPath().resolve("custom-trace.json");
+    System.setProperty(ChromeTraceExporter.FILE_PROPERTY, file.toString());
+    try {
+      ChromeTraceExporter sut = new ChromeTraceExporter();
+      sut.runFinished();
+
+      assertThat(sut.getFile(), is(equalTo(file)));
+      assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), is(equalTo("[]\n")));
+    } finally {
+      System.clearProperty(ChromeTraceExporter.FILE_PROPERTY);
+    }
+  }
+}
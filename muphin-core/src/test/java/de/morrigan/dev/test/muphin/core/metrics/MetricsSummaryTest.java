@@ -0,0 +1,67 @@
+package de.morrigan.dev.test.muphin.core.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.Measurement.Type;
+import de.morrigan.dev.muphin.core.metrics.Metrics;
+import de.morrigan.dev.muphin.core.metrics.MetricsSummary;
+import de.morrigan.dev.muphin.core.metrics.MetricsSummary.Statistic;
+
+public class MetricsSummaryTest {
+
+  private MetricsSummary sut;
+
+  private Metrics metrics;
+
+  @Before
+  public void setup() {
+    this.sut = new MetricsSummary();
+    this.metrics = new Metrics(Collections.singletonList(this.sut));
+  }
+
+  @Test
+  public void testMeasured() throws InterruptedException {
+    measure(Type.PHASE, "Load", 2);
+    measure(Type.PHASE, "Load", 4);
+    measure(Type.PHASE, "Import", 0);
+
+    Statistic load = this.sut.getStatistic(Type.PHASE, "Load").get();
+    assertThat(load.getCount(), is(equalTo(2L)));
+    assertThat(load.getWallTime(), is(greaterThanOrEqualTo(6_000_000L)));
+    assertThat(load.getMaxWallTime(), is(greaterThanOrEqualTo(4_000_000L)));
+    assertThat(load.getMaxWallTime(), is(lessThan(load.getWallTime())));
+    assertThat(this.sut.getStatistic(Type.PHASE, "Import").get().getCount(), is(equalTo(1L)));
+    assertThat(this.sut.getStatistic(Type.WORKFLOW, "Load").isPresent(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testToTable() throws InterruptedException {
+    measure(Type.WORKFLOW, "Order Workflow", 0);
+    measure(Type.HOOK, "testOrder(de.example.OrderTest)", 0);
+
+    String[] rows = this.sut.toTable().split(System.lineSeparator());
+    assertThat(rows.length, is(equalTo(3)));
+    assertThat(rows[0], containsString("Allocated KiB"));
+    assertThat(rows[1], containsString("WORKFLOW"));
+    assertThat(rows[1], containsString("Order Workflow"));
+    assertThat(rows[2], containsString("HOOK"));
+    assertThat(rows[2], containsString("testOrder(de.example.OrderTest)"));
+  }
+
+  private void measure(Type type, String name, long millis) throws InterruptedException {
+    Measurement measurement = this.metrics.start(type, name);
+    Thread.sleep(millis);
+    this.metrics.stop(measurement);
+  }
+}
@@ -0,0 +1,104 @@
+package de.morrigan.dev.test.muphin.core.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.Measurement.Type;
+import de.morrigan.dev.muphin.core.metrics.Metrics;
+import de.morrigan.dev.muphin.core.metrics.MetricsListener;
+
+public class MetricsTest {
+
+  @Test
+  public void testStartAndStop() throws InterruptedException {
+    List<Measurement> measurements = new ArrayList<>();
+    Metrics sut = new Metrics(Arrays.asList(measurements::add));
+
+    Measurement measurement = sut.start(Type.PHASE, "Test");
+    Thread.sleep(5);
+    byte[] data = new byte[1024 * 1024];
+    sut.stop(measurement);
+
+    assertThat(data.length, is(equalTo(1024 * 1024)));
+    assertThat(measurements, contains(measurement));
+    assertThat(measurement.getType(), is(equalTo(Type.PHASE)));
+    assertThat(measurement.getName(), is(equalTo("Test")));
+    assertThat(measurement.getThreadId(), is(equalTo(Thread.currentThread().getId())));
+    assertThat(measurement.getWallTime(), is(greaterThanOrEqualTo(5_000_000L)));
+    assertThat(measurement.getCpuTime(), is(greaterThanOrEqualTo(-1L)));
+    if (measurement.getAllocatedBytes() >= 0) {
+      assertThat(measurement.getAllocatedBytes(), is(greaterThanOrEqualTo(1024L * 1024L)));
+    }
+  }
+
+  @Test
+  public void testStopTwice() {
+    Metrics sut = new Metrics(new ArrayList<>());
+    Measurement measurement = sut.start(Type.HOOK, "test()");
+    sut.stop(measurement);
+
+    assertThrows(IllegalStateException.class, () -> sut.stop(measurement));
+  }
+
+  @Test
+  public void testCurrent() {
+    Metrics sut = new Metrics(new ArrayList<>());
+    assertThat(Metrics.current().isPresent(), is(equalTo(false)));
+
+    assertThat(Metrics.setCurrent(sut), is(nullValue()));
+    try {
+      assertThat(Metrics.current().get(), is(sameInstance(sut)));
+
+      // A nested run restores the metrics of the outer run
+      Metrics nested = new Metrics(new ArrayList<>());
+      Metrics previous = Metrics.setCurrent(nested);
+      assertThat(previous, is(sameInstance(sut)));
+      Metrics.setCurrent(previous);
+      assertThat(Metrics.current().get(), is(sameInstance(sut)));
+    } finally {
+      Metrics.setCurrent(null);
+    }
+    assertThat(Metrics.current().isPresent(), is(equalTo(false)));
+  }
+
+  @Test
+  public void testFailingListener() {
+    List<Measurement> measurements = new ArrayList<>();
+    List<String> finishedRuns = new ArrayList<>();
+    MetricsListener failingListener = measurement -> {
+      throw new IllegalStateException("listener failed");
+    };
+    MetricsListener recordingListener = new MetricsListener() {
+      @Override
+      public void measured(Measurement measurement) {
+        measurements.add(measurement);
+      }
+
+      @Override
+      public void runFinished() {
+        finishedRuns.add("run");
+      }
+    };
+    Metrics sut = new Metrics(Arrays.asList(failingListener, recordingListener));
+
+    Measurement measurement = sut.start(Type.WORKFLOW, "Workflow");
+    sut.stop(measurement);
+    sut.runFinished();
+
+    assertThat(measurements, contains(measurement));
+    assertThat(finishedRuns, contains("run"));
+  }
+}
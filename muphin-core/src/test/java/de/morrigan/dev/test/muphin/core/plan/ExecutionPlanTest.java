@@ -0,0 +1,192 @@
+package de.morrigan.dev.test.muphin.core.plan;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+import de.morrigan.dev.muphin.core.phase.SetupPhase;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.muphin.core.plan.ExecutionPlan;
+import de.morrigan.dev.muphin.core.plan.ExecutionPlanBuilder;
+import de.morrigan.dev.muphin.core.plan.PhasePlan;
+import de.morrigan.dev.muphin.core.plan.WorkflowPlan;
+import de.morrigan.dev.test.muphin.helper.TestClassA1;
+import de.morrigan.dev.test.muphin.helper.TestPhaseA;
+import de.morrigan.dev.test.muphin.helper.TestPhaseB;
+import de.morrigan.dev.test.muphin.helper.WorkflowA;
+import de.morrigan.dev.test.muphin.scenario.GraphWorkflow;
+import de.morrigan.dev.test.muphin.scenario.GraphWorkflowTestClass;
+
+public class ExecutionPlanTest {
+
+  private ExecutionPlan sut;
+
+  @Before
+  public void setup() {
+    InstanceManager.getInstance().clear();
+    this.sut = new ExecutionPlanBuilder(InstanceManager.getInstance(),
+        method -> Description.createTestDescription(method.getDeclaringClass(), method.getName()))
+            .addTestClass(TestClassA1.class, new HashSet<>(WorkflowIndex.phaseMethodNames(TestClassA1.class)))
+            .build(Description.createSuiteDescription(TestClassA1.class));
+  }
+
+  @Test
+  public void testBuild() {
+    assertThat(this.sut.getWorkflowCount(), is(equalTo(1)));
+    assertThat(this.sut.getBoundWorkflowCount(), is(equalTo(1)));
+    assertThat(this.sut.getTestClassesAmount(), is(equalTo(1)));
+    assertThat(this.sut.getHookCount(), is(equalTo(8)));
+
+    WorkflowPlan workflow = this.sut.getWorkflow(0);
+    assertThat(workflow.getWorkflow(), is(sameInstance(InstanceManager.getInstance().getWorkflow(WorkflowA.class))));
+    assertThat(workflow.isTestClassesBound(), is(equalTo(true)));
+    assertThat(workflow.getPhaseCount(), is(equalTo(4)));
+    assertThat(workflow.getPhase(0).getPhase(), is(sameInstance(phase(SetupPhase.class))));
+    assertThat(workflow.getPhase(1).getPhase(), is(sameInstance(phase(TestPhaseA.class))));
+    assertThat(workflow.getPhase(2).getPhase(), is(sameInstance(phase(TestPhaseB.class))));
+    assertThat(workflow.getPhase(3).getPhase(), is(sameInstance(phase(TearDownPhase.class))));
+
+    PhasePlan setup = workflow.getPhase(0);
+    assertThat(setup.getBeforeHookCount(), is(equalTo(1)));
+    assertThat(setup.getBeforeHook(0).getMethod().getName(), is(equalTo("testTC1WorkflowABeforeSetupPhase")));
+    assertThat(setup.getAfterHookCount(), is(equalTo(1)));
+    assertThat(setup.getAfterHook(0).getMethod().getName(), is(equalTo("testTC1WorkflowAAfterSetupPhase")));
+
+    assertThat(this.sut.getDescription().testCount(), is(equalTo(8)));
+    assertThat(workflow.getDescription().getChildren().size(), is(equalTo(4)));
+    assertThat(setup.getDescription().getChildren().size(), is(equalTo(2)));
+  }
+
+  @Test
+  public void testBuildWithPhaseGraph() {
+    assertThat(this.sut.isSequential(), is(equalTo(true)));
+    assertThat(this.sut.getWorkflow(0).isSequential(), is(equalTo(true)));
+
+    InstanceManager.getInstance().clear();
+    ExecutionPlan plan = new ExecutionPlanBuilder(InstanceManager.getInstance(),
+        method -> Description.createTestDescription(method.getDeclaringClass(), method.getName()))
+            .addTestClass(GraphWorkflowTestClass.class,
+                new HashSet<>(WorkflowIndex.phaseMethodNames(GraphWorkflowTestClass.class)))
+            .build(Description.createSuiteDescription(GraphWorkflowTestClass.class));
+    // The graph workflow must not leak into the other tests
+    InstanceManager.getInstance().clear();
+
+    assertThat(plan.isSequential(), is(equalTo(false)));
+    WorkflowPlan workflow = plan.getWorkflow(0);
+    assertThat(workflow.getWorkflow().getClass(), is(equalTo(GraphWorkflow.class)));
+    assertThat(workflow.isSequential(), is(equalTo(false)));
+    assertThat(workflow.getPhaseCount(), is(equalTo(6)));
+    assertThat(prerequisites(workflow, 0), is(equalTo(new int[0])));
+    assertThat(prerequisites(workflow, 1), is(equalTo(new int[] {
+        0
+    })));
+    assertThat(prerequisites(workflow, 3), is(equalTo(new int[] {
+        0
+    })));
+    assertThat(prerequisites(workflow, 4), is(equalTo(new int[] {
+        1, 2, 3
+    })));
+    assertThat(prerequisites(workflow, 5), is(equalTo(new int[] {
+        4
+    })));
+  }
+
+  @Test
+  public void testBuildWithoutTestClasses() {
+    InstanceManager.getInstance().getWorkflow(WorkflowA.class);
+    ExecutionPlan plan = new ExecutionPlanBuilder(InstanceManager.getInstance(),
+        method -> Description.createTestDescription(method.getDeclaringClass(), method.getName()))
+            .build(Description.createSuiteDescription(TestClassA1.class));
+
+    assertThat(plan.getWorkflowCount(), is(equalTo(1)));
+    assertThat(plan.getBoundWorkflowCount(), is(equalTo(0)));
+    assertThat(plan.getWorkflow(0).isTestClassesBound(), is(equalTo(false)));
+    assertThat(plan.getHookCount(), is(equalTo(0)));
+  }
+
+  @Test
+  public void testBuildWithSelectedMethods() {
+    ExecutionPlan plan = new ExecutionPlanBuilder(InstanceManager.getInstance(),
+        method -> Description.createTestDescription(method.getDeclaringClass(), method.getName()))
+            .addTestClass(TestClassA1.class, Collections.singleton("testTC1WorkflowAAfterTestPhaseA"))
+            .build(Description.createSuiteDescription(TestClassA1.class));
+
+    assertThat(plan.getHookCount(), is(equalTo(1)));
+    assertThat(plan.getWorkflow(0).getPhase(1).getAfterHook(0).getMethod().getName(),
+        is(equalTo("testTC1WorkflowAAfterTestPhaseA")));
+  }
+
+  @Test
+  public void testFilter() throws Exception {
+    ExecutionPlan filteredPlan = this.sut.filter(
+        Filter.matchMethodDescription(Description.createTestDescription(TestClassA1.class,
+            "testTC1WorkflowABeforeTestPhaseB")));
+
+    assertThat(filteredPlan, is(not(sameInstance(this.sut))));
+    assertThat(filteredPlan.getHookCount(), is(equalTo(1)));
+    assertThat(filteredPlan.getWorkflow(0).getPhaseCount(), is(equalTo(4)));
+    assertThat(filteredPlan.getWorkflow(0).getPhase(2).getDescription().getChildren().size(), is(equalTo(1)));
+    assertThat(filteredPlan.getWorkflow(0).getPhase(2).getBeforeHook(0).getMethod().getName(),
+        is(equalTo("testTC1WorkflowABeforeTestPhaseB")));
+
+    assertThat(this.sut.getHookCount(), is(equalTo(8)));
+    assertThat(this.sut.getDescription().testCount(), is(equalTo(8)));
+  }
+
+  @Test
+  public void testFilterRequiredPhases() throws Exception {
+    assertThat(this.sut.getWorkflow(0).isPhaseRequired(1), is(equalTo(true)));
+
+    ExecutionPlan filteredPlan = this.sut.filter(
+        Filter.matchMethodDescription(Description.createTestDescription(TestClassA1.class,
+            "testTC1WorkflowAAfterSetupPhase")));
+
+    WorkflowPlan workflow = filteredPlan.getWorkflow(0);
+    assertThat(workflow.isPhaseRequired(0), is(equalTo(true)));
+    assertThat(workflow.isPhaseRequired(1), is(equalTo(false)));
+    assertThat(workflow.isPhaseRequired(2), is(equalTo(false)));
+    assertThat(workflow.isPhaseRequired(3), is(equalTo(true)));
+
+    filteredPlan = this.sut.filter(
+        Filter.matchMethodDescription(Description.createTestDescription(TestClassA1.class,
+            "testTC1WorkflowAAfterTearDownPhase")));
+
+    workflow = filteredPlan.getWorkflow(0);
+    for (int i = 0; i < workflow.getPhaseCount(); i++) {
+      assertThat(workflow.isPhaseRequired(i), is(equalTo(true)));
+    }
+  }
+
+  @Test
+  public void testFilterWithoutRemainingTests() {
+    assertThrows(NoTestsRemainException.class, () -> this.sut
+        .filter(Filter.matchMethodDescription(Description.createTestDescription(TestClassA1.class, "unknown"))));
+  }
+
+  private int[] prerequisites(WorkflowPlan workflow, int index) {
+    int[] prerequisites = new int[workflow.getPrerequisiteCount(index)];
+    for (int i = 0; i < prerequisites.length; i++) {
+      prerequisites[i] = workflow.getPrerequisite(index, i);
+    }
+    return prerequisites;
+  }
+
+  private AbstractPhase phase(Class<? extends AbstractPhase> phaseClass) {
+    return InstanceManager.getInstance().getPhase(phaseClass);
+  }
+}
@@ -0,0 +1,82 @@
+package de.morrigan.dev.test.muphin.core.plan;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+import de.morrigan.dev.muphin.core.phase.SetupPhase;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.muphin.core.plan.ExecutionPlan;
+import de.morrigan.dev.muphin.core.plan.ExecutionPlanBuilder;
+import de.morrigan.dev.muphin.core.plan.PhaseTrie;
+import de.morrigan.dev.test.muphin.helper.MuphinTestSuite;
+import de.morrigan.dev.test.muphin.helper.TestClassA1;
+import de.morrigan.dev.test.muphin.helper.TestClassB;
+import de.morrigan.dev.test.muphin.helper.TestPhaseA;
+import de.morrigan.dev.test.muphin.helper.TestPhaseB;
+import de.morrigan.dev.test.muphin.helper.TestPhaseC;
+
+public class PhaseTrieTest {
+
+  private ExecutionPlan plan;
+
+  @Before
+  public void setup() {
+    InstanceManager.getInstance().clear();
+    this.plan = new ExecutionPlanBuilder(InstanceManager.getInstance(),
+        method -> Description.createTestDescription(method.getDeclaringClass(), method.getName()))
+            .addTestClass(TestClassA1.class, new HashSet<>(WorkflowIndex.phaseMethodNames(TestClassA1.class)))
+            .addTestClass(TestClassB.class, new HashSet<>(WorkflowIndex.phaseMethodNames(TestClassB.class)))
+            .build(Description.createSuiteDescription(MuphinTestSuite.class));
+  }
+
+  @Test
+  public void testOf() {
+    PhaseTrie sut = PhaseTrie.of(Arrays.asList(this.plan.getWorkflow(0), this.plan.getWorkflow(1)));
+
+    // Setup and phase A are shared, phase B and phase C diverge and each have their own tear down
+    assertThat(sut.getNodeCount(), is(equalTo(6)));
+    assertThat(sut.getPhaseSlotCount(), is(equalTo(8)));
+    assertThat(sut.getRoots(), hasSize(1));
+
+    PhaseTrie.Node setup = sut.getRoots().get(0);
+    assertThat(setup.getPhase(), is(instanceOf(SetupPhase.class)));
+    assertThat(setup.getDepth(), is(equalTo(0)));
+    assertThat(setup.getWorkflows(), contains(this.plan.getWorkflow(0), this.plan.getWorkflow(1)));
+
+    PhaseTrie.Node phaseA = setup.getChildren().get(0);
+    assertThat(phaseA.getPhase(), is(instanceOf(TestPhaseA.class)));
+    assertThat(phaseA.getWorkflows(), hasSize(2));
+    assertThat(phaseA.getChildren(), hasSize(2));
+
+    PhaseTrie.Node phaseB = phaseA.getChildren().get(0);
+    assertThat(phaseB.getPhase(), is(instanceOf(TestPhaseB.class)));
+    assertThat(phaseB.getDepth(), is(equalTo(2)));
+    assertThat(phaseB.getWorkflows(), contains(this.plan.getWorkflow(0)));
+    assertThat(phaseB.getChildren().get(0).getPhase(), is(instanceOf(TearDownPhase.class)));
+
+    PhaseTrie.Node phaseC = phaseA.getChildren().get(1);
+    assertThat(phaseC.getPhase(), is(instanceOf(TestPhaseC.class)));
+    assertThat(phaseC.getWorkflows(), contains(this.plan.getWorkflow(1)));
+  }
+
+  @Test
+  public void testOfSameWorkflows() {
+    PhaseTrie sut = PhaseTrie.of(Arrays.asList(this.plan.getWorkflow(0), this.plan.getWorkflow(0)));
+
+    assertThat(sut.getNodeCount(), is(equalTo(4)));
+    assertThat(sut.getPhaseSlotCount(), is(equalTo(8)));
+  }
+}
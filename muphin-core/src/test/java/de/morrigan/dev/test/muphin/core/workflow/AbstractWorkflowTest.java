@@ -10,8 +10,10 @@ import java.util.Arrays;
 import org.junit.Test;
 
 import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+import de.morrigan.dev.muphin.core.workflow.PhaseGraph;
 import de.morrigan.dev.test.muphin.helper.TestPhaseA;
 import de.morrigan.dev.test.muphin.helper.TestPhaseB;
+import de.morrigan.dev.test.muphin.helper.TestPhaseC;
 
 public class AbstractWorkflowTest {
 
@@ -24,6 +26,14 @@ public class AbstractWorkflowTest {
     }
   }
 
+  private class TestGraphWorkflow extends AbstractWorkflow {
+
+    protected TestGraphWorkflow() {
+      super(NAME, new PhaseGraph().add(TestPhaseA.class).add(TestPhaseB.class).add(TestPhaseC.class,
+          TestPhaseA.class, TestPhaseB.class));
+    }
+  }
+
   @Test
   public void testConstruction() {
     TestWorkflow sut = new TestWorkflow();
@@ -31,5 +41,20 @@ public class AbstractWorkflowTest {
     assertThat(sut.getPhases(), hasSize(2));
     assertThat(sut.getPhases().get(0).getClass(), is(equalTo(TestPhaseA.class)));
     assertThat(sut.getPhases().get(1).getClass(), is(equalTo(TestPhaseB.class)));
+    assertThat(sut.getPhaseGraph().getPrerequisites(1), is(equalTo(new int[] {
+        0
+    })));
+  }
+
+  @Test
+  public void testConstructionWithPhaseGraph() {
+    TestGraphWorkflow sut = new TestGraphWorkflow();
+    assertThat(sut.getName(), is(equalTo(NAME)));
+    assertThat(sut.getPhases(), hasSize(3));
+    assertThat(sut.getPhases().get(2).getClass(), is(equalTo(TestPhaseC.class)));
+    assertThat(sut.getPhaseGraph().getPrerequisites(1), is(equalTo(new int[0])));
+    assertThat(sut.getPhaseGraph().getPrerequisites(2), is(equalTo(new int[] {
+        0, 1
+    })));
   }
 }
@@ -0,0 +1,74 @@
+package de.morrigan.dev.test.muphin.core.workflow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.workflow.PhaseGraph;
+import de.morrigan.dev.test.muphin.helper.TestPhaseA;
+import de.morrigan.dev.test.muphin.helper.TestPhaseB;
+import de.morrigan.dev.test.muphin.helper.TestPhaseC;
+
+public class PhaseGraphTest {
+
+  @Test
+  public void testChain() {
+    PhaseGraph sut = PhaseGraph.chain(Arrays.asList(TestPhaseA.class, TestPhaseB.class, TestPhaseA.class));
+
+    assertThat(sut.size(), is(equalTo(3)));
+    assertThat(sut.getPhaseClasses(), contains(TestPhaseA.class, TestPhaseB.class, TestPhaseA.class));
+    assertThat(sut.getPrerequisites(0), is(equalTo(new int[0])));
+    assertThat(sut.getPrerequisites(1), is(equalTo(new int[] {
+        0
+    })));
+    assertThat(sut.getPrerequisites(2), is(equalTo(new int[] {
+        1
+    })));
+  }
+
+  @Test
+  public void testAdd() {
+    PhaseGraph sut = new PhaseGraph()
+        .add(TestPhaseA.class)
+        .add(TestPhaseB.class)
+        .add(TestPhaseC.class, TestPhaseA.class, TestPhaseB.class);
+
+    assertThat(sut.getPhaseClasses(), contains(TestPhaseA.class, TestPhaseB.class, TestPhaseC.class));
+    assertThat(sut.getPrerequisites(0), is(equalTo(new int[0])));
+    assertThat(sut.getPrerequisites(1), is(equalTo(new int[0])));
+    assertThat(sut.getPrerequisites(2), is(equalTo(new int[] {
+        0, 1
+    })));
+  }
+
+  @Test
+  public void testAddWithUnknownPrerequisite() {
+    PhaseGraph sut = new PhaseGraph().add(TestPhaseA.class);
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+        () -> sut.add(TestPhaseB.class, TestPhaseC.class));
+    assertThat(iae.getMessage(), containsString("must be added before"));
+  }
+
+  @Test
+  public void testAddTwice() {
+    PhaseGraph sut = new PhaseGraph().add(TestPhaseA.class);
+    IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> sut.add(TestPhaseA.class));
+    assertThat(iae.getMessage(), containsString("was already added"));
+  }
+
+  @Test
+  public void testGetPrerequisitesReturnsCopy() {
+    PhaseGraph sut = new PhaseGraph().add(TestPhaseA.class).add(TestPhaseB.class, TestPhaseA.class);
+    sut.getPrerequisites(1)[0] = 5;
+    assertThat(sut.getPrerequisites(1), is(equalTo(new int[] {
+        0
+    })));
+  }
+}
@@ -3,8 +3,10 @@ package de.morrigan.dev.test.muphin.helper;
 import org.junit.runner.RunWith;
 
 import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.WorkflowSuite;
 
 @RunWith(WorkflowRunner.class)
+@WorkflowSuite(packages = "de.morrigan.dev.test.muphin.helper")
 public class MuphinTestSuite {
 
 }
@@ -0,0 +1,25 @@
+package de.morrigan.dev.test.muphin.helper;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.MetricsListener;
+
+public class RecordingMetricsListener implements MetricsListener {
+
+  public static final Queue<Measurement> MEASUREMENTS = new ConcurrentLinkedQueue<>();
+
+  public static final AtomicInteger FINISHED_RUNS = new AtomicInteger();
+
+  @Override
+  public void measured(Measurement measurement) {
+    MEASUREMENTS.add(measurement);
+  }
+
+  @Override
+  public void runFinished() {
+    FINISHED_RUNS.incrementAndGet();
+  }
+}
@@ -0,0 +1,64 @@
+package de.morrigan.dev.test.muphin.scenario;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Concurrent;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowSuite;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.test.muphin.helper.TestPhaseA;
+import de.morrigan.dev.test.muphin.helper.WorkflowA;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(WorkflowA.class)
+@WorkflowSuite(hookParallelism = 4)
+public class ConcurrentHooksTestClass {
+
+  public static final AtomicInteger FINISHED = new AtomicInteger();
+
+  private static final CyclicBarrier BARRIER = new CyclicBarrier(3);
+
+  @Test
+  @Concurrent
+  @Phase(afterPhase = TestPhaseA.class)
+  public void testConcurrent1() throws Exception {
+    awaitOthers();
+  }
+
+  @Test
+  @Concurrent
+  @Phase(afterPhase = TestPhaseA.class)
+  public void testConcurrent2() throws Exception {
+    awaitOthers();
+  }
+
+  @Test
+  @Concurrent
+  @Phase(afterPhase = TestPhaseA.class)
+  public void testConcurrent3() throws Exception {
+    awaitOthers();
+  }
+
+  @Test
+  @Phase(beforePhase = TearDownPhase.class)
+  public void testAllConcurrentTestsFinished() {
+    assertThat(FINISHED.get(), is(equalTo(3)));
+  }
+
+  private void awaitOthers() throws Exception {
+    // Only passes if all three test methods run at the same time
+    BARRIER.await(5, TimeUnit.SECONDS);
+    FINISHED.incrementAndGet();
+  }
+}
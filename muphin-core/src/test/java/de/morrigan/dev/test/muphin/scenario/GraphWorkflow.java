@@ -0,0 +1,78 @@
+package de.morrigan.dev.test.muphin.scenario;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+import de.morrigan.dev.muphin.core.workflow.PhaseGraph;
+
+public class GraphWorkflow extends AbstractWorkflow {
+
+  public static final List<String> EXECUTED = new CopyOnWriteArrayList<>();
+
+  private static final CyclicBarrier BARRIER = new CyclicBarrier(3);
+
+  public abstract static class LoadPhase extends AbstractPhase {
+
+    protected LoadPhase(String name) {
+      super("Test", name);
+    }
+
+    @Override
+    public boolean execute() {
+      try {
+        // Only passes if all three load phases are executed at the same time
+        BARRIER.await(5, TimeUnit.SECONDS);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+      EXECUTED.add(getName());
+      return true;
+    }
+  }
+
+  public static class LoadPhaseA extends LoadPhase {
+
+    public LoadPhaseA() {
+      super("Load A");
+    }
+  }
+
+  public static class LoadPhaseB extends LoadPhase {
+
+    public LoadPhaseB() {
+      super("Load B");
+    }
+  }
+
+  public static class LoadPhaseC extends LoadPhase {
+
+    public LoadPhaseC() {
+      super("Load C");
+    }
+  }
+
+  public static class MergePhase extends AbstractPhase {
+
+    public MergePhase() {
+      super("Test", "Merge");
+    }
+
+    @Override
+    public boolean execute() {
+      EXECUTED.add(getName());
+      return true;
+    }
+  }
+
+  public GraphWorkflow() {
+    super("Graph Workflow", new PhaseGraph()
+        .add(LoadPhaseA.class)
+        .add(LoadPhaseB.class)
+        .add(LoadPhaseC.class)
+        .add(MergePhase.class, LoadPhaseA.class, LoadPhaseB.class, LoadPhaseC.class));
+  }
+}
@@ -0,0 +1,41 @@
+package de.morrigan.dev.test.muphin.scenario;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowSuite;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.test.muphin.scenario.GraphWorkflow.LoadPhaseA;
+import de.morrigan.dev.test.muphin.scenario.GraphWorkflow.MergePhase;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(GraphWorkflow.class)
+@WorkflowSuite(phaseParallelism = 3)
+public class GraphWorkflowTestClass {
+
+  @Test
+  @Phase(afterPhase = LoadPhaseA.class)
+  public void testAfterLoadPhaseA() {
+    assertThat(GraphWorkflow.EXECUTED, hasItem("Load A"));
+  }
+
+  @Test
+  @Phase(beforePhase = MergePhase.class)
+  public void testBeforeMergePhase() {
+    assertThat(GraphWorkflow.EXECUTED, containsInAnyOrder("Load A", "Load B", "Load C"));
+  }
+
+  @Test
+  @Phase(beforePhase = TearDownPhase.class)
+  public void testBeforeTearDownPhase() {
+    assertThat(GraphWorkflow.EXECUTED.subList(3, 4), contains("Merge"));
+  }
+}
@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario;
+
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.WorkflowSuite;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowSuite(packages = "de.morrigan.dev.test.muphin.helper", parallelism = 2)
+public class ParallelTestSuite {
+
+}
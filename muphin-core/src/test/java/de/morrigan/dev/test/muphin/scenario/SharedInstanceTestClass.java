@@ -0,0 +1,53 @@
+package de.morrigan.dev.test.muphin.scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.TestInstance;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+import de.morrigan.dev.muphin.core.phase.SetupPhase;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+import de.morrigan.dev.test.muphin.helper.TestPhaseA;
+import de.morrigan.dev.test.muphin.helper.WorkflowA;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(value = WorkflowA.class, instance = TestInstance.PER_WORKFLOW)
+public class SharedInstanceTestClass implements AutoCloseable {
+
+  public static final List<String> EVENTS = new ArrayList<>();
+
+  private final int id;
+
+  public SharedInstanceTestClass() {
+    this.id = EVENTS.size();
+    EVENTS.add("create");
+  }
+
+  @Test
+  @Phase(beforePhase = SetupPhase.class)
+  public void testBeforeSetupPhase() {
+    EVENTS.add("before setup " + this.id);
+  }
+
+  @Test
+  @Phase(afterPhase = TestPhaseA.class)
+  public void testAfterTestPhaseA() {
+    EVENTS.add("after phase A " + this.id);
+  }
+
+  @Test
+  @Phase(afterPhase = TearDownPhase.class)
+  public void testAfterTearDownPhase() {
+    EVENTS.add("after tear down " + this.id);
+  }
+
+  @Override
+  public void close() {
+    EVENTS.add("close " + this.id);
+  }
+}
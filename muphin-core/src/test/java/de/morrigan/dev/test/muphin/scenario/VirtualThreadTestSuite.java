@@ -0,0 +1,13 @@
+package de.morrigan.dev.test.muphin.scenario;
+
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.WorkflowSuite;
+import de.morrigan.dev.muphin.core.execution.ExecutorBackend;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowSuite(packages = "de.morrigan.dev.test.muphin.helper", parallelism = 0, executor = ExecutorBackend.VIRTUAL)
+public class VirtualThreadTestSuite {
+
+}
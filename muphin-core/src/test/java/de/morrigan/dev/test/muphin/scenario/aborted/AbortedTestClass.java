@@ -0,0 +1,19 @@
+package de.morrigan.dev.test.muphin.scenario.aborted;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(AbortedWorkflow.class)
+public class AbortedTestClass {
+
+  @Test
+  @Phase(afterPhase = BrokenPhase.class)
+  public void testAbortedWorkflowAfterBrokenPhase() {
+    // never reached, the run is aborted before the phase
+  }
+}
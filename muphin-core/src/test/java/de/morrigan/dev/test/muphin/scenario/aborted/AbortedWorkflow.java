@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.aborted;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class AbortedWorkflow extends AbstractWorkflow {
+
+  public AbortedWorkflow() {
+    super("Aborted Workflow", Arrays.asList(BrokenPhase.class));
+  }
+}
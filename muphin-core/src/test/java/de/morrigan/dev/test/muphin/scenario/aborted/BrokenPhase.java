@@ -0,0 +1,23 @@
+package de.morrigan.dev.test.muphin.scenario.aborted;
+
+import de.morrigan.dev.muphin.core.annotation.InstanceScope;
+import de.morrigan.dev.muphin.core.annotation.Scoped;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+@Scoped(InstanceScope.PER_WORKFLOW_RUN)
+public class BrokenPhase extends AbstractPhase {
+
+  public static volatile boolean broken;
+
+  public BrokenPhase() {
+    super("Test", "Broken Phase");
+    if (broken) {
+      throw new IllegalStateException("The phase can't be created");
+    }
+  }
+
+  @Override
+  public boolean execute() {
+    return true;
+  }
+}
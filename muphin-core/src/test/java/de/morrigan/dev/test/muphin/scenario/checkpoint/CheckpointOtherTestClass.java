@@ -0,0 +1,25 @@
+package de.morrigan.dev.test.muphin.scenario.checkpoint;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(CheckpointWorkflow.class)
+public class CheckpointOtherTestClass {
+
+  @Test
+  @Phase(afterPhase = FlakyPhase.class)
+  public void testOtherAfterFlakyPhase() {
+    assertThat(MuphinSession.getInstance().getData("prepared", String.class), is(optionalWithValue(equalTo("yes"))));
+  }
+}
@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.checkpoint;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class CheckpointWorkflow extends AbstractWorkflow {
+
+  public CheckpointWorkflow() {
+    super("Checkpoint Workflow", Arrays.asList(PreparePhase.class, FlakyPhase.class));
+  }
+}
@@ -0,0 +1,17 @@
+package de.morrigan.dev.test.muphin.scenario.checkpoint;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class FlakyPhase extends AbstractPhase {
+
+  public static volatile boolean failing;
+
+  public FlakyPhase() {
+    super("Test", "Flaky");
+  }
+
+  @Override
+  public boolean execute() {
+    return !failing;
+  }
+}
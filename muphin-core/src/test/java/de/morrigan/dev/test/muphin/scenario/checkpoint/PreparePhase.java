@@ -0,0 +1,22 @@
+package de.morrigan.dev.test.muphin.scenario.checkpoint;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class PreparePhase extends AbstractPhase {
+
+  public static final AtomicInteger EXECUTIONS = new AtomicInteger();
+
+  public PreparePhase() {
+    super("Test", "Prepare");
+  }
+
+  @Override
+  public boolean execute() {
+    EXECUTIONS.incrementAndGet();
+    MuphinSession.getInstance().putData("prepared", "yes");
+    return true;
+  }
+}
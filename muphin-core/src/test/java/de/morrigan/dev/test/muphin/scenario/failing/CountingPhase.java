@@ -0,0 +1,20 @@
+package de.morrigan.dev.test.muphin.scenario.failing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class CountingPhase extends AbstractPhase {
+
+  public static final AtomicInteger EXECUTIONS = new AtomicInteger();
+
+  public CountingPhase() {
+    super("Test", "Counting");
+  }
+
+  @Override
+  public boolean execute() {
+    EXECUTIONS.incrementAndGet();
+    return true;
+  }
+}
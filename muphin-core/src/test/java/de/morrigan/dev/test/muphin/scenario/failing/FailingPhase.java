@@ -0,0 +1,20 @@
+package de.morrigan.dev.test.muphin.scenario.failing;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class FailingPhase extends AbstractPhase {
+
+  public static volatile boolean throwing;
+
+  public FailingPhase() {
+    super("Test", "Failing");
+  }
+
+  @Override
+  public boolean execute() {
+    if (throwing) {
+      throw new IllegalStateException("TestMsg");
+    }
+    return false;
+  }
+}
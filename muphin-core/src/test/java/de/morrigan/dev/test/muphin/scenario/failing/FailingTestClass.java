@@ -0,0 +1,40 @@
+package de.morrigan.dev.test.muphin.scenario.failing;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+import de.morrigan.dev.muphin.core.phase.TearDownPhase;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(FailingWorkflow.class)
+public class FailingTestClass {
+
+  @Test
+  @Phase(beforePhase = FailingPhase.class)
+  public void testBeforeFailingPhase() {
+    assertTrue(true);
+  }
+
+  @Test
+  @Phase(afterPhase = FailingPhase.class)
+  public void testAfterFailingPhase() {
+    assertTrue(true);
+  }
+
+  @Test
+  @Phase(afterPhase = CountingPhase.class)
+  public void testAfterCountingPhase() {
+    assertTrue(true);
+  }
+
+  @Test
+  @Phase(afterPhase = TearDownPhase.class)
+  public void testAfterTearDownPhase() {
+    assertTrue(true);
+  }
+}
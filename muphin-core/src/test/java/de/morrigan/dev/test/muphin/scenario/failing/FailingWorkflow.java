@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.failing;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class FailingWorkflow extends AbstractWorkflow {
+
+  public FailingWorkflow() {
+    super("Failing Workflow", Arrays.asList(FailingPhase.class, CountingPhase.class));
+  }
+}
@@ -0,0 +1,21 @@
+package de.morrigan.dev.test.muphin.scenario.failing;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(PassingWorkflow.class)
+public class PassingTestClass {
+
+  @Test
+  @Phase(afterPhase = CountingPhase.class)
+  public void testPassingAfterCountingPhase() {
+    assertTrue(true);
+  }
+}
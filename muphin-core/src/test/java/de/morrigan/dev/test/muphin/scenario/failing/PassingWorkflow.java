@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.failing;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class PassingWorkflow extends AbstractWorkflow {
+
+  public PassingWorkflow() {
+    super("Passing Workflow", Arrays.asList(CountingPhase.class));
+  }
+}
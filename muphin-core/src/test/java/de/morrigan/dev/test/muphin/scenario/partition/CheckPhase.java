@@ -0,0 +1,15 @@
+package de.morrigan.dev.test.muphin.scenario.partition;
+
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class CheckPhase extends AbstractPhase {
+
+  public CheckPhase() {
+    super("Test", "Check Phase");
+  }
+
+  @Override
+  public boolean execute() {
+    return true;
+  }
+}
@@ -0,0 +1,46 @@
+package de.morrigan.dev.test.muphin.scenario.partition;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.MuphinContext;
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(PartitionWorkflowB.class)
+public class PartitionTestClassB {
+
+  @Test
+  @Phase(afterPhase = StorePhase.class)
+  public void testPartitionWorkflowBAfterStorePhase() {
+    MuphinSession session = MuphinContext.current().getSession();
+    assertThat(session.getCurrentWorkflow(), is(instanceOf(PartitionWorkflowB.class)));
+    assertThat(session.getCurrentPhase(), is(instanceOf(StorePhase.class)));
+    assertThat(session.getData(StorePhase.WORKFLOW_KEY, String.class),
+        is(optionalWithValue(equalTo("Partition Workflow B"))));
+    assertThat(session.get(StorePhase.TYPED_KEY), is(equalTo("Partition Workflow B")));
+    // The data of the phase hides the global data with the same key
+    assertThat(session.getData(StorePhase.SHADOWED_KEY, String.class), is(optionalWithValue(equalTo("phase"))));
+  }
+
+  @Test
+  @Phase(afterPhase = CheckPhase.class)
+  public void testPartitionWorkflowBAfterCheckPhase() {
+    MuphinSession session = MuphinContext.current().getSession();
+    assertThat(session.getCurrentPhase(), is(instanceOf(CheckPhase.class)));
+    assertThat(session.getData(StorePhase.WORKFLOW_KEY, String.class),
+        is(optionalWithValue(equalTo("Partition Workflow B"))));
+    assertThat(session.get(StorePhase.TYPED_KEY), is(equalTo("Partition Workflow B")));
+    // The data of the store phase was released, so the global data is visible again
+    assertThat(session.getData(StorePhase.SHADOWED_KEY, String.class), is(optionalWithValue(equalTo("global"))));
+  }
+}
@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.partition;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class PartitionWorkflowB extends AbstractWorkflow {
+
+  public PartitionWorkflowB() {
+    super("Partition Workflow B", Arrays.asList(StorePhase.class, CheckPhase.class));
+  }
+}
@@ -0,0 +1,27 @@
+package de.morrigan.dev.test.muphin.scenario.partition;
+
+import de.morrigan.dev.muphin.core.DataScope;
+import de.morrigan.dev.muphin.core.MuphinContext;
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.SessionKey;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class StorePhase extends AbstractPhase {
+
+  public static final String WORKFLOW_KEY = "partition.workflow";
+  public static final String SHADOWED_KEY = "partition.shadowed";
+  public static final SessionKey<String> TYPED_KEY = SessionKey.of("partition.typed", String.class);
+
+  public StorePhase() {
+    super("Test", "Store Phase");
+  }
+
+  @Override
+  public boolean execute() {
+    MuphinSession session = MuphinContext.current().getSession();
+    session.putData(DataScope.WORKFLOW, WORKFLOW_KEY, session.getCurrentWorkflow().getName());
+    session.putData(DataScope.PHASE, SHADOWED_KEY, "phase");
+    session.put(DataScope.WORKFLOW, TYPED_KEY, session.getCurrentWorkflow().getName());
+    return true;
+  }
+}
@@ -0,0 +1,26 @@
+package de.morrigan.dev.test.muphin.scenario.prefix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class BranchPhaseA extends AbstractPhase {
+
+  public BranchPhaseA() {
+    super("Test", "Branch A");
+  }
+
+  @Override
+  public boolean execute() {
+    MuphinSession.getInstance().putData("branch", "A");
+    try {
+      Files.write(PrefixPhase.workspace.resolve("branchA.txt"), "A".getBytes());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return true;
+  }
+}
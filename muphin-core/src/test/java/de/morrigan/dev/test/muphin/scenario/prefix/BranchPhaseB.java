@@ -0,0 +1,26 @@
+package de.morrigan.dev.test.muphin.scenario.prefix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class BranchPhaseB extends AbstractPhase {
+
+  public BranchPhaseB() {
+    super("Test", "Branch B");
+  }
+
+  @Override
+  public boolean execute() {
+    MuphinSession.getInstance().putData("branch", "B");
+    try {
+      Files.write(PrefixPhase.workspace.resolve("branchB.txt"), "B".getBytes());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return true;
+  }
+}
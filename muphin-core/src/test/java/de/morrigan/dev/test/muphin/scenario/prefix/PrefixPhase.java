@@ -0,0 +1,34 @@
+package de.morrigan.dev.test.muphin.scenario.prefix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+public class PrefixPhase extends AbstractPhase {
+
+  public static final AtomicInteger EXECUTIONS = new AtomicInteger();
+
+  public static Path workspace;
+
+  public PrefixPhase() {
+    super("Test", "Prefix");
+  }
+
+  @Override
+  public boolean execute() {
+    EXECUTIONS.incrementAndGet();
+    MuphinSession.getInstance().registerWorkspace(workspace);
+    MuphinSession.getInstance().putData("prefix", "done");
+    try {
+      Files.write(workspace.resolve("prefix.txt"), "prefix".getBytes());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,37 @@
+package de.morrigan.dev.test.muphin.scenario.prefix;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(PrefixWorkflowA.class)
+public class PrefixTestClassA {
+
+  @Test
+  @Phase(afterPhase = PrefixPhase.class)
+  public void testPrefixWorkflowAAfterPrefixPhase() {
+    assertThat(MuphinSession.getInstance().getData("prefix", String.class), is(optionalWithValue(equalTo("done"))));
+    assertThat(Files.exists(PrefixPhase.workspace.resolve("prefix.txt")), is(equalTo(true)));
+  }
+
+  @Test
+  @Phase(afterPhase = BranchPhaseA.class)
+  public void testPrefixWorkflowAAfterBranchPhaseA() {
+    assertThat(MuphinSession.getInstance().getData("branch", String.class), is(optionalWithValue(equalTo("A"))));
+    assertThat(Files.exists(PrefixPhase.workspace.resolve("prefix.txt")), is(equalTo(true)));
+    assertThat(Files.exists(PrefixPhase.workspace.resolve("branchA.txt")), is(equalTo(true)));
+    assertThat(Files.exists(PrefixPhase.workspace.resolve("branchB.txt")), is(equalTo(false)));
+  }
+}
@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.prefix;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class PrefixWorkflowA extends AbstractWorkflow {
+
+  public PrefixWorkflowA() {
+    super("Prefix Workflow A", Arrays.asList(PrefixPhase.class, BranchPhaseA.class));
+  }
+}
@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.prefix;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class PrefixWorkflowB extends AbstractWorkflow {
+
+  public PrefixWorkflowB() {
+    super("Prefix Workflow B", Arrays.asList(PrefixPhase.class, BranchPhaseB.class));
+  }
+}
@@ -0,0 +1,36 @@
+package de.morrigan.dev.test.muphin.scenario.scoped;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.morrigan.dev.muphin.core.annotation.InstanceScope;
+import de.morrigan.dev.muphin.core.annotation.Scoped;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+@Scoped(InstanceScope.PER_WORKFLOW_RUN)
+public class RunScopedPhase extends AbstractPhase implements AutoCloseable {
+
+  public static final AtomicInteger CREATED = new AtomicInteger();
+  public static final AtomicInteger CLOSED = new AtomicInteger();
+
+  private int executions;
+
+  public RunScopedPhase() {
+    super("Test", "Run Scoped Phase");
+    CREATED.incrementAndGet();
+  }
+
+  @Override
+  public boolean execute() {
+    this.executions++;
+    return true;
+  }
+
+  public int getExecutions() {
+    return this.executions;
+  }
+
+  @Override
+  public void close() {
+    CLOSED.incrementAndGet();
+  }
+}
@@ -0,0 +1,29 @@
+package de.morrigan.dev.test.muphin.scenario.scoped;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.MuphinContext;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(ScopedWorkflowA.class)
+public class ScopedTestClassA {
+
+  @Test
+  @Phase(afterPhase = RunScopedPhase.class)
+  public void testScopedWorkflowAAfterRunScopedPhase() {
+    AbstractPhase phase = MuphinContext.current().getCurrentPhase();
+    assertThat(phase, is(instanceOf(RunScopedPhase.class)));
+    // Each workflow run executes its own instance of the phase
+    assertThat(((RunScopedPhase) phase).getExecutions(), is(equalTo(1)));
+  }
+}
@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.scoped;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class ScopedWorkflowA extends AbstractWorkflow {
+
+  public ScopedWorkflowA() {
+    super("Scoped Workflow A", Arrays.asList(RunScopedPhase.class, ThreadScopedPhase.class));
+  }
+}
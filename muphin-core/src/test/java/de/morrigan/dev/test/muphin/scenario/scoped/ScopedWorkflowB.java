@@ -0,0 +1,12 @@
+package de.morrigan.dev.test.muphin.scenario.scoped;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+
+public class ScopedWorkflowB extends AbstractWorkflow {
+
+  public ScopedWorkflowB() {
+    super("Scoped Workflow B", Arrays.asList(RunScopedPhase.class, ThreadScopedPhase.class));
+  }
+}
@@ -0,0 +1,29 @@
+package de.morrigan.dev.test.muphin.scenario.shared;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.morrigan.dev.muphin.core.annotation.Shareable;
+import de.morrigan.dev.muphin.core.phase.AbstractPhase;
+
+@Shareable
+public class LoadMasterDataPhase extends AbstractPhase {
+
+  public static final AtomicInteger EXECUTIONS = new AtomicInteger();
+
+  public LoadMasterDataPhase() {
+    super("Test", "Load Master Data");
+  }
+
+  @Override
+  public boolean execute() {
+    EXECUTIONS.incrementAndGet();
+    try {
+      // Gives the other workflow the chance to request the phase while it is executing
+      TimeUnit.MILLISECONDS.sleep(100);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return true;
+  }
+}
@@ -0,0 +1,23 @@
+package de.morrigan.dev.test.muphin.scenario.shared;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.annotation.Phase;
+import de.morrigan.dev.muphin.core.annotation.WorkflowTest;
+
+@RunWith(WorkflowRunner.class)
+@WorkflowTest(SharedWorkflowB.class)
+public class SharedTestClassB {
+
+  @Test
+  @Phase(afterPhase = LoadMasterDataPhase.class)
+  public void testSharedWorkflowBAfterLoadMasterDataPhase() {
+    assertThat(LoadMasterDataPhase.EXECUTIONS.get(), is(equalTo(1)));
+  }
+}
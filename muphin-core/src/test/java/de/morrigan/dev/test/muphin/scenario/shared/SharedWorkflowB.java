@@ -0,0 +1,13 @@
+package de.morrigan.dev.test.muphin.scenario.shared;
+
+import java.util.Arrays;
+
+import de.morrigan.dev.muphin.core.workflow.AbstractWorkflow;
+import de.morrigan.dev.test.muphin.helper.TestPhaseA;
+
+public class SharedWorkflowB extends AbstractWorkflow {
+
+  public SharedWorkflowB() {
+    super("Shared Workflow B", Arrays.asList(LoadMasterDataPhase.class, TestPhaseA.class));
+  }
+}
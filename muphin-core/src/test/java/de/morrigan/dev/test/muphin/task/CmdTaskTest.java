@@ -4,6 +4,7 @@ import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
@@ -18,6 +19,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.exec.CommandLine;
@@ -35,6 +39,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import de.morrigan.dev.muphin.core.cmd.CmdResponse;
 import de.morrigan.dev.muphin.core.exception.MuphinFailureException;
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.Metrics;
 import de.morrigan.dev.muphin.core.task.CmdTask;
 import de.morrigan.dev.muphin.core.task.Task.Verification;
 
@@ -242,6 +248,21 @@ public class CmdTaskTest {
     verify(this.executorMock, times(1)).execute(Mockito.any(CommandLine.class), Mockito.eq(this.handlerMock));
   }
 
+  @Test
+  public void testExecuteWithCurrentMetrics() throws MuphinFailureException {
+    List<Measurement> measurements = new ArrayList<>();
+    Metrics.setCurrent(new Metrics(Collections.singletonList(measurements::add)));
+    try {
+      new CmdTaskMock("cmd /c", "dir", 1000).execute();
+    } finally {
+      Metrics.setCurrent(null);
+    }
+
+    assertThat(measurements, hasSize(1));
+    assertThat(measurements.get(0).getType(), is(equalTo(Measurement.Type.CMD_TASK)));
+    assertThat(measurements.get(0).getName(), is(equalTo("cmd /c dir")));
+  }
+
   @Test
   public void testExecuteWithSuccessValidation()
       throws MuphinFailureException, ExecuteException, IOException, InterruptedException {
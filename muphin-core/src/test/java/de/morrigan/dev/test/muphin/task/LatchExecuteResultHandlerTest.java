@@ -0,0 +1,59 @@
+package de.morrigan.dev.test.muphin.task;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.exec.ExecuteException;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.task.LatchExecuteResultHandler;
+
+public class LatchExecuteResultHandlerTest {
+
+  private LatchExecuteResultHandler sut;
+
+  @Before
+  public void setup() {
+    this.sut = new LatchExecuteResultHandler();
+  }
+
+  @Test
+  public void testWaitForWithTimeout() throws InterruptedException {
+    long start = System.nanoTime();
+    this.sut.waitFor(50);
+    assertThat(this.sut.hasResult(), is(equalTo(false)));
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50, is(equalTo(true)));
+  }
+
+  @Test
+  public void testWaitForProcessComplete() throws Exception {
+    CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+      try {
+        this.sut.waitFor();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    this.sut.onProcessComplete(3);
+    waiting.get(5, TimeUnit.SECONDS);
+
+    assertThat(this.sut.hasResult(), is(equalTo(true)));
+    assertThat(this.sut.getExitValue(), is(equalTo(3)));
+  }
+
+  @Test
+  public void testWaitForProcessFailed() throws InterruptedException {
+    ExecuteException exception = new ExecuteException("TestMsg", 1);
+    this.sut.onProcessFailed(exception);
+    this.sut.waitFor(5000);
+
+    assertThat(this.sut.hasResult(), is(equalTo(true)));
+    assertThat(this.sut.getException(), is(sameInstance(exception)));
+  }
+}
@@ -0,0 +1,137 @@
+package de.morrigan.dev.muphin.examples.scaling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The work that a synthetic phase does each time it is executed. A phase can sleep like a phase that waits for an
+ * external system, keep the CPU busy like a phase that calculates something and write and read a temporary file like a
+ * phase that imports data.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class PhaseCost {
+
+  /** A phase that does nothing, so that only the overhead of the runner is measured */
+  public static final PhaseCost NONE = new PhaseCost(0, 0, 0);
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final long sleepMillis;
+  private final long cpuMillis;
+  private final int ioBytes;
+
+  /**
+   * Creates a new cost.
+   *
+   * @param sleepMillis the milliseconds the phase sleeps
+   * @param cpuMillis the milliseconds the phase keeps the CPU busy
+   * @param ioBytes the number of bytes the phase writes into a temporary file and reads again
+   * @throws IllegalArgumentException if a value is negative
+   * @since 0.0.1
+   */
+  public PhaseCost(long sleepMillis, long cpuMillis, int ioBytes) {
+    super();
+    if (sleepMillis < 0 || cpuMillis < 0 || ioBytes < 0) {
+      throw new IllegalArgumentException(StringUtils.join("The costs of a phase must not be negative, but were sleep=",
+          sleepMillis, ", cpu=", cpuMillis, ", io=", ioBytes, "."));
+    }
+    this.sleepMillis = sleepMillis;
+    this.cpuMillis = cpuMillis;
+    this.ioBytes = ioBytes;
+  }
+
+  /**
+   * Does the work of this cost in the current thread.
+   *
+   * @return a checksum of the work, so that it can't be optimized away
+   * @throws IllegalStateException if the current thread is interrupted while sleeping
+   * @throws UncheckedIOException if the temporary file can't be written or read
+   * @since 0.0.1
+   */
+  public long spend() {
+    long checksum = 0;
+    if (this.sleepMillis > 0) {
+      try {
+        Thread.sleep(this.sleepMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("The synthetic phase was interrupted while sleeping.", e);
+      }
+    }
+    if (this.cpuMillis > 0) {
+      long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.cpuMillis);
+      while (System.nanoTime() < end) {
+        checksum = checksum * 31 + Long.rotateLeft(checksum, 7) + 1;
+      }
+    }
+    if (this.ioBytes > 0) {
+      checksum += writeAndRead();
+    }
+    return checksum;
+  }
+
+  private long writeAndRead() {
+    Path file = null;
+    try {
+      file = Files.createTempFile("muphin-phase-cost-", ".tmp");
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try (OutputStream out = Files.newOutputStream(file)) {
+        for (int written = 0; written < this.ioBytes; written += buffer.length) {
+          out.write(buffer, 0, Math.min(buffer.length, this.ioBytes - written));
+        }
+      }
+      long read = 0;
+      try (InputStream in = Files.newInputStream(file)) {
+        for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+          read += count;
+        }
+      }
+      return read;
+    } catch (IOException e) {
+      throw new UncheckedIOException("The synthetic phase can't write and read its temporary file.", e);
+    } finally {
+      if (file != null) {
+        file.toFile().delete();
+      }
+    }
+  }
+
+  /**
+   * @return the milliseconds the phase sleeps
+   * @since 0.0.1
+   */
+  public long getSleepMillis() {
+    return this.sleepMillis;
+  }
+
+  /**
+   * @return the milliseconds the phase keeps the CPU busy
+   * @since 0.0.1
+   */
+  public long getCpuMillis() {
+    return this.cpuMillis;
+  }
+
+  /**
+   * @return the number of bytes the phase writes into a temporary file and reads again
+   * @since 0.0.1
+   */
+  public int getIoBytes() {
+    return this.ioBytes;
+  }
+
+  @Override
+  public String toString() {
+    return StringUtils.join("PhaseCost [sleepMillis=", this.sleepMillis, ", cpuMillis=", this.cpuMillis, ", ioBytes=",
+        this.ioBytes, "]");
+  }
+}
@@ -0,0 +1,208 @@
+package de.morrigan.dev.muphin.examples.scaling;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.morrigan.dev.muphin.core.InstanceManager;
+import de.morrigan.dev.muphin.core.MuphinSession;
+import de.morrigan.dev.muphin.core.RunConfiguration;
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.index.WorkflowIndex;
+import de.morrigan.dev.muphin.core.metrics.Measurement;
+import de.morrigan.dev.muphin.core.metrics.MetricsListener;
+
+/**
+ * Runs synthetic suites of different sizes with the {@link WorkflowRunner} and reports how the runner scales with the
+ * number of workflows.
+ * <p>
+ * For each number of workflows a new {@link SyntheticSuite} is generated and run once. The report contains one row per
+ * suite with
+ * <ul>
+ * <li>the time to discover the test classes in the workflow index</li>
+ * <li>the time to build the description, which loads all classes and builds the execution plan</li>
+ * <li>the time of the run and the overhead of the runner per test method, which is the time of the run without the
+ * time of the phases and test methods</li>
+ * <li>the heap that is retained by the runner after building the description and the peak heap during the run</li>
+ * </ul>
+ * <p>
+ *
+ * <b>Usage</b>
+ *
+ * <pre>
+ * java -cp ... de.morrigan.dev.muphin.examples.scaling.ScalingDriver &lt;workflows&gt; [phases] [hooks] [sleepMillis] [cpuMillis] [ioBytes]
+ *
+ * java -cp ... de.morrigan.dev.muphin.examples.scaling.ScalingDriver 10,100,1000 5 10 0 1 4096
+ * </pre>
+ *
+ * The workflows are a comma separated list of suite sizes. Each of the phases of a workflow sleeps, keeps the CPU busy
+ * and writes and reads a temporary file as given by the arguments. The first suite also pays for the warm-up of the
+ * JVM, so a small suite should be run first if the numbers of the first size matter.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class ScalingDriver {
+
+  /**
+   * Sums up the wall time of all phases and test methods of a run, so that the driver can subtract it from the time of
+   * the whole run.
+   */
+  public static final class WorkTimeListener implements MetricsListener {
+
+    private static final LongAdder PHASE_TIME = new LongAdder();
+    private static final LongAdder HOOK_TIME = new LongAdder();
+
+    private static void reset() {
+      PHASE_TIME.reset();
+      HOOK_TIME.reset();
+    }
+
+    @Override
+    public void measured(Measurement measurement) {
+      if (measurement.getType() == Measurement.Type.PHASE) {
+        PHASE_TIME.add(measurement.getWallTime());
+      } else if (measurement.getType() == Measurement.Type.HOOK) {
+        HOOK_TIME.add(measurement.getWallTime());
+      }
+    }
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(ScalingDriver.class);
+
+  private static final String ROW_FORMAT = "%-10s %-10s %-10s %-14s %-16s %-12s %-18s %-16s %-14s%n";
+
+  /**
+   * Generates and runs the synthetic suites and logs the report.
+   *
+   * @param args the workflows and optionally the phases, hooks, sleepMillis, cpuMillis and ioBytes
+   * @throws IOException if a generated suite can't be deleted
+   * @throws IllegalArgumentException if an argument is missing or not a number
+   * @since 0.0.1
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      throw new IllegalArgumentException(StringUtils.join("Usage: ", ScalingDriver.class.getName(),
+          " <workflows> [phases] [hooks] [sleepMillis] [cpuMillis] [ioBytes]"));
+    }
+    List<Integer> workflowCounts = new ArrayList<>();
+    for (String workflows : StringUtils.split(args[0], ',')) {
+      workflowCounts.add(parse(workflows.trim(), "workflows"));
+    }
+    int phases = args.length > 1 ? parse(args[1], "phases") : 5;
+    int hooks = args.length > 2 ? parse(args[2], "hooks") : 10;
+    PhaseCost cost = new PhaseCost(args.length > 3 ? parse(args[3], "sleepMillis") : 0,
+        args.length > 4 ? parse(args[4], "cpuMillis") : 0, args.length > 5 ? parse(args[5], "ioBytes") : 0);
+
+    String previousListeners = System.getProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY);
+    System.setProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY, WorkTimeListener.class.getName());
+    try {
+      StringBuilder report = new StringBuilder();
+      report.append(String.format(Locale.ROOT, ROW_FORMAT, "Workflows", "Phases", "Hooks", "Discovery ms",
+          "Description ms", "Run ms", "Overhead/hook us", "Plan heap KiB", "Peak heap MiB"));
+      for (int workflows : workflowCounts) {
+        report.append(measure(workflows, phases, hooks, cost));
+      }
+      LOG.info("Scaling of the workflow runner with {}{}{}", cost, System.lineSeparator(), report);
+    } finally {
+      if (previousListeners == null) {
+        System.clearProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY);
+      } else {
+        System.setProperty(RunConfiguration.METRICS_LISTENERS_PROPERTY, previousListeners);
+      }
+    }
+  }
+
+  private static int parse(String value, String name) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(StringUtils.join("The argument ", name, " must be a number, but was '", value,
+          "'."), e);
+    }
+  }
+
+  private static String measure(int workflows, int phases, int hooks, PhaseCost cost) throws IOException {
+    LOG.info("Generate a synthetic suite with {} workflows", workflows);
+    try (SyntheticSuite suite = SyntheticSuite.generate(workflows, phases, hooks, cost)) {
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+      Class<?> suiteClass = suite.getSuiteClass();
+
+      long start = System.nanoTime();
+      WorkflowIndex.load(suiteClass.getClassLoader());
+      long discoveryTime = System.nanoTime() - start;
+
+      long heapBefore = usedHeapAfterGc();
+      WorkflowRunner runner = new WorkflowRunner(suiteClass);
+      start = System.nanoTime();
+      runner.getDescription();
+      long descriptionTime = System.nanoTime() - start;
+      long planHeap = Math.max(0, usedHeapAfterGc() - heapBefore);
+
+      WorkTimeListener.reset();
+      resetPeakHeap();
+      start = System.nanoTime();
+      Result result = new JUnitCore().run(Request.runner(runner));
+      long runTime = System.nanoTime() - start;
+      long peakHeap = peakHeap();
+      if (!result.wasSuccessful()) {
+        LOG.warn("{} of {} synthetic tests failed, the first failure was {}", result.getFailureCount(),
+            result.getRunCount(), result.getFailures().get(0));
+      }
+      long overhead = runTime - WorkTimeListener.PHASE_TIME.sum() - WorkTimeListener.HOOK_TIME.sum();
+      double overheadPerHook = overhead / 1000.0 / (workflows * hooks);
+      return String.format(Locale.ROOT, ROW_FORMAT, workflows, phases, workflows * hooks, millis(discoveryTime),
+          millis(descriptionTime), millis(runTime), String.format(Locale.ROOT, "%.1f", overheadPerHook),
+          planHeap / 1024, peakHeap / 1024 / 1024);
+    } finally {
+      InstanceManager.getInstance().clear();
+      MuphinSession.getInstance().clear();
+    }
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  private static long usedHeapAfterGc() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static void resetPeakHeap() {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  // The peaks of the pools are reached at different times, so their sum is an upper bound of the peak of the heap
+  private static long peakHeap() {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  private ScalingDriver() {
+    super();
+  }
+}
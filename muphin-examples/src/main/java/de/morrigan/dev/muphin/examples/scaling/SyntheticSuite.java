@@ -0,0 +1,249 @@
+package de.morrigan.dev.muphin.examples.scaling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import de.morrigan.dev.muphin.core.WorkflowRunner;
+import de.morrigan.dev.muphin.core.index.WorkflowIndexProcessor;
+
+/**
+ * Generates a suite of synthetic workflows at runtime, so that the runner can be measured with any number of workflows
+ * without checking in thousands of classes.
+ * <p>
+ * The suite consists of the given number of phases that are shared by all workflows, one workflow with all phases and
+ * one test class with the given number of test methods per workflow. Each phase does the work of a {@link PhaseCost}
+ * when it is executed. The sources are compiled with the system Java compiler together with the
+ * {@link WorkflowIndexProcessor}, so that the runner finds the test classes in the generated workflow index like in a
+ * real build.
+ *
+ * @author morrigan
+ * @since 0.0.1
+ */
+public final class SyntheticSuite implements AutoCloseable {
+
+  /** The package of all generated classes */
+  public static final String PACKAGE = "de.morrigan.dev.muphin.synthetic";
+
+  private static final class Source extends SimpleJavaFileObject {
+
+    private final String code;
+
+    private Source(String simpleName, String code) {
+      super(URI.create(StringUtils.join("string:///", PACKAGE.replace('.', '/'), "/", simpleName, ".java")),
+          JavaFileObject.Kind.SOURCE);
+      this.code = code;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return this.code;
+    }
+  }
+
+  /**
+   * Generates and compiles a new suite whose phases do nothing.
+   *
+   * @param workflows the number of workflows
+   * @param phases the number of phases of each workflow
+   * @param hooks the number of test methods of each workflow
+   * @return a compiled suite
+   * @throws IllegalStateException if the Java runtime has no compiler or the generated sources can't be compiled
+   * @since 0.0.1
+   */
+  public static SyntheticSuite generate(int workflows, int phases, int hooks) {
+    return generate(workflows, phases, hooks, PhaseCost.NONE);
+  }
+
+  /**
+   * Generates and compiles a new suite.
+   *
+   * @param workflows the number of workflows
+   * @param phases the number of phases of each workflow
+   * @param hooks the number of test methods of each workflow
+   * @param costs the costs of the phases, the phase with the index {@code i} has the cost {@code i % costs.length}
+   * @return a compiled suite
+   * @throws IllegalArgumentException if a number is not positive or no cost is given
+   * @throws IllegalStateException if the Java runtime has no compiler or the generated sources can't be compiled
+   * @since 0.0.1
+   */
+  public static SyntheticSuite generate(int workflows, int phases, int hooks, PhaseCost... costs) {
+    if (workflows < 1 || phases < 1 || hooks < 1 || costs.length == 0) {
+      throw new IllegalArgumentException(StringUtils.join("A synthetic suite needs at least one workflow, phase, test ",
+          "method and cost, but got workflows=", workflows, ", phases=", phases, ", hooks=", hooks, ", costs=",
+          costs.length, "."));
+    }
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException("A synthetic suite can only be generated with a JDK.");
+    }
+    List<Source> sources = new ArrayList<>();
+    for (int p = 0; p < phases; p++) {
+      sources.add(new Source("SyntheticPhase" + p, phaseSource(p, costs[p % costs.length])));
+    }
+    for (int w = 0; w < workflows; w++) {
+      sources.add(new Source("SyntheticWorkflow" + w, workflowSource(w, phases)));
+      sources.add(new Source("SyntheticTest" + w, testClassSource(w, phases, hooks)));
+    }
+    sources.add(new Source("SyntheticTestSuite", suiteSource()));
+
+    Path directory = null;
+    try {
+      directory = Files.createTempDirectory("muphin-synthetic-");
+      StringWriter output = new StringWriter();
+      List<String> options = Arrays.asList("-d", directory.toString(), "-classpath",
+          getClassPath(), "-processor", WorkflowIndexProcessor.class.getName(), "-nowarn");
+      if (!compiler.getTask(output, null, null, options, null, sources).call()) {
+        throw new IllegalStateException(StringUtils.join("The synthetic suite can't be compiled: ", output));
+      }
+      return new SyntheticSuite(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("The synthetic suite can't be generated.", e);
+    } catch (RuntimeException e) {
+      delete(directory);
+      throw e;
+    }
+  }
+
+  private static String phaseSource(int phase, PhaseCost cost) {
+    return StringUtils.join("package ", PACKAGE, ";\n",
+        "public class SyntheticPhase", phase, " extends de.morrigan.dev.muphin.core.phase.AbstractPhase {\n",
+        "  private static final ", PhaseCost.class.getName(), " COST = new ", PhaseCost.class.getName(), "(",
+        cost.getSleepMillis(), "L, ", cost.getCpuMillis(), "L, ", cost.getIoBytes(), ");\n",
+        "  public SyntheticPhase", phase, "() { super(\"Synthetic\", \"Phase ", phase, "\"); }\n",
+        "  @Override public boolean execute() { COST.spend(); return true; }\n",
+        "}\n");
+  }
+
+  private static String workflowSource(int workflow, int phases) {
+    StringBuilder phaseClasses = new StringBuilder();
+    for (int p = 0; p < phases; p++) {
+      phaseClasses.append(p == 0 ? "" : ", ").append("SyntheticPhase").append(p).append(".class");
+    }
+    return StringUtils.join("package ", PACKAGE, ";\n",
+        "public class SyntheticWorkflow", workflow,
+        " extends de.morrigan.dev.muphin.core.workflow.AbstractWorkflow {\n",
+        "  public SyntheticWorkflow", workflow, "() { super(\"Synthetic Workflow ", workflow,
+        "\", java.util.Arrays.asList(", phaseClasses, ")); }\n",
+        "}\n");
+  }
+
+  private static String testClassSource(int workflow, int phases, int hooks) {
+    StringBuilder methods = new StringBuilder();
+    for (int h = 0; h < hooks; h++) {
+      methods.append("  @org.junit.Test @de.morrigan.dev.muphin.core.annotation.Phase(afterPhase = SyntheticPhase")
+          .append(h % phases).append(".class) public void testHook").append(h).append("() { }\n");
+    }
+    return StringUtils.join("package ", PACKAGE, ";\n",
+        "@org.junit.runner.RunWith(de.morrigan.dev.muphin.core.WorkflowRunner.class)\n",
+        "@de.morrigan.dev.muphin.core.annotation.WorkflowTest(SyntheticWorkflow", workflow, ".class)\n",
+        "public class SyntheticTest", workflow, " {\n", methods, "}\n");
+  }
+
+  private static String suiteSource() {
+    return StringUtils.join("package ", PACKAGE, ";\n",
+        "@org.junit.runner.RunWith(de.morrigan.dev.muphin.core.WorkflowRunner.class)\n",
+        "@de.morrigan.dev.muphin.core.annotation.WorkflowSuite(packages = \"", PACKAGE, "\")\n",
+        "public class SyntheticTestSuite { }\n");
+  }
+
+  // The class path of the JVM misses the framework if a build tool started it with its own class loader
+  private static String getClassPath() {
+    Set<String> entries = new LinkedHashSet<>(Arrays.asList(StringUtils.split(System.getProperty("java.class.path", ""),
+        File.pathSeparatorChar)));
+    for (Class<?> requiredClass : Arrays.asList(WorkflowRunner.class, Test.class, PhaseCost.class)) {
+      CodeSource codeSource = requiredClass.getProtectionDomain().getCodeSource();
+      if (codeSource != null) {
+        try {
+          entries.add(Paths.get(codeSource.getLocation().toURI()).toString());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+          throw new IllegalStateException(StringUtils.join("The location of ", requiredClass, " can't be resolved."),
+              e);
+        }
+      }
+    }
+    return String.join(File.pathSeparator, entries);
+  }
+
+  private static void delete(Path directory) {
+    if (directory == null) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    } catch (IOException e) {
+      throw new UncheckedIOException(StringUtils.join("The directory ", directory, " can't be deleted."), e);
+    }
+  }
+
+  private final Path directory;
+  private final URLClassLoader classLoader;
+
+  private SyntheticSuite(Path directory) throws IOException {
+    super();
+    this.directory = directory;
+    this.classLoader = new URLClassLoader(new URL[] {
+        directory.toUri().toURL()
+    }, SyntheticSuite.class.getClassLoader());
+  }
+
+  /**
+   * @return the generated suite class that runs all synthetic workflows
+   * @since 0.0.1
+   */
+  public Class<?> getSuiteClass() {
+    return loadClass("SyntheticTestSuite");
+  }
+
+  /**
+   * @param workflow the index of a workflow
+   * @return the generated test class of the workflow
+   * @since 0.0.1
+   */
+  public Class<?> getTestClass(int workflow) {
+    return loadClass("SyntheticTest" + workflow);
+  }
+
+  /**
+   * Closes the class loader and deletes all generated classes.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() throws IOException {
+    this.classLoader.close();
+    delete(this.directory);
+  }
+
+  private Class<?> loadClass(String simpleName) {
+    try {
+      return Class.forName(StringUtils.join(PACKAGE, ".", simpleName), true, this.classLoader);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(StringUtils.join("The synthetic class ", simpleName, " does not exist."), e);
+    }
+  }
+}